@@ -0,0 +1,61 @@
+package chessGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds reproducible random boards for the benchmarks.
+ */
+class BenchmarkBoards {
+    
+    /**
+     * Builds a random occupancy mask where each square is occupied with the given probability.
+     */
+    static long randomOccupancy(Random random, double density) {
+        long occupancy = Bitboard.EMPTY;
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            if (random.nextDouble() < density) {
+                occupancy |= 1L << square;
+            }
+        }
+        return occupancy;
+    }
+    
+    /**
+     * Builds the given number of pieces, cycling through the piece types, on distinct random squares.
+     */
+    static List<ChessPiece> randomPieces(Random random, int count) {
+        List<ChessPiece> pieces = new ArrayList<>(count);
+        long occupancy = Bitboard.EMPTY;
+        while (pieces.size() < count) {
+            int square = random.nextInt(AttackTables.SQUARES);
+            if ((occupancy & (1L << square)) != Bitboard.EMPTY) {
+                continue;
+            }
+            occupancy |= 1L << square;
+            PieceType type = PieceType.values()[pieces.size() % PieceType.values().length];
+            pieces.add(type.newPiece(Bitboard.positionOf(square)));
+        }
+        return pieces;
+    }
+    
+    /**
+     * Builds the given number of pieces, cycling through the piece types, on distinct random
+     * squares of a board of any size.
+     */
+    static List<ChessPiece> randomPieces(Random random, BoardSize size, int count) {
+        List<ChessPiece> pieces = new ArrayList<>(count);
+        Occupancy occupied = Occupancy.create(size);
+        while (pieces.size() < count) {
+            int square = random.nextInt(size.squareCount());
+            if (occupied.contains(square)) {
+                continue;
+            }
+            occupied.add(square);
+            PieceType type = PieceType.values()[pieces.size() % PieceType.values().length];
+            pieces.add(type.newPiece(size.positionOf(square)));
+        }
+        return pieces;
+    }
+}
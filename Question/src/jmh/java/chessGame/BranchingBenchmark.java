@@ -0,0 +1,81 @@
+package chessGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks short rollouts branched from the same position: deep-copying the pieces into a new
+ * {@link ComplexGame} against forking an immutable {@link GameState}.
+ * Scores are rollouts per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchingBenchmark {
+
+    @Param({"8", "1000"})
+    public int boardSize;
+
+    @Param({"32", "10000"})
+    public int pieceCount;
+
+    @Param({"10"})
+    public int rolloutLength;
+
+    private BoardSize size;
+    private List<ChessPiece> pieces;
+    private GameState root;
+    private Random random;
+    private MoveBuffer moves;
+
+    @Setup
+    public void setup() {
+        size = BoardSize.of(boardSize);
+        int count = Math.min(pieceCount, size.squareCount() / 2);
+        pieces = BenchmarkBoards.randomPieces(new Random(7), size, count);
+        root = GameState.of(size, pieces);
+        random = new Random(42);
+        moves = new MoveBuffer();
+    }
+
+    @Benchmark
+    public ComplexGame copyPieces() {
+        List<ChessPiece> copy = new ArrayList<>(pieces.size());
+        for (ChessPiece piece : pieces) {
+            copy.add(piece.getType().newPiece(piece.getPosition()));
+        }
+        ComplexGame game = new ComplexGame(size, new UniformPieceSelector(), random);
+        game.setListener(new QuietGameEventListener());
+        game.setup(copy);
+        for (int i = 0; i < rolloutLength; i++) {
+            game.step();
+        }
+        return game;
+    }
+
+    @Benchmark
+    public GameState forkState() {
+        GameState state = root.fork();
+        for (int i = 0; i < rolloutLength; i++) {
+            state = state.step(random, moves);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,60 @@
+package chessGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link ComplexGame} loop with a quiet listener, over varying piece counts.
+ * Scores are moves per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLoopBenchmark {
+    
+    private static final int MOVES_PER_PLAY = 100;
+    
+    @Param({"2", "6", "16", "32", "48"})
+    public int pieceCount;
+    
+    @Param({"uniform", "weighted"})
+    public String selector;
+    
+    private ComplexGame game;
+    
+    @Setup
+    public void setup() {
+        PieceSelector pieceSelector = "weighted".equals(selector)
+                ? new MobilityWeightedSelector() : new UniformPieceSelector();
+        game = new ComplexGame(pieceSelector, new Random(42));
+        game.setListener(new QuietGameEventListener());
+        game.setup(BenchmarkBoards.randomPieces(new Random(7), pieceCount));
+    }
+    
+    @Benchmark
+    public boolean step() {
+        return game.step();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(MOVES_PER_PLAY)
+    public void play() {
+        game.play(MOVES_PER_PLAY);
+    }
+}
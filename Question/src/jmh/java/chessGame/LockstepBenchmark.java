@@ -0,0 +1,76 @@
+package chessGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks batches of 50-move games on a single core: the object-based {@link BatchSimulator}
+ * on a one-thread pool against the {@link LockstepSimulator} with and without the Vector API.
+ * Scores are games per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class LockstepBenchmark {
+    
+    private static final int GAMES = 4096;
+    private static final int MOVES_PER_GAME = 50;
+    
+    private ForkJoinPool pool;
+    private BatchSimulator objects;
+    private LockstepSimulator scalar;
+    private LockstepSimulator vector;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        ComplexGame game = new ComplexGame(0);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        List<ChessPiece> pieces = game.snapshot().toPieces();
+        pool = new ForkJoinPool(1);
+        objects = new BatchSimulator(pool, new UniformPieceSelector(), MOVES_PER_GAME, 42L);
+        scalar = new LockstepSimulator(pieces, MOVES_PER_GAME, 42L, false);
+        vector = new LockstepSimulator(pieces, MOVES_PER_GAME, 42L, true);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public BatchStatistics objectSimulator() {
+        return objects.run(GAMES);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public BatchStatistics lockstepScalar() {
+        return scalar.run(GAMES);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public BatchStatistics lockstepVector() {
+        return vector.run(GAMES);
+    }
+}
@@ -0,0 +1,119 @@
+package chessGame;
+
+import chessLib.KnightMove;
+import chessLib.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks move generation for a single piece, through ChessLib, the Collection API and the
+ * bitboard fast paths, over boards of varying fill density.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+    
+    // Pieces are cycled through so that the JIT cannot fold a constant position
+    private static final int SAMPLES = 256;
+    
+    @Param({"0.1", "0.3", "0.6"})
+    public double density;
+    
+    private final KnightMove knightMove = new KnightMove();
+    private final MoveBuffer buffer = new MoveBuffer();
+    private final Position[] positions = new Position[SAMPLES];
+    private final Knight[] knights = new Knight[SAMPLES];
+    private final Bishop[] bishops = new Bishop[SAMPLES];
+    private final Queen[] queens = new Queen[SAMPLES];
+    private final CachingChessPiece[] cachedQueens = new CachingChessPiece[SAMPLES];
+    private final MoveListCache cache = new MoveListCache(1024);
+    private Set<Position> occupiedHashSet;
+    private PositionBitSet occupiedBitSet;
+    private long occupancy;
+    private int index;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        occupancy = BenchmarkBoards.randomOccupancy(random, density);
+        occupiedBitSet = new PositionBitSet(occupancy);
+        
+        // A HashSet of fresh positions, as callers of the original API build it
+        occupiedHashSet = new HashSet<>();
+        for (Position pos : occupiedBitSet) {
+            occupiedHashSet.add(new Position(pos.x(), pos.y()));
+        }
+        
+        for (int i = 0; i < SAMPLES; i++) {
+            positions[i] = new Position(random.nextInt(8) + 1, random.nextInt(8) + 1);
+            knights[i] = new Knight(positions[i]);
+            bishops[i] = new Bishop(positions[i]);
+            queens[i] = new Queen(positions[i]);
+            cachedQueens[i] = new CachingChessPiece(queens[i], cache);
+        }
+    }
+    
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+    
+    @Benchmark
+    public Collection<Position> knightMoveValidMovesFor() {
+        return knightMove.validMovesFor(positions[next()]);
+    }
+    
+    @Benchmark
+    public Collection<Position> knightGetValidMoves() {
+        return knights[next()].getValidMoves(occupiedHashSet);
+    }
+    
+    @Benchmark
+    public Collection<Position> bishopGetValidMoves() {
+        return bishops[next()].getValidMoves(occupiedHashSet);
+    }
+    
+    @Benchmark
+    public Collection<Position> queenGetValidMoves() {
+        return queens[next()].getValidMoves(occupiedHashSet);
+    }
+    
+    @Benchmark
+    public Collection<Position> queenGetValidMovesBitSet() {
+        return queens[next()].getValidMoves(occupiedBitSet);
+    }
+    
+    @Benchmark
+    public Collection<Position> queenGetValidMovesCached() {
+        return cachedQueens[next()].getValidMoves(occupiedBitSet);
+    }
+    
+    @Benchmark
+    public long queenGetValidMoveMask() {
+        return queens[next()].getValidMoveMask(occupancy);
+    }
+    
+    @Benchmark
+    public int queenGenerateMoves() {
+        return queens[next()].generateMoves(occupancy, buffer);
+    }
+}
@@ -0,0 +1,69 @@
+package chessGame;
+
+import chessLib.KnightMove;
+import chessLib.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks single-knight random walk steps: building the move list with
+ * {@code KnightMove.validMovesFor} against sampling from the {@link WalkSampler} tables.
+ * Scores are steps per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomWalkBenchmark {
+    
+    private static final int STEPS_PER_WALK = 1024;
+    
+    private final KnightMove knightMove = new KnightMove();
+    private final WalkSampler sampler = new WalkSampler(PieceType.KNIGHT);
+    private final int[] out = new int[STEPS_PER_WALK];
+    private Random random;
+    private Position position;
+    private int square;
+    
+    @Setup
+    public void setup() {
+        random = new SplittableRandomAdapter(new SplittableRandom(42));
+        position = new Position(3, 3);
+        square = Bitboard.squareOf(position);
+    }
+    
+    @Benchmark
+    public Position validMovesForStep() {
+        Position[] possibles = knightMove.validMovesFor(position).toArray(new Position[0]);
+        position = possibles[random.nextInt(possibles.length)];
+        return position;
+    }
+    
+    @Benchmark
+    public int samplerStep() {
+        square = sampler.next(square, random);
+        return square;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(STEPS_PER_WALK)
+    public int samplerWalk() {
+        square = sampler.walk(square, STEPS_PER_WALK, out, random);
+        return square;
+    }
+}
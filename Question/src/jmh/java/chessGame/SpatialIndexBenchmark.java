@@ -0,0 +1,102 @@
+package chessGame;
+
+import chessLib.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link SpatialIndex} on large boards with thousands of pieces: square lookups
+ * against a linear scan of the piece list, ray-based move counting, and the game loop on top.
+ * Scores are operations per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialIndexBenchmark {
+    
+    private static final int QUERIES = 1024;
+    
+    @Param({"1000"})
+    public int boardSize;
+    
+    @Param({"10000", "50000"})
+    public int pieceCount;
+    
+    private BoardSize size;
+    private List<ChessPiece> pieces;
+    private SpatialIndex index;
+    private ComplexGame game;
+    private int[] squares;
+    private Position[] positions;
+    private int next;
+    
+    @Setup
+    public void setup() {
+        size = BoardSize.of(boardSize);
+        pieces = BenchmarkBoards.randomPieces(new Random(7), size, pieceCount);
+        index = new SpatialIndex(size);
+        for (ChessPiece piece : pieces) {
+            index.add(piece);
+        }
+        
+        // Query the squares of the pieces, so that lookups hit and the scan stops halfway on average
+        Random random = new Random(11);
+        squares = new int[QUERIES];
+        positions = new Position[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            positions[i] = pieces.get(random.nextInt(pieceCount)).getPosition();
+            squares[i] = size.squareOf(positions[i]);
+        }
+        
+        game = new ComplexGame(size, new UniformPieceSelector(), new Random(42));
+        game.setListener(new QuietGameEventListener());
+        game.setup(BenchmarkBoards.randomPieces(new Random(7), size, pieceCount));
+    }
+    
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+    
+    @Benchmark
+    public ChessPiece pieceAtIndexed() {
+        return index.getPieceAt(squares[nextQuery()]);
+    }
+    
+    @Benchmark
+    public ChessPiece pieceAtLinearScan() {
+        Position pos = positions[nextQuery()];
+        for (ChessPiece piece : pieces) {
+            if (piece.getPosition().equals(pos)) {
+                return piece;
+            }
+        }
+        return null;
+    }
+    
+    @Benchmark
+    public int countQueenMoves() {
+        return index.countMoves(PieceType.QUEEN, squares[nextQuery()]);
+    }
+    
+    @Benchmark
+    public boolean gameStep() {
+        return game.step();
+    }
+}
@@ -3,12 +3,113 @@
  */
 package chessGame;
 
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
 public class App {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        // With -DchessGame.metrics=true, expose the metrics over JMX and print them periodically
+        MetricsReporter reporter = null;
+        if (GameMetrics.ENABLED) {
+            GameMetrics.global().registerMBeans();
+            reporter = new MetricsReporter(GameMetrics.global(), System.err);
+            reporter.start(Long.getLong("chessGame.metrics.period", 10), TimeUnit.SECONDS);
+        }
+        try {
+            run(args);
+        } finally {
+            if (reporter != null) {
+                reporter.close();
+            }
+        }
+    }
+
+    private static void run(String[] args) throws Exception {
+        // Usage: batch <games> <moves per game> [seed] runs a parallel simulation instead
+        if (args.length >= 3 && "batch".equals(args[0])) {
+            runBatch(Long.parseLong(args[1]), Integer.parseInt(args[2]),
+                    args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime());
+            return;
+        }
+
+        // Usage: walk <steps> [knight|bishop|queen] prints the exact distribution of a SimpleGame-style walk
+        if (args.length >= 2 && "walk".equals(args[0])) {
+            PieceType type = args.length > 2 ? PieceType.valueOf(args[2].toUpperCase()) : PieceType.KNIGHT;
+            printWalk(new RandomWalkSolver(type), Integer.parseInt(args[1]));
+            return;
+        }
+
+        // Usage: serve [port] hosts game sessions over HTTP until the process is stopped
+        if (args.length >= 1 && "serve".equals(args[0])) {
+            GameServer server = new GameServer(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            server.start();
+            System.out.println("Serving games on http://localhost:" + server.getPort() + "/games");
+            Thread.currentThread().join();
+            return;
+        }
+
+        // Usage: load <sessions> <steps per session> [moves per step] [concurrency] measures step latency; the default
+        // concurrency of 128 stays below the 200 idle connections the JDK server keeps alive
+        if (args.length >= 3 && "load".equals(args[0])) {
+            runLoad(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                    args.length > 3 ? Integer.parseInt(args[3]) : 1, args.length > 4 ? Integer.parseInt(args[4]) : 128);
+            return;
+        }
+
+        // Usage: perft <depth> counts the move sequences and distinct positions from the setup
+        if (args.length >= 2 && "perft".equals(args[0])) {
+            runPerft(Integer.parseInt(args[1]));
+            return;
+        }
+
         // SimpleGame game = new SimpleGame();
         ComplexGame game = new ComplexGame();
         game.setup();
         game.play(10);
     }
+
+    private static void runBatch(long games, int moves, long seed) {
+        long start = System.nanoTime();
+        BatchStatistics statistics = new BatchSimulator(moves, seed).run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(statistics);
+        System.out.printf("%.3f s, %.0f games/s%n", seconds, games / seconds);
+    }
+
+    private static void runPerft(int depth) {
+        ComplexGame game = new ComplexGame();
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        long start = System.nanoTime();
+        ReachabilityCounts counts = new ReachabilityEnumerator(game.snapshot().toPieces()).count(depth);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(counts);
+        System.out.printf("%.3f s%n", seconds);
+    }
+
+    private static void runLoad(int sessions, int steps, int movesPerStep, int concurrency) throws Exception {
+        try (GameServer server = new GameServer(0);
+                GameLoadGenerator generator = new GameLoadGenerator(URI.create("http://localhost:" + server.getPort()),
+                        concurrency)) {
+            server.start();
+            long start = System.nanoTime();
+            LatencyHistogram latencies = generator.run(sessions, steps, movesPerStep);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d sessions, %d steps in %.3f s, %.0f steps/s%n", sessions, latencies.getCount(), seconds,
+                    latencies.getCount() / seconds);
+            System.out.println("Step latency: " + latencies);
+        }
+    }
+
+    private static void printWalk(RandomWalkSolver solver, int steps) {
+        double[] distribution = solver.distribution(Bitboard.squareOf(3, 3), steps);
+        System.out.printf("%s after %d steps from (3, 3):%n", solver.getType(), steps);
+        for (int y = BoardUtils.BOARD_SIZE; y >= 1; y--) {
+            for (int x = 1; x <= BoardUtils.BOARD_SIZE; x++) {
+                System.out.printf(" %.4f", distribution[Bitboard.squareOf(x, y)]);
+            }
+            System.out.println();
+        }
+    }
 }
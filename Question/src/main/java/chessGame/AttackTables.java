@@ -0,0 +1,101 @@
+package chessGame;
+
+import chessLib.KnightMove;
+import chessLib.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed per-square move patterns for each piece type.
+ * Since pieces can jump over occupied squares, the valid moves of a piece are simply its
+ * geometric pattern minus the occupied squares, so the patterns are built once at class-load
+ * and move generation becomes a table lookup plus an occupancy filter.
+ */
+public class AttackTables {
+    
+    /**
+     * The number of squares on the board.
+     */
+    public static final int SQUARES = BoardUtils.BOARD_SIZE * BoardUtils.BOARD_SIZE;
+    
+    // Diagonal directions: Top-right, Top-left, Bottom-right, Bottom-left
+    static final int[][] DIAGONALS = { {1, 1}, {-1, 1}, {1, -1}, {-1, -1} };
+    
+    // Straight directions: Right, Left, Up, Down
+    static final int[][] STRAIGHTS = { {1, 0}, {-1, 0}, {0, 1}, {0, -1} };
+    
+    // Queen directions: diagonals first, then straight lines, matching the order of QUEEN_TARGETS
+    static final int[][] QUEEN_DIRECTIONS = { {1, 1}, {-1, 1}, {1, -1}, {-1, -1}, {1, 0}, {-1, 0}, {0, 1}, {0, -1} };
+    
+    static final long[] KNIGHT_ATTACKS = new long[SQUARES];
+    static final long[] BISHOP_ATTACKS = new long[SQUARES];
+    static final long[] QUEEN_ATTACKS = new long[SQUARES];
+    
+    static final List<List<Position>> KNIGHT_TARGETS = new ArrayList<>(SQUARES);
+    static final List<List<Position>> BISHOP_TARGETS = new ArrayList<>(SQUARES);
+    static final List<List<Position>> QUEEN_TARGETS = new ArrayList<>(SQUARES);
+    
+    static {
+        KnightMove knightMove = new KnightMove();
+        for (int square = 0; square < SQUARES; square++) {
+            Position from = Bitboard.positionOf(square);
+            
+            // Knight targets come straight from ChessLib so both always agree, including order
+            List<Position> knightTargets = new ArrayList<>(knightMove.validMovesFor(from));
+            
+            List<Position> bishopTargets = new ArrayList<>();
+            addRays(from, DIAGONALS, bishopTargets);
+            
+            // Queen order matches the former ray walk: diagonals first, then straight lines
+            List<Position> queenTargets = new ArrayList<>();
+            addRays(from, DIAGONALS, queenTargets);
+            addRays(from, STRAIGHTS, queenTargets);
+            
+            KNIGHT_ATTACKS[square] = Bitboard.maskOf(knightTargets);
+            BISHOP_ATTACKS[square] = Bitboard.maskOf(bishopTargets);
+            QUEEN_ATTACKS[square] = Bitboard.maskOf(queenTargets);
+            
+            KNIGHT_TARGETS.add(List.copyOf(knightTargets));
+            BISHOP_TARGETS.add(List.copyOf(bishopTargets));
+            QUEEN_TARGETS.add(List.copyOf(queenTargets));
+        }
+    }
+    
+    /**
+     * Walks each direction from a position until the board boundary, collecting every square.
+     */
+    private static void addRays(Position from, int[][] directions, List<Position> targets) {
+        for (int[] dir : directions) {
+            int newX = from.x() + dir[0];
+            int newY = from.y() + dir[1];
+            while (BoardUtils.isWithinBounds(newX, newY)) {
+                targets.add(Bitboard.positionOf(Bitboard.squareOf(newX, newY)));
+                newX += dir[0];
+                newY += dir[1];
+            }
+        }
+    }
+    
+    /**
+     * Filters a precomputed target list by occupancy.
+     * When none of the targets is occupied the shared immutable list is returned as is.
+     * 
+     * @param targets the precomputed targets of a square, in generation order
+     * @param attacks the mask of the same targets
+     * @param occupied the occupancy mask of the board
+     * @return the unoccupied targets, in generation order
+     */
+    static List<Position> filter(List<Position> targets, long attacks, long occupied) {
+        if ((attacks & occupied) == Bitboard.EMPTY) {
+            return targets;
+        }
+        List<Position> result = new ArrayList<>(Long.bitCount(attacks & ~occupied));
+        for (Position target : targets) {
+            if ((Bitboard.bitOf(target) & occupied) == Bitboard.EMPTY) {
+                result.add(target);
+            }
+        }
+        return result;
+    }
+}
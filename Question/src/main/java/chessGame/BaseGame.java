@@ -1,6 +1,21 @@
 package chessGame;
 
 public abstract class BaseGame {
+    
+    /**
+     * The listener receiving the events of the game, writing the human-readable log by default.
+     */
+    protected GameEventListener listener = new ConsoleGameEventListener();
+    
     abstract void play(int moves);
     abstract void setup();
-}
\ No newline at end of file
+    
+    /**
+     * Sets the listener receiving the events of the game.
+     * 
+     * @param listener the listener, for example a {@link QuietGameEventListener} to disable output
+     */
+    public void setListener(GameEventListener listener) {
+        this.listener = listener;
+    }
+}
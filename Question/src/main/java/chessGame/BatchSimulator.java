@@ -0,0 +1,122 @@
+package chessGame;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs many independent {@link ComplexGame} instances in parallel using fork/join.
+ * Each game draws from its own {@link SplittableRandom} stream, seeded from the master seed and
+ * the index of the game only, so the results are the same regardless of the number of threads.
+ * Every task aggregates into its own {@link BatchStatistics}, which are merged as the tasks join,
+ * so workers never share mutable state.
+ */
+public class BatchSimulator {
+    
+    // Below this many games a task runs its games instead of splitting further
+    private static final long MIN_GAMES_PER_TASK = 64;
+    
+    // Increment of the SplitMix64 sequence, the same as used by SplittableRandom
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    
+    private final ForkJoinPool pool;
+    private final PieceSelector pieceSelector;
+    private final int movesPerGame;
+    private final long masterSeed;
+    
+    /**
+     * Creates a simulator running on the common fork/join pool with the default piece selection.
+     * 
+     * @param movesPerGame the number of moves played in every game
+     * @param masterSeed the seed all game seeds are derived from
+     */
+    public BatchSimulator(int movesPerGame, long masterSeed) {
+        this(ForkJoinPool.commonPool(), new UniformPieceSelector(), movesPerGame, masterSeed);
+    }
+    
+    /**
+     * Creates a simulator.
+     * 
+     * @param pool the pool running the games
+     * @param pieceSelector the piece selection strategy, shared by all games
+     * @param movesPerGame the number of moves played in every game
+     * @param masterSeed the seed all game seeds are derived from
+     */
+    public BatchSimulator(ForkJoinPool pool, PieceSelector pieceSelector, int movesPerGame, long masterSeed) {
+        this.pool = pool;
+        this.pieceSelector = pieceSelector;
+        this.movesPerGame = movesPerGame;
+        this.masterSeed = masterSeed;
+    }
+    
+    /**
+     * Plays a number of games and aggregates their statistics.
+     * 
+     * @param games the number of games to play
+     * @return the statistics over all games
+     */
+    public BatchStatistics run(long games) {
+        long chunk = Math.max(MIN_GAMES_PER_TASK, games / (pool.getParallelism() * 8L));
+        return pool.invoke(new GameRangeTask(0, games, chunk));
+    }
+    
+    /**
+     * Derives the seed of a game from the master seed with the SplitMix64 mixing function.
+     * 
+     * @param masterSeed the master seed of the batch
+     * @param gameIndex the index of the game in the batch
+     * @return the seed of that game
+     */
+    public static long gameSeed(long masterSeed, long gameIndex) {
+        long z = masterSeed + (gameIndex + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Plays a single game of the batch, reporting its events to the given statistics.
+     */
+    private void playGame(long gameIndex, BatchStatistics statistics) {
+        SplittableRandom stream = new SplittableRandom(gameSeed(masterSeed, gameIndex));
+        ComplexGame game = new ComplexGame(pieceSelector, new SplittableRandomAdapter(stream));
+        game.setListener(statistics);
+        game.setup();
+        game.play(movesPerGame);
+    }
+    
+    /**
+     * Plays the games of an index range, splitting it in halves until it is small enough.
+     */
+    private class GameRangeTask extends RecursiveTask<BatchStatistics> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final long start;
+        private final long end;
+        private final long chunk;
+        
+        GameRangeTask(long start, long end, long chunk) {
+            this.start = start;
+            this.end = end;
+            this.chunk = chunk;
+        }
+        
+        @Override
+        protected BatchStatistics compute() {
+            if (end - start <= chunk) {
+                BatchStatistics statistics = new BatchStatistics();
+                for (long gameIndex = start; gameIndex < end; gameIndex++) {
+                    playGame(gameIndex, statistics);
+                }
+                return statistics;
+            }
+            
+            long middle = (start + end) >>> 1;
+            GameRangeTask left = new GameRangeTask(start, middle, chunk);
+            left.fork();
+            BatchStatistics right = new GameRangeTask(middle, end, chunk).compute();
+            return left.join().merge(right);
+        }
+    }
+}
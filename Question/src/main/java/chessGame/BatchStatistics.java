@@ -0,0 +1,136 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregate statistics over a batch of simulated games.
+ * An instance collects the events of the games it listens to, so it is not thread-safe:
+ * each worker fills its own instance and partial results are combined with {@link #merge}.
+ */
+public class BatchStatistics implements GameEventListener {
+    
+    private long games;
+    private long moves;
+    private long skippedTurns;
+    private long validMoves;
+    private final long[] finalSquareCounts = new long[AttackTables.SQUARES];
+    
+    @Override
+    public void onMove(int moveNumber, ChessPiece piece, Position from, Position to, int validMoveCount) {
+        moves++;
+        validMoves += validMoveCount;
+    }
+    
+    @Override
+    public void onTurnSkipped(int moveNumber) {
+        skippedTurns++;
+    }
+    
+    @Override
+    public void onGameFinished(List<ChessPiece> pieces) {
+        games++;
+        for (int i = 0; i < pieces.size(); i++) {
+            finalSquareCounts[Bitboard.squareOf(pieces.get(i).getPosition())]++;
+        }
+    }
+    
+    /**
+     * Adds the statistics of another batch to this one.
+     * 
+     * @param other the statistics to add
+     * @return this instance
+     */
+    public BatchStatistics merge(BatchStatistics other) {
+        games += other.games;
+        moves += other.moves;
+        skippedTurns += other.skippedTurns;
+        validMoves += other.validMoves;
+        for (int square = 0; square < finalSquareCounts.length; square++) {
+            finalSquareCounts[square] += other.finalSquareCounts[square];
+        }
+        return this;
+    }
+    
+    /**
+     * Adds the totals of games played without listener events, as by {@link LockstepSimulator}.
+     */
+    void add(long games, long moves, long skippedTurns, long validMoves, long[] finalSquareCounts) {
+        this.games += games;
+        this.moves += moves;
+        this.skippedTurns += skippedTurns;
+        this.validMoves += validMoves;
+        for (int square = 0; square < this.finalSquareCounts.length; square++) {
+            this.finalSquareCounts[square] += finalSquareCounts[square];
+        }
+    }
+    
+    /**
+     * Gets the number of games played to the end.
+     * 
+     * @return the number of games
+     */
+    public long getGames() {
+        return games;
+    }
+    
+    /**
+     * Gets the number of moves made in all games.
+     * 
+     * @return the number of moves
+     */
+    public long getMoves() {
+        return moves;
+    }
+    
+    /**
+     * Gets the number of turns skipped because no piece could move.
+     * 
+     * @return the number of skipped turns
+     */
+    public long getSkippedTurns() {
+        return skippedTurns;
+    }
+    
+    /**
+     * Gets the average number of valid moves the moved pieces had to choose from.
+     * 
+     * @return the average mobility of the moved pieces, or 0 if no move was made
+     */
+    public double getAverageValidMoves() {
+        return moves == 0 ? 0 : (double) validMoves / moves;
+    }
+    
+    /**
+     * Gets how often a piece ended a game on a square.
+     * 
+     * @param square the square index
+     * @return the number of pieces which finished a game on that square
+     */
+    public long getFinalSquareCount(int square) {
+        return finalSquareCounts[square];
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof BatchStatistics)) {
+            return false;
+        }
+        BatchStatistics other = (BatchStatistics) obj;
+        return games == other.games && moves == other.moves && skippedTurns == other.skippedTurns
+                && validMoves == other.validMoves && Arrays.equals(finalSquareCounts, other.finalSquareCounts);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(games) * 31 + Long.hashCode(moves) * 17 + Arrays.hashCode(finalSquareCounts);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d games, %d moves, %d skipped turns, %.3f valid moves per move",
+                games, moves, skippedTurns, getAverageValidMoves());
+    }
+}
@@ -0,0 +1,57 @@
+package chessGame;
+
+import java.util.Arrays;
+
+/**
+ * Occupancy of a mid-size board, held in a {@code long[]} bitset with one bit per square.
+ */
+public class BitSetOccupancy implements Occupancy {
+    
+    private final long[] words;
+    private int size;
+    
+    /**
+     * Creates an empty occupancy.
+     * 
+     * @param squares the number of squares of the board
+     */
+    public BitSetOccupancy(int squares) {
+        this.words = new long[(squares + Long.SIZE - 1) / Long.SIZE];
+    }
+    
+    @Override
+    public boolean contains(int square) {
+        return (words[square >>> 6] & (1L << square)) != 0;
+    }
+    
+    @Override
+    public void add(int square) {
+        long word = words[square >>> 6];
+        long updated = word | (1L << square);
+        if (updated != word) {
+            words[square >>> 6] = updated;
+            size++;
+        }
+    }
+    
+    @Override
+    public void remove(int square) {
+        long word = words[square >>> 6];
+        long updated = word & ~(1L << square);
+        if (updated != word) {
+            words[square >>> 6] = updated;
+            size--;
+        }
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0);
+        size = 0;
+    }
+}
@@ -0,0 +1,132 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Utility class for 64-bit occupancy masks ("bitboards").
+ * Square (x, y) maps to bit index (y - 1) * 8 + (x - 1), so bit 0 is (1, 1) and bit 63 is (8, 8).
+ */
+public class Bitboard {
+    
+    /**
+     * Mask with no squares set.
+     */
+    public static final long EMPTY = 0L;
+    
+    /**
+     * Gets the square index for the given coordinates.
+     * The coordinates are expected to be within bounds.
+     * 
+     * @param x the x coordinate (1 to 8)
+     * @param y the y coordinate (1 to 8)
+     * @return the square index (0 to 63)
+     */
+    public static int squareOf(int x, int y) {
+        return (y - 1) * BoardUtils.BOARD_SIZE + (x - 1);
+    }
+    
+    /**
+     * Gets the square index for the given position.
+     * The position is expected to be within bounds.
+     * 
+     * @param pos the position
+     * @return the square index (0 to 63)
+     */
+    public static int squareOf(Position pos) {
+        return squareOf(pos.x(), pos.y());
+    }
+    
+    /**
+     * Gets the x coordinate of a square index.
+     * 
+     * @param square the square index (0 to 63)
+     * @return the x coordinate (1 to 8)
+     */
+    public static int xOf(int square) {
+        return (square % BoardUtils.BOARD_SIZE) + 1;
+    }
+    
+    /**
+     * Gets the y coordinate of a square index.
+     * 
+     * @param square the square index (0 to 63)
+     * @return the y coordinate (1 to 8)
+     */
+    public static int yOf(int square) {
+        return (square / BoardUtils.BOARD_SIZE) + 1;
+    }
+    
+    /**
+     * Converts a square index back into a position.
+     * 
+     * @param square the square index (0 to 63)
+     * @return the canonical pooled position of that square, see {@link Square}
+     */
+    public static Position positionOf(int square) {
+        return Square.of(square).toPosition();
+    }
+    
+    /**
+     * Gets the single-bit mask for a position.
+     * Positions outside the board map to an empty mask, since they can never be a move target.
+     * 
+     * @param pos the position
+     * @return the mask with only the bit of that position set
+     */
+    public static long bitOf(Position pos) {
+        if (!BoardUtils.isWithinBounds(pos)) {
+            return EMPTY;
+        }
+        return 1L << squareOf(pos);
+    }
+    
+    /**
+     * Builds an occupancy mask from a collection of positions.
+     * 
+     * @param positions the occupied positions
+     * @return the mask with the bits of all in-bounds positions set
+     */
+    public static long maskOf(Collection<Position> positions) {
+        if (positions instanceof PositionBitSet) {
+            return ((PositionBitSet) positions).mask();
+        }
+        long mask = EMPTY;
+        for (Position pos : positions) {
+            mask |= bitOf(pos);
+        }
+        return mask;
+    }
+    
+    /**
+     * Converts a mask into a list of positions, ordered by square index.
+     * 
+     * @param mask the mask to convert
+     * @return the positions of all set bits
+     */
+    public static List<Position> toPositions(long mask) {
+        List<Position> positions = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0) {
+            positions.add(positionOf(Long.numberOfTrailingZeros(mask)));
+            mask &= mask - 1;
+        }
+        return positions;
+    }
+    
+    /**
+     * Finds the square index of the n-th set bit of a mask, counting from the lowest bit.
+     * 
+     * @param mask the mask to search
+     * @param n the zero-based rank of the bit, must be less than the bit count of the mask
+     * @return the square index of that bit
+     */
+    public static int nthSetBit(long mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+}
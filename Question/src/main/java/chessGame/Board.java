@@ -0,0 +1,212 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * The game board, holding a square-indexed mailbox of pieces together with the occupancy.
+ * Both are updated in O(1) by {@link #move(int, int)}, which also updates the position of the
+ * moved piece, so the board and its pieces always stay consistent. Pieces placed on a board
+ * should only be moved through it.
+ * The board can be of any {@link BoardSize}; the occupancy representation is chosen by size.
+ * Boards other than 8 x 8 keep their pieces in a {@link SpatialIndex} instead of a mailbox,
+ * which also answers ray queries for move generation with thousands of pieces.
+ * The board also keeps the {@link Zobrist} hash of its position up to date.
+ */
+public class Board {
+    
+    private final BoardSize size;
+    private final Occupancy occupied;
+    // Mailbox of the standard board, or null on other boards
+    private final ChessPiece[] squares;
+    // Index of the pieces on other boards, or null on the standard board
+    private final SpatialIndex index;
+    // Zobrist hash of the pieces on the board
+    private long hash;
+    
+    /**
+     * Creates an empty standard 8 x 8 board.
+     */
+    public Board() {
+        this(BoardSize.STANDARD);
+    }
+    
+    /**
+     * Creates an empty board of the given size.
+     * 
+     * @param size the size of the board
+     */
+    public Board(BoardSize size) {
+        this.size = size;
+        this.occupied = Occupancy.create(size);
+        if (size.isStandard()) {
+            this.squares = new ChessPiece[AttackTables.SQUARES];
+            this.index = null;
+        } else {
+            this.squares = null;
+            this.index = new SpatialIndex(size);
+        }
+    }
+    
+    /**
+     * Places a piece on the board at its current position.
+     * 
+     * @param piece the piece to place
+     * @throws IllegalArgumentException if the position is outside the board or already occupied
+     */
+    public void place(ChessPiece piece) {
+        Position pos = piece.getPosition();
+        if (!size.contains(pos)) {
+            throw new IllegalArgumentException("Position " + pos + " is outside the board");
+        }
+        int square = size.squareOf(pos);
+        if (occupied.contains(square)) {
+            throw new IllegalArgumentException("Position " + pos + " is already occupied");
+        }
+        if (squares != null) {
+            squares[square] = piece;
+        } else {
+            index.add(piece);
+        }
+        occupied.add(square);
+        hash ^= Zobrist.key(piece.getType(), square);
+    }
+    
+    /**
+     * Moves the piece standing on one square to another, empty square.
+     * 
+     * @param from the square index of the piece to move
+     * @param to the square index of the target
+     * @return the moved piece
+     * @throws IllegalArgumentException if there is no piece on {@code from} or {@code to} is occupied
+     */
+    public ChessPiece move(int from, int to) {
+        ChessPiece piece = getPieceAt(from);
+        if (piece == null) {
+            throw new IllegalArgumentException("No piece at " + size.positionOf(from));
+        }
+        if (occupied.contains(to)) {
+            throw new IllegalArgumentException("Position " + size.positionOf(to) + " is already occupied");
+        }
+        if (squares != null) {
+            squares[from] = null;
+            squares[to] = piece;
+        } else {
+            index.move(from, to);
+        }
+        occupied.remove(from);
+        occupied.add(to);
+        hash ^= Zobrist.move(piece.getType(), from, to);
+        piece.setPosition(size.positionOf(to));
+        return piece;
+    }
+    
+    /**
+     * Gets the piece standing on a square.
+     * 
+     * @param square the square index
+     * @return the piece, or null if the square is empty
+     */
+    public ChessPiece getPieceAt(int square) {
+        return squares != null ? squares[square] : index.getPieceAt(square);
+    }
+    
+    /**
+     * Gets the piece standing on a position.
+     * 
+     * @param pos the position
+     * @return the piece, or null if the position is empty or outside the board
+     */
+    public ChessPiece getPieceAt(Position pos) {
+        return size.contains(pos) ? getPieceAt(size.squareOf(pos)) : null;
+    }
+    
+    /**
+     * Checks whether a square is occupied.
+     * 
+     * @param square the square index
+     * @return true if a piece stands on the square
+     */
+    public boolean isOccupied(int square) {
+        return occupied.contains(square);
+    }
+    
+    /**
+     * Gets the Zobrist hash of the position, updated in O(1) on every move.
+     * 
+     * @return the XOR of the {@link Zobrist#key(PieceType, int) keys} of all pieces on the board
+     */
+    public long getHash() {
+        return hash;
+    }
+    
+    /**
+     * Gets the size of the board.
+     * 
+     * @return the board size
+     */
+    public BoardSize getSize() {
+        return size;
+    }
+    
+    /**
+     * Gets the occupied squares of the board.
+     * 
+     * @return the live occupancy, which must not be modified by the caller
+     */
+    public Occupancy getOccupied() {
+        return occupied;
+    }
+    
+    /**
+     * Gets the spatial index of a board other than the standard one.
+     * 
+     * @return the live index, which must only be updated through this board
+     * @throws UnsupportedOperationException if this is a standard 8 x 8 board, which uses bitboards
+     */
+    public SpatialIndex getIndex() {
+        if (index == null) {
+            throw new UnsupportedOperationException("The 8x8 board uses bitboards instead of a spatial index");
+        }
+        return index;
+    }
+    
+    /**
+     * Gets the occupancy mask of a standard board.
+     * 
+     * @return the mask of all occupied squares, see {@link Bitboard}
+     * @throws UnsupportedOperationException if this is not a standard 8 x 8 board
+     */
+    public long getOccupancy() {
+        if (!size.isStandard()) {
+            throw new UnsupportedOperationException("Occupancy masks are only available on 8x8 boards, not " + size);
+        }
+        return ((LongOccupancy) occupied).mask();
+    }
+    
+    /**
+     * Gets a set of all currently occupied positions.
+     * On the standard board the set is backed by the occupancy mask; on other boards it holds
+     * the squares of the {@link SpatialIndex}, in O(pieces) memory whatever the board size.
+     * 
+     * @return a snapshot of the occupied positions
+     */
+    public Set<Position> getOccupiedPositions() {
+        return squares != null ? new PositionBitSet(getOccupancy()) : new OccupiedPositionSet(index);
+    }
+    
+    /**
+     * Removes all pieces from the board.
+     */
+    public void clear() {
+        if (squares != null) {
+            Arrays.fill(squares, null);
+        } else {
+            index.clear();
+        }
+        occupied.clear();
+        hash = 0;
+    }
+}
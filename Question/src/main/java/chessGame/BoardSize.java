@@ -0,0 +1,155 @@
+package chessGame;
+
+import chessLib.Position;
+
+/**
+ * The dimensions of a square board of N x N squares.
+ * Squares are indexed row by row, so square (x, y) has index (y - 1) * N + (x - 1); on the
+ * standard 8 x 8 board this is the same index as used by {@link Bitboard}.
+ */
+public final class BoardSize {
+    
+    /**
+     * The largest supported size, so that every square index fits in an int.
+     */
+    public static final int MAX_SIZE = 46340;
+    
+    /**
+     * The standard 8 x 8 board.
+     */
+    public static final BoardSize STANDARD = new BoardSize(BoardUtils.BOARD_SIZE);
+    
+    private final int size;
+    
+    private BoardSize(int size) {
+        this.size = size;
+    }
+    
+    /**
+     * Gets the board size with the given number of files and ranks.
+     * 
+     * @param size the number of files and ranks, from 1 to {@link #MAX_SIZE}
+     * @return the board size
+     */
+    public static BoardSize of(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_SIZE + ": " + size);
+        }
+        return size == STANDARD.size ? STANDARD : new BoardSize(size);
+    }
+    
+    /**
+     * Gets the number of files and ranks.
+     * 
+     * @return the size N of the N x N board
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Gets the number of squares.
+     * 
+     * @return N * N
+     */
+    public int squareCount() {
+        return size * size;
+    }
+    
+    /**
+     * Checks whether this is the standard 8 x 8 board, on which bitboards can be used.
+     * 
+     * @return true for the standard board
+     */
+    public boolean isStandard() {
+        return size == STANDARD.size;
+    }
+    
+    /**
+     * Checks if the given coordinates are within the bounds of the board.
+     * 
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true if both coordinates are between 1 and N (inclusive)
+     */
+    public boolean contains(int x, int y) {
+        return x >= 1 && x <= size && y >= 1 && y <= size;
+    }
+    
+    /**
+     * Checks if a position is within the bounds of the board.
+     * 
+     * @param pos the position to check
+     * @return true if the position is within bounds
+     */
+    public boolean contains(Position pos) {
+        return contains(pos.x(), pos.y());
+    }
+    
+    /**
+     * Gets the square index for the given coordinates, which are expected to be within bounds.
+     * 
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the square index
+     */
+    public int squareOf(int x, int y) {
+        return (y - 1) * size + (x - 1);
+    }
+    
+    /**
+     * Gets the square index for a position, which is expected to be within bounds.
+     * 
+     * @param pos the position
+     * @return the square index
+     */
+    public int squareOf(Position pos) {
+        return squareOf(pos.x(), pos.y());
+    }
+    
+    /**
+     * Gets the x coordinate of a square index.
+     * 
+     * @param square the square index
+     * @return the x coordinate
+     */
+    public int xOf(int square) {
+        return square % size + 1;
+    }
+    
+    /**
+     * Gets the y coordinate of a square index.
+     * 
+     * @param square the square index
+     * @return the y coordinate
+     */
+    public int yOf(int square) {
+        return square / size + 1;
+    }
+    
+    /**
+     * Converts a square index into a position.
+     * On the standard board the canonical pooled position is returned.
+     * 
+     * @param square the square index
+     * @return the position of that square
+     */
+    public Position positionOf(int square) {
+        return isStandard() ? Bitboard.positionOf(square) : new Position(xOf(square), yOf(square));
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof BoardSize && ((BoardSize) obj).size == size;
+    }
+    
+    @Override
+    public int hashCode() {
+        return size;
+    }
+    
+    @Override
+    public String toString() {
+        return size + "x" + size;
+    }
+}
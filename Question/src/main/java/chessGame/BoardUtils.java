@@ -7,6 +7,11 @@ import chessLib.Position;
  */
 public class BoardUtils {
     
+    /**
+     * The number of files and ranks on the board.
+     */
+    public static final int BOARD_SIZE = 8;
+    
     /**
      * Checks if a position is within the valid bounds of the chess board.
      * Valid positions have both X and Y coordinates between 1 and 8 (inclusive).
@@ -15,7 +20,17 @@ public class BoardUtils {
      * @return true if the position is within bounds, false otherwise
      */
     public static boolean isWithinBounds(Position pos) {
-        return pos.x() >= 1 && pos.x() <= 8 && pos.y() >= 1 && pos.y() <= 8;
+        return isWithinBounds(pos.x(), pos.y());
+    }
+    
+    /**
+     * Checks if the given coordinates are within the valid bounds of the chess board.
+     * 
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true if the coordinates are within bounds, false otherwise
+     */
+    public static boolean isWithinBounds(int x, int y) {
+        return x >= 1 && x <= BOARD_SIZE && y >= 1 && y <= BOARD_SIZE;
     }
 }
-
@@ -0,0 +1,164 @@
+package chessGame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Writes the human-readable game log in batches through a background thread.
+ * The game thread only formats events into a buffer; once the buffer holds a full batch it is
+ * handed to the writer thread, so the game never waits on I/O unless the writer falls several
+ * batches behind. The listener must be closed to write the last batch.
+ */
+public class BufferedTextGameEventListener extends TextGameEventListener implements AutoCloseable {
+    
+    private static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+    private static final int MAX_PENDING_BATCHES = 16;
+    
+    // Markers telling the writer thread to flush, and to stop
+    private static final String FLUSH = new String();
+    private static final String END = new String();
+    
+    private final Writer writer;
+    private final int batchSize;
+    private final BlockingQueue<String> batches;
+    private final Semaphore flushed;
+    private final Thread writerThread;
+    private volatile IOException failure;
+    private boolean closed;
+    
+    /**
+     * Creates a listener writing to the given writer in batches of the default size.
+     * 
+     * @param writer the writer, which is closed together with the listener
+     */
+    public BufferedTextGameEventListener(Writer writer) {
+        this(writer, DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * Creates a listener writing to the given writer.
+     * 
+     * @param writer the writer, which is closed together with the listener
+     * @param batchSize the number of characters buffered before a batch is handed off
+     */
+    public BufferedTextGameEventListener(Writer writer, int batchSize) {
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.batches = new ArrayBlockingQueue<>(MAX_PENDING_BATCHES);
+        this.flushed = new Semaphore(0);
+        this.writerThread = new Thread(this::writeBatches, "game-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws IllegalStateException if the listener has been closed
+     */
+    @Override
+    protected void emit() {
+        if (closed) {
+            text.setLength(0);
+            throw new IllegalStateException("The game log has been closed");
+        }
+        if (text.length() >= batchSize) {
+            handOff();
+        }
+    }
+    
+    /**
+     * Hands off the buffered text to the writer thread and waits until everything has been
+     * written and flushed.
+     * 
+     * @throws IllegalStateException if the listener has been closed
+     */
+    public void flush() {
+        if (closed) {
+            throw new IllegalStateException("The game log has been closed");
+        }
+        handOff();
+        put(FLUSH);
+        flushed.acquireUninterruptibly();
+        checkFailure();
+    }
+    
+    /**
+     * Writes the remaining text, stops the writer thread and closes the writer.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        handOff();
+        put(END);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkFailure();
+    }
+    
+    private void handOff() {
+        if (text.length() > 0) {
+            put(text.toString());
+            text.setLength(0);
+        }
+    }
+    
+    private void put(String batch) {
+        checkFailure();
+        try {
+            batches.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while handing off the game log", e);
+        }
+    }
+    
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Writing the game log failed", failure);
+        }
+    }
+    
+    /**
+     * Body of the writer thread. After a write failure the remaining batches are discarded, so
+     * that the game thread never blocks on a full queue; the failure is reported to it instead.
+     */
+    private void writeBatches() {
+        try {
+            String batch;
+            while ((batch = batches.take()) != END) {
+                if (failure == null) {
+                    try {
+                        if (batch == FLUSH) {
+                            writer.flush();
+                        } else {
+                            writer.write(batch);
+                        }
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                if (batch == FLUSH) {
+                    flushed.release();
+                }
+            }
+            writer.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Decorates a piece so that {@link #getValidMoves(Set)} answers from a {@link MoveListCache},
+ * returning shared immutable lists instead of computing a new list on every call. Everything
+ * else is delegated to the decorated piece, which keeps its own position.
+ */
+public class CachingChessPiece implements ChessPiece {
+    
+    private final ChessPiece piece;
+    private final MoveListCache cache;
+    
+    /**
+     * Creates a caching view of a piece.
+     * 
+     * @param piece the piece to decorate
+     * @param cache the cache of move lists, usually shared by all pieces of a game
+     */
+    public CachingChessPiece(ChessPiece piece, MoveListCache cache) {
+        this.piece = piece;
+        this.cache = cache;
+    }
+    
+    @Override
+    public Position getPosition() {
+        return piece.getPosition();
+    }
+    
+    @Override
+    public void setPosition(Position newPosition) {
+        piece.setPosition(newPosition);
+    }
+    
+    @Override
+    public PieceType getType() {
+        return piece.getType();
+    }
+    
+    /**
+     * Gets the valid moves from the cache on the standard board, where the returned list is
+     * immutable. Moves on other boards are not cached.
+     */
+    @Override
+    public Collection<Position> getValidMoves(Set<Position> occupiedPositions) {
+        if (occupiedPositions instanceof OccupiedPositionSet || !BoardSize.STANDARD.contains(getPosition())) {
+            return piece.getValidMoves(occupiedPositions);
+        }
+        return cache.get(getType(), Bitboard.squareOf(getPosition()), Bitboard.maskOf(occupiedPositions));
+    }
+    
+    /**
+     * Gets the decorated piece.
+     * 
+     * @return the piece
+     */
+    public ChessPiece getPiece() {
+        return piece;
+    }
+}
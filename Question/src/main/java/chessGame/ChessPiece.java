@@ -2,7 +2,9 @@ package chessGame;
 
 import chessLib.Position;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -25,14 +27,130 @@ public interface ChessPiece {
      */
     void setPosition(Position newPosition);
     
+    /**
+     * Gets the type of this chess piece, which determines its move pattern.
+     * 
+     * @return the piece type
+     */
+    PieceType getType();
+    
+    /**
+     * Calculates all valid moves for this chess piece given the board occupancy as a bitboard.
+     * The piece should not be able to move to an occupied square, but can jump over them
+     * according to game rules.
+     * 
+     * @param occupied the occupancy mask of the board, see {@link Bitboard}
+     * @return the mask of squares this piece can move to
+     * @throws IllegalArgumentException if the piece is not on the standard 8 x 8 board
+     */
+    default long getValidMoveMask(long occupied) {
+        return getType().attacks(standardSquare()) & ~occupied;
+    }
+    
+    /**
+     * Writes all valid moves for this chess piece into a caller-supplied buffer, as square indices
+     * in ascending order. The buffer is cleared first. This does not allocate, which makes it the
+     * entry point of choice for hot simulation loops.
+     * 
+     * @param occupied the occupancy mask of the board, see {@link Bitboard}
+     * @param moves the buffer receiving the target squares
+     * @return the number of valid moves written
+     * @throws IllegalArgumentException if the piece is not on the standard 8 x 8 board
+     */
+    default int generateMoves(long occupied, MoveBuffer moves) {
+        moves.clear();
+        long mask = getValidMoveMask(occupied);
+        while (mask != Bitboard.EMPTY) {
+            moves.add(Long.numberOfTrailingZeros(mask));
+            mask &= mask - 1;
+        }
+        return moves.size();
+    }
+    
+    /**
+     * Writes all valid moves for this chess piece on a board of any size into a caller-supplied
+     * buffer, as square indices of that board (see {@link BoardSize}). The buffer is cleared first.
+     * The standard board with a {@link LongOccupancy} takes the bitboard path of
+     * {@link #generateMoves(long, MoveBuffer)}; other boards follow the directions of the
+     * piece type up to the board edge.
+     * 
+     * @param size the size of the board
+     * @param occupied the occupied squares of the board
+     * @param moves the buffer receiving the target squares
+     * @return the number of valid moves written
+     */
+    default int generateMoves(BoardSize size, Occupancy occupied, MoveBuffer moves) {
+        if (size.isStandard() && occupied instanceof LongOccupancy) {
+            return generateMoves(((LongOccupancy) occupied).mask(), moves);
+        }
+        return getType().generateMoves(size, size.squareOf(getPosition()), occupied, moves);
+    }
+    
     /**
      * Calculates all valid moves for this chess piece given the currently occupied positions.
      * The piece should not be able to move to an occupied position, but can jump over them
      * according to game rules.
+     * The board is the one of the occupied positions when they come from
+     * {@link Board#getOccupiedPositions()} of a board other than 8 x 8, and the standard board
+     * otherwise; {@link #getValidMoves(BoardSize, Set)} names the board explicitly.
      * 
      * @param occupiedPositions a set of all currently occupied positions on the board
      * @return a collection of valid positions this piece can move to
+     * @throws IllegalArgumentException if the piece is outside the board
      */
-    Collection<Position> getValidMoves(Set<Position> occupiedPositions);
+    default Collection<Position> getValidMoves(Set<Position> occupiedPositions) {
+        BoardSize size = occupiedPositions instanceof OccupiedPositionSet
+                ? ((OccupiedPositionSet) occupiedPositions).getBoardSize() : BoardSize.STANDARD;
+        return getValidMoves(size, occupiedPositions);
+    }
+    
+    /**
+     * Calculates all valid moves for this chess piece on a board of any size, given the
+     * currently occupied positions.
+     * On the standard board this is an adapter over the precomputed {@link AttackTables};
+     * passing a {@link PositionBitSet} lets the occupancy mask be read without scanning the set.
+     * Other boards follow the directions of the piece type up to the board edge.
+     * 
+     * @param size the size of the board
+     * @param occupiedPositions a set of all currently occupied positions on the board
+     * @return a collection of valid positions this piece can move to
+     * @throws IllegalArgumentException if the piece is outside the board
+     */
+    default Collection<Position> getValidMoves(BoardSize size, Set<Position> occupiedPositions) {
+        Position pos = getPosition();
+        if (!size.contains(pos)) {
+            throw new IllegalArgumentException("Position " + pos + " is outside the " + size + " board");
+        }
+        if (size.isStandard()) {
+            int square = Bitboard.squareOf(pos);
+            return AttackTables.filter(getType().targets(square), getType().attacks(square),
+                    Bitboard.maskOf(occupiedPositions));
+        }
+        
+        Occupancy occupied = new SparseOccupancy();
+        for (Position occupiedPosition : occupiedPositions) {
+            if (size.contains(occupiedPosition)) {
+                occupied.add(size.squareOf(occupiedPosition));
+            }
+        }
+        MoveBuffer moves = new MoveBuffer();
+        int count = getType().generateMoves(size, size.squareOf(pos), occupied, moves);
+        List<Position> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(size.positionOf(moves.get(i)));
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the bitboard square of this piece, checking that it is on the standard board.
+     */
+    private int standardSquare() {
+        Position pos = getPosition();
+        if (!BoardSize.STANDARD.contains(pos)) {
+            throw new IllegalArgumentException("Position " + pos + " is outside the 8x8 board; "
+                    + "use the methods taking a BoardSize on other boards");
+        }
+        return Bitboard.squareOf(pos);
+    }
 }
-
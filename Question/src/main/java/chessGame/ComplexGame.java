@@ -3,8 +3,7 @@ package chessGame;
 import chessLib.Position;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -12,114 +11,244 @@ import java.util.Set;
 public class ComplexGame extends BaseGame {
 
     private List<ChessPiece> pieces;
+    private BoardSize boardSize;
+    private Board board;
     private Random random;
+    private PieceSelector pieceSelector;
+    private MobilityCache mobility;
+    private MoveBuffer moveBuffer;
+    
+    // The last move played by step(), reported to the listener
+    private ChessPiece lastPiece;
+    private int lastFrom;
+    private int lastTo;
+    private int lastValidMoveCount;
 
     public ComplexGame() {
+        this(new UniformPieceSelector(), new Random());
+    }
+    
+    /**
+     * Creates a game whose moves are reproducible from a seed.
+     * 
+     * @param seed the seed of the random source
+     */
+    public ComplexGame(long seed) {
+        this(new UniformPieceSelector(), new Random(seed));
+    }
+    
+    /**
+     * Creates a game with a custom piece selection strategy.
+     * 
+     * @param pieceSelector the strategy choosing which piece moves next
+     * @param random the random source for all choices made by the game
+     */
+    public ComplexGame(PieceSelector pieceSelector, Random random) {
+        this(BoardSize.STANDARD, pieceSelector, random);
+    }
+    
+    /**
+     * Creates a game on a board of the given size. The standard 8 x 8 board uses bitboards
+     * throughout; other sizes generate moves up to the real board edge.
+     * 
+     * @param boardSize the size of the board
+     * @param pieceSelector the strategy choosing which piece moves next
+     * @param random the random source for all choices made by the game
+     */
+    public ComplexGame(BoardSize boardSize, PieceSelector pieceSelector, Random random) {
         this.pieces = new ArrayList<>();
-        this.random = new Random();
+        this.boardSize = boardSize;
+        this.board = new Board(boardSize);
+        this.random = random;
+        this.pieceSelector = pieceSelector;
+        this.mobility = new MobilityCache();
+        this.moveBuffer = new MoveBuffer();
     }
 
+    /**
+     * Sets up the game with the default pieces, which need a board of at least 8 x 8.
+     * 
+     * @throws IllegalArgumentException if the board is too small for the default pieces
+     */
     @Override
     public void setup() {
-        // Initialize the list and add several pieces at different positions
-        pieces.clear();
+        // Add several pieces at different positions
+        List<ChessPiece> initialPieces = new ArrayList<>();
         
         // Add Knights
-        pieces.add(new Knight(new Position(2, 1)));
-        pieces.add(new Knight(new Position(7, 1)));
+        initialPieces.add(new Knight(Square.of(2, 1).toPosition()));
+        initialPieces.add(new Knight(Square.of(7, 1).toPosition()));
         
         // Add Bishops
-        pieces.add(new Bishop(new Position(3, 1)));
-        pieces.add(new Bishop(new Position(6, 1)));
+        initialPieces.add(new Bishop(Square.of(3, 1).toPosition()));
+        initialPieces.add(new Bishop(Square.of(6, 1).toPosition()));
         
         // Add Queens
-        pieces.add(new Queen(new Position(4, 1)));
-        pieces.add(new Queen(new Position(5, 8)));
+        initialPieces.add(new Queen(Square.of(4, 1).toPosition()));
+        initialPieces.add(new Queen(Square.of(5, 8).toPosition()));
+        
+        setup(initialPieces);
+    }
+    
+    /**
+     * Sets up the game with the given pieces instead of the default ones.
+     * 
+     * @param initialPieces the pieces, at distinct positions within the board
+     * @throws IllegalArgumentException if two pieces share a position or one is outside the board
+     */
+    public void setup(List<ChessPiece> initialPieces) {
+        // Initialize the list and the board
+        pieces.clear();
+        board.clear();
+        for (ChessPiece piece : initialPieces) {
+            addPiece(piece);
+        }
+        
+        if (boardSize.isStandard()) {
+            mobility.reset(pieces, board.getOccupancy());
+        } else {
+            mobility.reset(board.getIndex());
+        }
         
-        System.out.println("Game setup complete with " + pieces.size() + " pieces.");
-        printBoard();
+        listener.onGameStarted(Collections.unmodifiableList(pieces));
     }
 
     @Override
     public void play(int moves) {
         for (int moveCount = 1; moveCount <= moves; moveCount++) {
-            System.out.println("\n=== Move " + moveCount + " ===");
-            
-            // Get all occupied positions
-            Set<Position> occupiedPositions = getOccupiedPositions();
-            
-            // Try to find a piece with valid moves
-            ChessPiece selectedPiece = null;
-            Collection<Position> validMoves = null;
-            int attempts = 0;
-            int maxAttempts = pieces.size() * 3; // Avoid infinite loop
-            
-            while (attempts < maxAttempts) {
-                // Randomly select a piece
-                selectedPiece = pieces.get(random.nextInt(pieces.size()));
-                
-                // Get valid moves for this piece
-                validMoves = selectedPiece.getValidMoves(occupiedPositions);
-                
-                // If there are valid moves, we found our piece
-                if (!validMoves.isEmpty()) {
-                    break;
-                }
-                
-                attempts++;
-            }
-            
             // If no piece has valid moves, skip this turn
-            if (validMoves == null || validMoves.isEmpty()) {
-                System.out.println("No valid moves available for any piece. Skipping turn.");
+            if (!step()) {
+                listener.onTurnSkipped(moveCount);
                 continue;
             }
             
-            // Randomly select a valid move
-            Position oldPosition = selectedPiece.getPosition();
-            Position newPosition = selectRandomMove(validMoves);
-            
-            // Update the piece position
-            selectedPiece.setPosition(newPosition);
-            
-            // Print log
-            String pieceName = selectedPiece.getClass().getSimpleName();
-            System.out.println(pieceName + " moved from " + oldPosition + " to " + newPosition);
-            System.out.println("Valid moves available: " + validMoves.size());
+            listener.onMove(moveCount, lastPiece, boardSize.positionOf(lastFrom), boardSize.positionOf(lastTo),
+                    lastValidMoveCount);
         }
         
-        System.out.println("\n=== Game Complete ===");
-        printBoard();
+        listener.onGameFinished(Collections.unmodifiableList(pieces));
     }
     
     /**
-     * Gets a set of all currently occupied positions on the board.
+     * Plays a single move: lets the piece selector choose a piece with valid moves and moves it
+     * to a random valid square. The move is recorded in the last-move fields for logging.
+     * This does not allocate on the standard board, so it can be run in long simulation loops.
+     * 
+     * @return true if a piece was moved, false if no piece could move
      */
-    private Set<Position> getOccupiedPositions() {
-        Set<Position> occupied = new HashSet<>();
-        for (ChessPiece piece : pieces) {
-            occupied.add(piece.getPosition());
+    boolean step() {
+        int pieceIndex = pieceSelector.select(mobility, random);
+        if (GameMetrics.ENABLED) {
+            GameMetrics.global().recordSelection();
         }
-        return occupied;
+        if (pieceIndex < 0) {
+            if (GameMetrics.ENABLED) {
+                GameMetrics.global().recordSkippedTurn();
+            }
+            return false;
+        }
+        
+        ChessPiece selectedPiece = pieces.get(pieceIndex);
+        int from = boardSize.squareOf(selectedPiece.getPosition());
+        int validMoveCount;
+        int to;
+        long startNanos = GameMetrics.ENABLED ? System.nanoTime() : 0L;
+        if (boardSize.isStandard()) {
+            // Get valid moves for the selected piece and randomly select one
+            validMoveCount = selectedPiece.generateMoves(board.getOccupancy(), moveBuffer);
+            to = moveBuffer.get(random.nextInt(validMoveCount));
+        } else {
+            // On large boards the target is picked straight from the ray bitsets of the index
+            validMoveCount = mobility.getMobility(pieceIndex);
+            to = board.getIndex().nthMove(selectedPiece.getType(), from, random.nextInt(validMoveCount));
+        }
+        if (GameMetrics.ENABLED) {
+            GameMetrics.global().recordMoveGeneration(selectedPiece.getType(), System.nanoTime() - startNanos);
+            GameMetrics.global().recordMove();
+        }
+        
+        // Update the board, which also updates the piece position
+        board.move(from, to);
+        if (boardSize.isStandard()) {
+            mobility.update(pieceIndex, from, to, board.getOccupancy());
+        } else {
+            mobility.update(pieceIndex, from, to, board.getIndex());
+        }
+        
+        lastPiece = selectedPiece;
+        lastFrom = from;
+        lastTo = to;
+        lastValidMoveCount = validMoveCount;
+        return true;
     }
     
     /**
-     * Randomly selects a position from the collection of valid moves.
+     * Gets a set of all currently occupied positions on the board.
+     * On the standard board the set is backed by the occupancy mask, so passing it to
+     * {@link ChessPiece#getValidMoves(Set)} takes the bitboard fast path; on other boards the
+     * set carries the board size, so the moves are generated for that board.
+     * 
+     * @return a snapshot of the occupied positions
      */
-    private Position selectRandomMove(Collection<Position> validMoves) {
-        List<Position> movesList = new ArrayList<>(validMoves);
-        return movesList.get(random.nextInt(movesList.size()));
+    public Set<Position> getOccupiedPositions() {
+        return board.getOccupiedPositions();
     }
     
     /**
-     * Prints the current state of the board.
+     * Takes an immutable snapshot of the pieces of this game, to branch continuations from with
+     * {@link GameState#applyMove(int, int)} without copying the position again. The pieces keep
+     * their index in this game.
+     * 
+     * @return the current state of the game
      */
-    private void printBoard() {
-        System.out.println("\nCurrent board state:");
-        for (int i = 0; i < pieces.size(); i++) {
-            ChessPiece piece = pieces.get(i);
-            String pieceName = piece.getClass().getSimpleName();
-            System.out.println("  " + (i + 1) + ". " + pieceName + " at " + piece.getPosition());
-        }
+    public GameState snapshot() {
+        return GameState.of(boardSize, pieces);
+    }
+    
+    /**
+     * Gets the Zobrist hash of the current position, kept up to date by every move.
+     * 
+     * @return the hash of the position, see {@link Board#getHash()}
+     */
+    public long getHash() {
+        return board.getHash();
+    }
+    
+    /**
+     * Gets the size of the board of this game.
+     * 
+     * @return the board size
+     */
+    public BoardSize getBoardSize() {
+        return boardSize;
+    }
+    
+    /**
+     * Gets the pieces of this game, in piece index order.
+     */
+    List<ChessPiece> getPieces() {
+        return Collections.unmodifiableList(pieces);
+    }
+    
+    /**
+     * Gets the board of this game.
+     */
+    Board getBoard() {
+        return board;
+    }
+    
+    /**
+     * Gets the cached mobility of the pieces of this game.
+     */
+    MobilityCache getMobility() {
+        return mobility;
+    }
+    
+    /**
+     * Adds a piece to the game and places it on the board.
+     */
+    private void addPiece(ChessPiece piece) {
+        pieces.add(piece);
+        board.place(piece);
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package chessGame;
+
+import java.io.PrintStream;
+
+/**
+ * Writes the human-readable game log to a print stream as each event happens.
+ * This is the default listener of the games.
+ */
+public class ConsoleGameEventListener extends TextGameEventListener {
+    
+    private final PrintStream out;
+    
+    /**
+     * Creates a listener writing to standard output.
+     */
+    public ConsoleGameEventListener() {
+        this(System.out);
+    }
+    
+    /**
+     * Creates a listener writing to the given stream.
+     * 
+     * @param out the stream to write to
+     */
+    public ConsoleGameEventListener(PrintStream out) {
+        this.out = out;
+    }
+    
+    @Override
+    protected void emit() {
+        out.print(text);
+        text.setLength(0);
+    }
+}
@@ -0,0 +1,279 @@
+package chessGame;
+
+import java.util.Arrays;
+
+/**
+ * The fewest moves a piece needs from its square to every square of a board, when it cannot
+ * land on the squares of other pieces. Pieces jump over occupied squares, so an occupied square
+ * only removes itself from the paths; as the other pieces come and go, the distances are updated
+ * incrementally instead of searched again from scratch.
+ * <p>
+ * The reached squares are kept in the order of the last breadth-first search, which is sorted
+ * by distance, together with the offset where each level starts. A blocked square at distance
+ * d only affects the levels after d: they are dropped by truncating the order at a level
+ * boundary, and the search resumes from the rest of level d. A freed square joins the level
+ * after its nearest reachable neighbour, and the search resumes from that level. Changes far
+ * from the piece, or on squares it cannot reach, thus cost little or nothing.
+ * <p>
+ * Boards are limited to {@link #MAX_BOARD_SIZE} squares a side. Instances are not thread-safe.
+ */
+public class ConstrainedDistances {
+    
+    /**
+     * The largest supported board size, where the distances and search order take 4 MiB each.
+     */
+    public static final int MAX_BOARD_SIZE = 1024;
+    
+    private final PieceType type;
+    private final BoardSize size;
+    private final int source;
+    private final Occupancy blocked;
+    private final int[] distances;
+    // The reached squares, by increasing distance
+    private final int[] order;
+    // levelStarts[l] is the offset in order of the first square at distance l, and
+    // levelStarts[levels] the number of reached squares
+    private int[] levelStarts = new int[16];
+    private int levels;
+    private final MoveBuffer moves = new MoveBuffer();
+    
+    private long expandedSquares;
+    
+    /**
+     * Creates the distances of a piece on an empty board.
+     * 
+     * @param type the type of the piece
+     * @param size the size of the board, up to {@link #MAX_BOARD_SIZE}
+     * @param source the square index of the piece, see {@link BoardSize}
+     * @throws IllegalArgumentException if the board is too large
+     * @throws IndexOutOfBoundsException if the square is not on the board
+     */
+    public ConstrainedDistances(PieceType type, BoardSize size, int source) {
+        if (size.size() > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Constrained distances are limited to boards of up to "
+                    + MAX_BOARD_SIZE + " squares a side: " + size);
+        }
+        checkSquare(size, source);
+        this.type = type;
+        this.size = size;
+        this.source = source;
+        this.blocked = Occupancy.create(size);
+        this.distances = new int[size.squareCount()];
+        this.order = new int[size.squareCount()];
+        Arrays.fill(distances, DistanceTable.UNREACHABLE);
+        distances[source] = 0;
+        order[0] = source;
+        levelStarts[0] = 0;
+        levelStarts[1] = 1;
+        levels = 1;
+        searchFrom(0);
+    }
+    
+    /**
+     * Creates the distances of a piece of a game, blocked by the other pieces.
+     * 
+     * @param state the game
+     * @param pieceIndex the index of the piece
+     * @return the distances from the square of the piece
+     * @throws IllegalArgumentException if the board is too large
+     */
+    public static ConstrainedDistances forPiece(GameState state, int pieceIndex) {
+        ConstrainedDistances distances = new ConstrainedDistances(state.getType(pieceIndex), state.getBoardSize(),
+                state.getSquare(pieceIndex));
+        for (int i = 0; i < state.getPieceCount(); i++) {
+            if (i != pieceIndex) {
+                distances.block(state.getSquare(i));
+            }
+        }
+        return distances;
+    }
+    
+    /**
+     * Gets the fewest moves to a square.
+     * 
+     * @param target the square index
+     * @return the number of moves, 0 for the square of the piece, or {@link DistanceTable#UNREACHABLE}
+     *         if the square is blocked or cannot be reached
+     * @throws IndexOutOfBoundsException if the square is not on the board
+     */
+    public int distance(int target) {
+        checkSquare(size, target);
+        return distances[target];
+    }
+    
+    /**
+     * Marks a square as occupied by another piece.
+     * 
+     * @param square the square index
+     * @throws IndexOutOfBoundsException if the square is not on the board
+     * @throws IllegalArgumentException if the square is the one of the piece or already blocked
+     */
+    public void block(int square) {
+        checkChange(square, true);
+        blocked.add(square);
+        int level = distances[square];
+        if (level == DistanceTable.UNREACHABLE) {
+            return;
+        }
+        
+        // Levels up to this one keep their distances; remove the square from its level
+        truncateAfter(level);
+        int first = levelStarts[level];
+        int last = levelStarts[level + 1] - 1;
+        int i = first;
+        while (order[i] != square) {
+            i++;
+        }
+        order[i] = order[last];
+        levelStarts[level + 1] = last;
+        distances[square] = DistanceTable.UNREACHABLE;
+        if (last == first) {
+            levels = level;
+        } else {
+            searchFrom(level);
+        }
+    }
+    
+    /**
+     * Marks a square as no longer occupied.
+     * 
+     * @param square the square index
+     * @throws IndexOutOfBoundsException if the square is not on the board
+     * @throws IllegalArgumentException if the square is not blocked
+     */
+    public void unblock(int square) {
+        checkChange(square, false);
+        blocked.remove(square);
+        // The square is settled right after its nearest reachable neighbour; moves are
+        // symmetric, so its neighbours are its own targets
+        int nearest = Integer.MAX_VALUE;
+        int count = type.generateMoves(size, square, blocked, moves);
+        for (int i = 0; i < count; i++) {
+            int distance = distances[moves.get(i)];
+            if (distance != DistanceTable.UNREACHABLE) {
+                nearest = Math.min(nearest, distance);
+            }
+        }
+        if (nearest == Integer.MAX_VALUE) {
+            return;
+        }
+        
+        int level = nearest + 1;
+        if (level < levels) {
+            truncateAfter(level);
+        } else {
+            // A new last level
+            setLevelStart(level + 1, levelStarts[level]);
+            levels = level + 1;
+        }
+        int end = levelStarts[level + 1];
+        order[end] = square;
+        levelStarts[level + 1] = end + 1;
+        distances[square] = level;
+        searchFrom(level);
+    }
+    
+    /**
+     * Moves another piece, unblocking its old square and blocking its new one.
+     * 
+     * @param from the square the piece leaves
+     * @param to the square the piece lands on
+     * @throws IndexOutOfBoundsException if a square is not on the board
+     * @throws IllegalArgumentException if the piece is not on the first square or the second is taken
+     */
+    public void move(int from, int to) {
+        checkChange(to, true);
+        unblock(from);
+        block(to);
+    }
+    
+    /**
+     * Checks whether a square is occupied by another piece.
+     * 
+     * @param square the square index
+     * @return true if the square is blocked
+     */
+    public boolean isBlocked(int square) {
+        return blocked.contains(square);
+    }
+    
+    /**
+     * Gets the square of the piece the distances start from.
+     * 
+     * @return the square index
+     */
+    public int getSource() {
+        return source;
+    }
+    
+    /**
+     * Gets the number of squares whose moves were generated since creation, a measure of the
+     * work the updates took.
+     * 
+     * @return the number of expanded squares
+     */
+    public long getExpandedSquares() {
+        return expandedSquares;
+    }
+    
+    /**
+     * Forgets the squares of the levels after the given one.
+     */
+    private void truncateAfter(int level) {
+        for (int i = levelStarts[level + 1]; i < levelStarts[levels]; i++) {
+            distances[order[i]] = DistanceTable.UNREACHABLE;
+        }
+        levels = level + 1;
+    }
+    
+    /**
+     * Resumes the search from a level, which must be the last one and not empty.
+     */
+    private void searchFrom(int level) {
+        int head = levelStarts[level];
+        int tail = levelStarts[level + 1];
+        while (head < tail) {
+            int end = tail;
+            int next = level + 1;
+            for (; head < end; head++) {
+                int count = type.generateMoves(size, order[head], blocked, moves);
+                expandedSquares++;
+                for (int i = 0; i < count; i++) {
+                    int target = moves.get(i);
+                    if (distances[target] == DistanceTable.UNREACHABLE) {
+                        distances[target] = next;
+                        order[tail++] = target;
+                    }
+                }
+            }
+            if (tail > end) {
+                level = next;
+                setLevelStart(level + 1, tail);
+            }
+        }
+        levels = level + 1;
+    }
+    
+    private void setLevelStart(int level, int offset) {
+        if (level >= levelStarts.length) {
+            levelStarts = Arrays.copyOf(levelStarts, levelStarts.length * 2);
+        }
+        levelStarts[level] = offset;
+    }
+    
+    private void checkChange(int square, boolean block) {
+        checkSquare(size, square);
+        if (square == source) {
+            throw new IllegalArgumentException("The square of the piece cannot be blocked: " + square);
+        }
+        if (blocked.contains(square) == block) {
+            throw new IllegalArgumentException("Square " + square + (block ? " is already blocked" : " is not blocked"));
+        }
+    }
+    
+    private static void checkSquare(BoardSize size, int square) {
+        if (square < 0 || square >= size.squareCount()) {
+            throw new IndexOutOfBoundsException("Square " + square + " out of " + size.squareCount());
+        }
+    }
+}
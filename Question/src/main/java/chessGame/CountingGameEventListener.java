@@ -0,0 +1,86 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts game events for metrics.
+ * The counters can be updated from several threads, so one listener may be shared by many
+ * concurrently running games.
+ */
+public class CountingGameEventListener implements GameEventListener {
+    
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder skippedTurns = new LongAdder();
+    private final LongAdder validMoves = new LongAdder();
+    
+    @Override
+    public void onGameStarted(List<ChessPiece> pieces) {
+        gamesStarted.increment();
+    }
+    
+    @Override
+    public void onMove(int moveNumber, ChessPiece piece, Position from, Position to, int validMoveCount) {
+        moves.increment();
+        validMoves.add(validMoveCount);
+    }
+    
+    @Override
+    public void onTurnSkipped(int moveNumber) {
+        skippedTurns.increment();
+    }
+    
+    @Override
+    public void onGameFinished(List<ChessPiece> pieces) {
+        gamesFinished.increment();
+    }
+    
+    /**
+     * Gets the number of games that have been set up.
+     * 
+     * @return the number of started games
+     */
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+    
+    /**
+     * Gets the number of games that have been played to the end.
+     * 
+     * @return the number of finished games
+     */
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+    
+    /**
+     * Gets the number of moves made.
+     * 
+     * @return the number of moves
+     */
+    public long getMoves() {
+        return moves.sum();
+    }
+    
+    /**
+     * Gets the number of turns skipped because no piece could move.
+     * 
+     * @return the number of skipped turns
+     */
+    public long getSkippedTurns() {
+        return skippedTurns.sum();
+    }
+    
+    /**
+     * Gets the sum of the valid move counts the moved pieces had to choose from.
+     * 
+     * @return the total number of valid moves
+     */
+    public long getValidMoves() {
+        return validMoves.sum();
+    }
+}
@@ -0,0 +1,219 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * The fewest moves a piece type needs between any two squares of an empty board. Since pieces
+ * jump over occupied squares, the only effect of other pieces is to forbid landing on their
+ * squares; distances around them are answered by {@link ConstrainedDistances}.
+ * <p>
+ * Each table holds one byte per pair of squares, filled by a breadth-first search from every
+ * square, with the searches running in parallel on the common fork/join pool. Tables are built
+ * once per piece type and board size, on first use, and shared from then on.
+ */
+public final class DistanceTable {
+    
+    /**
+     * The distance between squares that cannot reach each other.
+     */
+    public static final int UNREACHABLE = -1;
+    
+    /**
+     * The largest board size with a table, which then takes 1 MiB.
+     */
+    public static final int MAX_BOARD_SIZE = 32;
+    
+    private static final Map<BoardSize, DistanceTable[]> TABLES = new ConcurrentHashMap<>();
+    
+    private final PieceType type;
+    private final BoardSize size;
+    private final int squares;
+    // distances[from * squares + to]
+    private final byte[] distances;
+    
+    private DistanceTable(PieceType type, BoardSize size) {
+        this.type = type;
+        this.size = size;
+        this.squares = size.squareCount();
+        this.distances = new byte[squares * squares];
+        Arrays.fill(distances, (byte) UNREACHABLE);
+        IntStream.range(0, squares).parallel().forEach(size.isStandard() ? this::searchStandard : this::search);
+    }
+    
+    /**
+     * Gets the table of a piece type on the standard board.
+     * 
+     * @param type the piece type
+     * @return the shared table
+     */
+    public static DistanceTable of(PieceType type) {
+        return of(type, BoardSize.STANDARD);
+    }
+    
+    /**
+     * Gets the table of a piece type on a board, building the tables of every piece type for
+     * that board size if they do not exist yet.
+     * 
+     * @param type the piece type
+     * @param size the size of the board, up to {@link #MAX_BOARD_SIZE}
+     * @return the shared table
+     * @throws IllegalArgumentException if the board is too large for a table
+     */
+    public static DistanceTable of(PieceType type, BoardSize size) {
+        if (size.size() > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Distance tables are limited to boards of up to " + MAX_BOARD_SIZE
+                    + " squares a side: " + size);
+        }
+        return TABLES.computeIfAbsent(size, DistanceTable::build)[type.ordinal()];
+    }
+    
+    private static DistanceTable[] build(BoardSize size) {
+        PieceType[] types = PieceType.values();
+        DistanceTable[] tables = new DistanceTable[types.length];
+        for (PieceType type : types) {
+            tables[type.ordinal()] = new DistanceTable(type, size);
+        }
+        return tables;
+    }
+    
+    /**
+     * Gets the fewest moves between two squares.
+     * 
+     * @param from the square index of the piece, see {@link BoardSize}
+     * @param to the square index of the target
+     * @return the number of moves, 0 if the squares are the same, or {@link #UNREACHABLE}
+     * @throws IndexOutOfBoundsException if a square is not on the board
+     */
+    public int distance(int from, int to) {
+        if (from < 0 || from >= squares || to < 0 || to >= squares) {
+            throw new IndexOutOfBoundsException("Squares " + from + " and " + to + " out of " + squares);
+        }
+        return distances[from * squares + to];
+    }
+    
+    /**
+     * Gets the fewest moves between two positions.
+     * 
+     * @param from the position of the piece
+     * @param to the target position
+     * @return the number of moves, 0 if the positions are the same, or {@link #UNREACHABLE}
+     * @throws IllegalArgumentException if a position is not on the board
+     */
+    public int distance(Position from, Position to) {
+        return distance(squareOf(from), squareOf(to));
+    }
+    
+    /**
+     * Gets a shortest sequence of moves between two positions. Among the shortest sequences,
+     * each step goes to the first square in the move generation order of the piece type.
+     * 
+     * @param from the position of the piece
+     * @param to the target position
+     * @return the positions of the piece, from the first to the target, or an empty list if the
+     *         target cannot be reached
+     * @throws IllegalArgumentException if a position is not on the board
+     */
+    public List<Position> path(Position from, Position to) {
+        int square = squareOf(from);
+        int target = squareOf(to);
+        int remaining = distance(square, target);
+        if (remaining == UNREACHABLE) {
+            return Collections.emptyList();
+        }
+        
+        List<Position> path = new ArrayList<>(remaining + 1);
+        path.add(size.positionOf(square));
+        MoveBuffer moves = new MoveBuffer();
+        Occupancy empty = Occupancy.create(size);
+        while (remaining > 0) {
+            // Some move always gets one closer, or the distance would be larger
+            type.generateMoves(size, square, empty, moves);
+            int next = 0;
+            while (distance(moves.get(next), target) != remaining - 1) {
+                next++;
+            }
+            square = moves.get(next);
+            path.add(size.positionOf(square));
+            remaining--;
+        }
+        return path;
+    }
+    
+    /**
+     * Gets the piece type of this table.
+     * 
+     * @return the piece type
+     */
+    public PieceType getType() {
+        return type;
+    }
+    
+    /**
+     * Gets the board size of this table.
+     * 
+     * @return the board size
+     */
+    public BoardSize getBoardSize() {
+        return size;
+    }
+    
+    private int squareOf(Position pos) {
+        if (!size.contains(pos)) {
+            throw new IllegalArgumentException("Position out of the " + size + " board: " + pos);
+        }
+        return size.squareOf(pos);
+    }
+    
+    /**
+     * Fills the row of a square on the standard board, expanding whole levels with bitboards.
+     */
+    private void searchStandard(int from) {
+        int row = from * squares;
+        long visited = 1L << from;
+        long level = visited;
+        for (int distance = 0; level != Bitboard.EMPTY; distance++) {
+            long next = Bitboard.EMPTY;
+            for (long remaining = level; remaining != Bitboard.EMPTY; remaining &= remaining - 1) {
+                int square = Long.numberOfTrailingZeros(remaining);
+                distances[row + square] = (byte) distance;
+                next |= type.attacks(square);
+            }
+            level = next & ~visited;
+            visited |= level;
+        }
+    }
+    
+    /**
+     * Fills the row of a square on a board of any size.
+     */
+    private void search(int from) {
+        int row = from * squares;
+        int[] queue = new int[squares];
+        MoveBuffer moves = new MoveBuffer();
+        Occupancy empty = Occupancy.create(size);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from;
+        distances[row + from] = 0;
+        while (head < tail) {
+            int square = queue[head++];
+            byte next = (byte) (distances[row + square] + 1);
+            int count = type.generateMoves(size, square, empty, moves);
+            for (int i = 0; i < count; i++) {
+                int target = moves.get(i);
+                if (distances[row + target] == UNREACHABLE) {
+                    distances[row + target] = next;
+                    queue[tail++] = target;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.List;
+
+/**
+ * Receives the events of a game as it is played.
+ * All methods do nothing by default, so listeners only implement the events they need.
+ * Events are delivered on the thread playing the game, so implementations should be cheap.
+ */
+public interface GameEventListener {
+    
+    /**
+     * Called when the game has been set up.
+     * 
+     * @param pieces the pieces of the game, in piece index order
+     */
+    default void onGameStarted(List<ChessPiece> pieces) {
+    }
+    
+    /**
+     * Called after a piece has been moved.
+     * 
+     * @param moveNumber the number of the move, starting at 1
+     * @param piece the moved piece
+     * @param from the position the piece moved from
+     * @param to the position the piece moved to
+     * @param validMoveCount the number of valid moves the piece had to choose from
+     */
+    default void onMove(int moveNumber, ChessPiece piece, Position from, Position to, int validMoveCount) {
+    }
+    
+    /**
+     * Called when no piece could move and the turn was skipped.
+     * 
+     * @param moveNumber the number of the skipped move, starting at 1
+     */
+    default void onTurnSkipped(int moveNumber) {
+    }
+    
+    /**
+     * Called when all moves of the game have been played.
+     * 
+     * @param pieces the pieces of the game, in piece index order
+     */
+    default void onGameFinished(List<ChessPiece> pieces) {
+    }
+}
@@ -0,0 +1,141 @@
+package chessGame;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load generator for a {@link GameServer}: opens many sessions, then steps all of them
+ * concurrently, one virtual thread per session, and records the latency of every step request.
+ * The number of requests in flight is capped, so that the client does not run out of
+ * connections; sessions waiting for their turn are idle, as they would be with real clients.
+ * The generator owns an HTTP client and its threads, released by {@link #close()}.
+ */
+public class GameLoadGenerator implements AutoCloseable {
+    
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    
+    private final URI games;
+    private final int concurrency;
+    private final ExecutorService clientThreads;
+    private final HttpClient client;
+    
+    /**
+     * Creates a load generator.
+     * 
+     * @param server the base URI of the server, e.g. {@code http://localhost:8080}
+     * @param concurrency the most requests in flight at once
+     */
+    public GameLoadGenerator(URI server, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.games = server.resolve("/games");
+        this.concurrency = concurrency;
+        this.clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads)
+                .build();
+    }
+    
+    /**
+     * Runs the load: creates the sessions, steps each of them a number of times, and deletes them.
+     * 
+     * @param sessions the number of sessions
+     * @param stepsPerSession the number of step requests per session
+     * @param movesPerStep the number of moves played by each step request
+     * @return the latencies of the step requests
+     * @throws IOException if a request fails or the server answers with an error
+     * @throws InterruptedException if interrupted while waiting for the sessions
+     */
+    public LatencyHistogram run(int sessions, int stepsPerSession, int movesPerStep)
+            throws IOException, InterruptedException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        Semaphore inFlight = new Semaphore(concurrency);
+        
+        List<Future<?>> results = new ArrayList<>(sessions);
+        try (ExecutorService sessionThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                long seed = i;
+                results.add(sessionThreads.submit(() -> {
+                    String created = send(inFlight, HttpRequest.newBuilder(URI.create(games + "?seed=" + seed))
+                            .POST(HttpRequest.BodyPublishers.noBody()).build(), 201);
+                    Matcher matcher = ID.matcher(created);
+                    if (!matcher.find()) {
+                        throw new IOException("No session id in " + created);
+                    }
+                    URI session = URI.create(games + "/" + matcher.group(1));
+                    
+                    HttpRequest step = HttpRequest.newBuilder(URI.create(session + "/step?moves=" + movesPerStep))
+                            .POST(HttpRequest.BodyPublishers.noBody()).build();
+                    for (int s = 0; s < stepsPerSession; s++) {
+                        inFlight.acquire();
+                        try {
+                            long start = System.nanoTime();
+                            HttpResponse<String> response = client.send(step, HttpResponse.BodyHandlers.ofString());
+                            latencies.record(System.nanoTime() - start);
+                            check(response, 200);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }
+                    
+                    send(inFlight, HttpRequest.newBuilder(session).DELETE().build(), 204);
+                    return null;
+                }));
+            }
+        }
+        
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException failure) {
+                    throw failure;
+                }
+                throw new IOException("Session failed", e.getCause());
+            }
+        }
+        return latencies;
+    }
+    
+    /**
+     * Closes the HTTP client, stopping its selector thread, and the executor of its virtual threads.
+     */
+    @Override
+    public void close() {
+        client.close();
+        clientThreads.close();
+    }
+    
+    private String send(Semaphore inFlight, HttpRequest request, int expectedStatus)
+            throws IOException, InterruptedException {
+        inFlight.acquire();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            check(response, expectedStatus);
+            return response.body();
+        } finally {
+            inFlight.release();
+        }
+    }
+    
+    private static void check(HttpResponse<String> response, int expectedStatus) throws IOException {
+        if (response.statusCode() != expectedStatus) {
+            throw new IOException(response.request().method() + " " + response.uri() + " answered "
+                    + response.statusCode() + ": " + response.body());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package chessGame;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime metrics of the games: move, skip and selection counters, and a move generation
+ * latency histogram per piece type. They can be exposed as JMX MBeans under the
+ * {@code chessGame} domain, or read as a text {@link #snapshot()}, for instance by a
+ * {@link MetricsReporter}.
+ * Games only record into the {@link #global()} metrics when the {@code chessGame.metrics}
+ * system property is true at startup. The check is on the constant {@link #ENABLED}, so with
+ * metrics disabled the JIT removes the instrumentation altogether; with metrics enabled,
+ * recording does not allocate.
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+    
+    /**
+     * Whether games record metrics, from the {@code chessGame.metrics} system property.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("chessGame.metrics");
+    
+    private static final GameMetrics GLOBAL = new GameMetrics();
+    
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder skippedTurns = new LongAdder();
+    private final LongAdder selections = new LongAdder();
+    private final LatencyHistogram[] moveGeneration = new LatencyHistogram[PieceType.values().length];
+    private volatile long startNanos = System.nanoTime();
+    
+    /**
+     * Creates empty metrics. Games record into the {@link #global()} metrics only.
+     */
+    public GameMetrics() {
+        for (int i = 0; i < moveGeneration.length; i++) {
+            moveGeneration[i] = new LatencyHistogram();
+        }
+    }
+    
+    /**
+     * Gets the metrics games record into when {@link #ENABLED}.
+     * 
+     * @return the global metrics
+     */
+    public static GameMetrics global() {
+        return GLOBAL;
+    }
+    
+    /**
+     * Records a played move.
+     */
+    public void recordMove() {
+        moves.increment();
+    }
+    
+    /**
+     * Records a turn skipped because no piece could move.
+     */
+    public void recordSkippedTurn() {
+        skippedTurns.increment();
+    }
+    
+    /**
+     * Records a call to a piece selector.
+     */
+    public void recordSelection() {
+        selections.increment();
+    }
+    
+    /**
+     * Records the time taken to generate the moves of a piece.
+     * 
+     * @param type the type of the piece
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void recordMoveGeneration(PieceType type, long nanos) {
+        moveGeneration[type.ordinal()].record(nanos);
+    }
+    
+    /**
+     * Gets the move generation latencies of a piece type.
+     * 
+     * @param type the piece type
+     * @return the live histogram
+     */
+    public LatencyHistogram getMoveGeneration(PieceType type) {
+        return moveGeneration[type.ordinal()];
+    }
+    
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+    
+    @Override
+    public long getSkippedTurns() {
+        return skippedTurns.sum();
+    }
+    
+    @Override
+    public long getSelections() {
+        return selections.sum();
+    }
+    
+    @Override
+    public double getMovesPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? moves.sum() / seconds : 0;
+    }
+    
+    @Override
+    public void reset() {
+        moves.reset();
+        skippedTurns.reset();
+        selections.reset();
+        for (LatencyHistogram histogram : moveGeneration) {
+            histogram.reset();
+        }
+        startNanos = System.nanoTime();
+    }
+    
+    /**
+     * Registers these metrics and their histograms with the platform MBean server, as
+     * {@code chessGame:type=GameMetrics} and {@code chessGame:type=MoveGeneration,piece=<TYPE>}.
+     * 
+     * @throws IllegalStateException if the MBeans cannot be registered, e.g. because they already are
+     */
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, metricsName());
+            for (PieceType type : PieceType.values()) {
+                server.registerMBean(getMoveGeneration(type), moveGenerationName(type));
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the game metrics MBeans", e);
+        }
+    }
+    
+    /**
+     * Removes the MBeans registered by {@link #registerMBeans()}.
+     */
+    public void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(metricsName());
+            for (PieceType type : PieceType.values()) {
+                server.unregisterMBean(moveGenerationName(type));
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not unregister the game metrics MBeans", e);
+        }
+    }
+    
+    static ObjectName metricsName() throws JMException {
+        return new ObjectName("chessGame:type=GameMetrics");
+    }
+    
+    static ObjectName moveGenerationName(PieceType type) throws JMException {
+        return new ObjectName("chessGame:type=MoveGeneration,piece=" + type);
+    }
+    
+    /**
+     * Formats the current values as text, one line for the counters and one per piece type.
+     * 
+     * @return the snapshot
+     */
+    public String snapshot() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("moves=%d skipped=%d selections=%d moves/s=%.0f%n", getMoves(), getSkippedTurns(),
+                getSelections(), getMovesPerSecond()));
+        for (PieceType type : PieceType.values()) {
+            text.append(type).append(" move generation: ").append(getMoveGeneration(type)).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+}
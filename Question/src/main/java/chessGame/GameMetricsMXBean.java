@@ -0,0 +1,40 @@
+package chessGame;
+
+/**
+ * Management interface of the {@link GameMetrics}, as exposed over JMX.
+ */
+public interface GameMetricsMXBean {
+    
+    /**
+     * Gets the number of moves played.
+     * 
+     * @return the number of moves
+     */
+    long getMoves();
+    
+    /**
+     * Gets the number of turns skipped because no piece could move.
+     * 
+     * @return the number of skipped turns
+     */
+    long getSkippedTurns();
+    
+    /**
+     * Gets the number of times a piece selector was asked for a piece.
+     * 
+     * @return the number of selections
+     */
+    long getSelections();
+    
+    /**
+     * Gets the average number of moves per second since the metrics were created or reset.
+     * 
+     * @return the move rate
+     */
+    double getMovesPerSecond();
+    
+    /**
+     * Clears all counters and histograms.
+     */
+    void reset();
+}
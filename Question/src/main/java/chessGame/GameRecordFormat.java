@@ -0,0 +1,62 @@
+package chessGame;
+
+/**
+ * Layout of the binary game record files written by {@link GameRecordWriter}.
+ * <p>
+ * A record starts with a header:
+ * <pre>
+ *   int   magic          "CHGR"
+ *   short version
+ *   short piece count
+ *   long  seed           seed of the game's random source
+ *   long  move count
+ *   then per piece, in piece index order:
+ *   byte  piece type     {@link PieceType} ordinal
+ *   byte  square         initial square index
+ * </pre>
+ * followed by one big-endian 2-byte word per move: the piece index in the upper 10 bits and
+ * the target square in the lower 6 bits. A skipped turn is stored as {@link #SKIPPED_TURN}.
+ */
+final class GameRecordFormat {
+    
+    static final int MAGIC = 0x43484752;
+    static final short VERSION = 1;
+    
+    static final int PIECE_COUNT_OFFSET = 6;
+    static final int SEED_OFFSET = 8;
+    static final int MOVE_COUNT_OFFSET = 16;
+    static final int PIECES_OFFSET = 24;
+    
+    static final int MOVE_BYTES = 2;
+    static final int SQUARE_BITS = 6;
+    static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    
+    /**
+     * Word stored for a skipped turn, which is why piece index 1023 cannot be used.
+     */
+    static final short SKIPPED_TURN = (short) 0xFFFF;
+    
+    /**
+     * The largest number of pieces a record can hold.
+     */
+    static final int MAX_PIECES = (1 << (16 - SQUARE_BITS)) - 1;
+    
+    private GameRecordFormat() {
+    }
+    
+    static int headerSize(int pieceCount) {
+        return PIECES_OFFSET + 2 * pieceCount;
+    }
+    
+    static short encodeMove(int pieceIndex, int square) {
+        return (short) ((pieceIndex << SQUARE_BITS) | square);
+    }
+    
+    static int pieceIndexOf(short move) {
+        return (move & 0xFFFF) >>> SQUARE_BITS;
+    }
+    
+    static int squareOf(short move) {
+        return move & SQUARE_MASK;
+    }
+}
@@ -0,0 +1,176 @@
+package chessGame;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a game record written by {@link GameRecordWriter}.
+ * The file is memory-mapped read-only and moves are decoded straight from the mapping, so
+ * reading a record never copies it. Records larger than a single mapping are mapped in segments.
+ */
+public class GameRecordReader implements AutoCloseable {
+    
+    // Moves per mapped segment: 1 GiB of moves
+    private static final int SEGMENT_SHIFT = 29;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final int pieceCount;
+    private final long seed;
+    private final long moveCount;
+    
+    /**
+     * Opens a record file.
+     * 
+     * @param path the file to read
+     * @throws IOException if the file cannot be read or is not a game record
+     */
+    public GameRecordReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < GameRecordFormat.PIECES_OFFSET) {
+                throw new IOException(path + " is too short to be a game record");
+            }
+            MappedByteBuffer fixed = channel.map(FileChannel.MapMode.READ_ONLY, 0, GameRecordFormat.PIECES_OFFSET);
+            if (fixed.getInt(0) != GameRecordFormat.MAGIC) {
+                throw new IOException(path + " is not a game record");
+            }
+            if (fixed.getShort(4) != GameRecordFormat.VERSION) {
+                throw new IOException("Unsupported game record version " + fixed.getShort(4));
+            }
+            this.pieceCount = fixed.getShort(GameRecordFormat.PIECE_COUNT_OFFSET);
+            this.seed = fixed.getLong(GameRecordFormat.SEED_OFFSET);
+            this.moveCount = fixed.getLong(GameRecordFormat.MOVE_COUNT_OFFSET);
+            
+            long movesStart = GameRecordFormat.headerSize(pieceCount);
+            if (channel.size() < movesStart + moveCount * GameRecordFormat.MOVE_BYTES) {
+                throw new IOException(path + " is truncated");
+            }
+            this.header = channel.map(FileChannel.MapMode.READ_ONLY, 0, movesStart);
+            
+            int segmentCount = (int) ((moveCount + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long moves = Math.min(moveCount - first, 1L << SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        movesStart + first * GameRecordFormat.MOVE_BYTES, moves * GameRecordFormat.MOVE_BYTES);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Gets the seed of the recorded game's random source.
+     * 
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Gets the number of pieces of the recorded game.
+     * 
+     * @return the number of pieces
+     */
+    public int getPieceCount() {
+        return pieceCount;
+    }
+    
+    /**
+     * Gets the number of recorded moves, including skipped turns.
+     * 
+     * @return the number of moves
+     */
+    public long getMoveCount() {
+        return moveCount;
+    }
+    
+    /**
+     * Gets the type of a piece.
+     * 
+     * @param pieceIndex the index of the piece
+     * @return the piece type
+     */
+    public PieceType getPieceType(int pieceIndex) {
+        return PieceType.values()[header.get(GameRecordFormat.PIECES_OFFSET + 2 * pieceIndex)];
+    }
+    
+    /**
+     * Gets the square a piece started the game on.
+     * 
+     * @param pieceIndex the index of the piece
+     * @return the initial square index
+     */
+    public int getInitialSquare(int pieceIndex) {
+        return header.get(GameRecordFormat.PIECES_OFFSET + 2 * pieceIndex + 1);
+    }
+    
+    /**
+     * Creates the pieces of the recorded game at their initial positions.
+     * 
+     * @return new pieces, in piece index order
+     */
+    public List<ChessPiece> createInitialPieces() {
+        List<ChessPiece> pieces = new ArrayList<>(pieceCount);
+        for (int i = 0; i < pieceCount; i++) {
+            pieces.add(getPieceType(i).newPiece(Bitboard.positionOf(getInitialSquare(i))));
+        }
+        return pieces;
+    }
+    
+    /**
+     * Gets the raw encoded word of a move.
+     */
+    private short getMove(long move) {
+        if (move < 0 || move >= moveCount) {
+            throw new IndexOutOfBoundsException("Move " + move + " out of bounds for " + moveCount + " moves");
+        }
+        return segments[(int) (move >>> SEGMENT_SHIFT)].getShort((int) (move & SEGMENT_MASK) * GameRecordFormat.MOVE_BYTES);
+    }
+    
+    /**
+     * Checks whether a turn was skipped because no piece could move.
+     * 
+     * @param move the zero-based index of the move
+     * @return true if the turn was skipped
+     */
+    public boolean isSkipped(long move) {
+        return getMove(move) == GameRecordFormat.SKIPPED_TURN;
+    }
+    
+    /**
+     * Gets the index of the piece moved by a move.
+     * 
+     * @param move the zero-based index of the move, which must not be a skipped turn
+     * @return the piece index
+     */
+    public int getPieceIndex(long move) {
+        return GameRecordFormat.pieceIndexOf(getMove(move));
+    }
+    
+    /**
+     * Gets the square a piece moved to.
+     * 
+     * @param move the zero-based index of the move, which must not be a skipped turn
+     * @return the target square index
+     */
+    public int getTargetSquare(long move) {
+        return GameRecordFormat.squareOf(getMove(move));
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,153 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records a game into a compact binary file, see {@link GameRecordFormat}.
+ * Moves are written straight into memory-mapped regions of the file, so appending a move is a
+ * two-byte store with no system call; a new region is only mapped every few million moves.
+ * The writer is attached to a game as its listener, and must be closed once the game is over.
+ * Records only hold games on the standard 8 x 8 board.
+ */
+public class GameRecordWriter implements GameEventListener, AutoCloseable {
+    
+    // 32 MiB, i.e. 16M moves per mapped region
+    private static final int REGION_SIZE = 32 << 20;
+    
+    private final FileChannel channel;
+    private final long seed;
+    private final byte[] pieceAt;
+    private MappedByteBuffer header;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long movesStart;
+    private long moveCount;
+    private boolean closed;
+    
+    /**
+     * Creates a writer for a new record file, replacing any existing file.
+     * 
+     * @param path the file to write
+     * @param seed the seed of the recorded game's random source, stored in the header
+     * @throws IOException if the file cannot be opened
+     */
+    public GameRecordWriter(Path path, long seed) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.seed = seed;
+        this.pieceAt = new byte[AttackTables.SQUARES];
+    }
+    
+    @Override
+    public void onGameStarted(List<ChessPiece> pieces) {
+        if (header != null) {
+            throw new IllegalStateException("A record holds a single game");
+        }
+        if (pieces.size() > GameRecordFormat.MAX_PIECES) {
+            throw new IllegalArgumentException("A record holds at most " + GameRecordFormat.MAX_PIECES + " pieces");
+        }
+        for (ChessPiece piece : pieces) {
+            if (!BoardUtils.isWithinBounds(piece.getPosition())) {
+                throw new IllegalArgumentException("A record only holds games on an 8x8 board");
+            }
+        }
+        
+        movesStart = GameRecordFormat.headerSize(pieces.size());
+        header = map(0, movesStart);
+        header.putInt(GameRecordFormat.MAGIC);
+        header.putShort(GameRecordFormat.VERSION);
+        header.putShort((short) pieces.size());
+        header.putLong(seed);
+        header.putLong(0L);
+        
+        // Remember which piece stands where, so that moves can be attributed by their origin square
+        Arrays.fill(pieceAt, (byte) -1);
+        for (int i = 0; i < pieces.size(); i++) {
+            ChessPiece piece = pieces.get(i);
+            int square = Bitboard.squareOf(piece.getPosition());
+            header.put((byte) piece.getType().ordinal());
+            header.put((byte) square);
+            pieceAt[square] = (byte) i;
+        }
+        
+        regionStart = movesStart;
+        region = map(regionStart, REGION_SIZE);
+    }
+    
+    @Override
+    public void onMove(int moveNumber, ChessPiece piece, Position from, Position to, int validMoveCount) {
+        int fromSquare = Bitboard.squareOf(from);
+        int toSquare = Bitboard.squareOf(to);
+        int pieceIndex = pieceAt[fromSquare] & 0xFF;
+        pieceAt[fromSquare] = (byte) -1;
+        pieceAt[toSquare] = (byte) pieceIndex;
+        append(GameRecordFormat.encodeMove(pieceIndex, toSquare));
+    }
+    
+    @Override
+    public void onTurnSkipped(int moveNumber) {
+        append(GameRecordFormat.SKIPPED_TURN);
+    }
+    
+    @Override
+    public void onGameFinished(List<ChessPiece> pieces) {
+        header.putLong(GameRecordFormat.MOVE_COUNT_OFFSET, moveCount);
+    }
+    
+    private void append(short move) {
+        if (!region.hasRemaining()) {
+            regionStart += REGION_SIZE;
+            region = map(regionStart, REGION_SIZE);
+        }
+        region.putShort(move);
+        moveCount++;
+    }
+    
+    private MappedByteBuffer map(long position, long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Mapping the game record failed", e);
+        }
+    }
+    
+    /**
+     * Gets the number of moves written so far, including skipped turns.
+     * 
+     * @return the number of moves
+     */
+    public long getMoveCount() {
+        return moveCount;
+    }
+    
+    /**
+     * Stores the final move count, writes the mapped data to the file and trims the unused
+     * part of the last region.
+     * 
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (FileChannel file = channel) {
+            if (header != null) {
+                header.putLong(GameRecordFormat.MOVE_COUNT_OFFSET, moveCount);
+                header.force();
+                region.force();
+                file.truncate(movesStart + moveCount * GameRecordFormat.MOVE_BYTES);
+            }
+        }
+    }
+}
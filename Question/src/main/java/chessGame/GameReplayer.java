@@ -0,0 +1,134 @@
+package chessGame;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reconstructs the position of a recorded game after any number of moves.
+ * While it is created, the replayer makes one pass over the record and stores the square of
+ * every piece every {@code interval} moves in a checkpoint index. Seeking to a move then
+ * restores the nearest earlier checkpoint and applies at most {@code interval - 1} moves from
+ * the record, instead of replaying the game from the start.
+ */
+public class GameReplayer {
+    
+    /**
+     * The default number of moves between two checkpoints.
+     */
+    public static final int DEFAULT_INTERVAL = 1024;
+    
+    private final GameRecordReader reader;
+    private final int interval;
+    private final int pieceCount;
+    
+    // Piece squares at moves 0, interval, 2 * interval, ..., one byte per piece
+    private final byte[] checkpoints;
+    
+    private final List<ChessPiece> pieces;
+    private long currentMove;
+    
+    /**
+     * Creates a replayer with the default checkpoint interval.
+     * 
+     * @param reader the record to replay
+     */
+    public GameReplayer(GameRecordReader reader) {
+        this(reader, DEFAULT_INTERVAL);
+    }
+    
+    /**
+     * Creates a replayer and builds its checkpoint index.
+     * 
+     * @param reader the record to replay
+     * @param interval the number of moves between two checkpoints
+     */
+    public GameReplayer(GameRecordReader reader, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.reader = reader;
+        this.interval = interval;
+        this.pieceCount = reader.getPieceCount();
+        
+        long checkpointCount = reader.getMoveCount() / interval + 1;
+        if (checkpointCount * pieceCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Checkpoint interval too small for a record of this size");
+        }
+        this.checkpoints = new byte[(int) (checkpointCount * pieceCount)];
+        
+        // Build the index in a single pass over the moves
+        byte[] squares = new byte[pieceCount];
+        for (int i = 0; i < pieceCount; i++) {
+            squares[i] = (byte) reader.getInitialSquare(i);
+        }
+        for (long move = 0; move < reader.getMoveCount(); move++) {
+            if (move % interval == 0) {
+                System.arraycopy(squares, 0, checkpoints, (int) (move / interval) * pieceCount, pieceCount);
+            }
+            if (!reader.isSkipped(move)) {
+                squares[reader.getPieceIndex(move)] = (byte) reader.getTargetSquare(move);
+            }
+        }
+        if (reader.getMoveCount() % interval == 0) {
+            System.arraycopy(squares, 0, checkpoints, (int) (reader.getMoveCount() / interval) * pieceCount, pieceCount);
+        }
+        
+        this.pieces = reader.createInitialPieces();
+        this.currentMove = 0;
+    }
+    
+    /**
+     * Moves the pieces to their positions after the given number of moves.
+     * Seeking forward from the current move within the same checkpoint interval only applies
+     * the moves in between.
+     * 
+     * @param move the number of moves played, from 0 to the number of recorded moves
+     * @return the pieces of the game, in piece index order, at their positions after that move
+     */
+    public List<ChessPiece> seek(long move) {
+        if (move < 0 || move > reader.getMoveCount()) {
+            throw new IndexOutOfBoundsException("Move " + move + " out of bounds for " + reader.getMoveCount() + " moves");
+        }
+        
+        long checkpoint = move / interval;
+        if (move < currentMove || checkpoint > currentMove / interval) {
+            // Restore the nearest checkpoint
+            int offset = (int) checkpoint * pieceCount;
+            for (int i = 0; i < pieceCount; i++) {
+                pieces.get(i).setPosition(Bitboard.positionOf(checkpoints[offset + i]));
+            }
+            currentMove = checkpoint * interval;
+        }
+        
+        // Apply the remaining moves
+        for (; currentMove < move; currentMove++) {
+            if (!reader.isSkipped(currentMove)) {
+                pieces.get(reader.getPieceIndex(currentMove)).setPosition(
+                        Bitboard.positionOf(reader.getTargetSquare(currentMove)));
+            }
+        }
+        return Collections.unmodifiableList(pieces);
+    }
+    
+    /**
+     * Gets the number of moves played to reach the current position.
+     * 
+     * @return the current move
+     */
+    public long getCurrentMove() {
+        return currentMove;
+    }
+    
+    /**
+     * Gets the occupancy of the board at the current position.
+     * 
+     * @return the occupancy mask, see {@link Bitboard}
+     */
+    public long getOccupancy() {
+        long occupancy = Bitboard.EMPTY;
+        for (ChessPiece piece : pieces) {
+            occupancy |= 1L << Bitboard.squareOf(piece.getPosition());
+        }
+        return occupancy;
+    }
+}
@@ -0,0 +1,183 @@
+package chessGame;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local HTTP endpoint hosting many {@link GameSession game sessions} at once:
+ * <ul>
+ * <li>{@code POST /games[?seed=<seed>]} creates a session and returns its state,</li>
+ * <li>{@code POST /games/<id>/step[?moves=<count>]} plays moves, one by default,</li>
+ * <li>{@code GET /games/<id>} returns the state of a session,</li>
+ * <li>{@code DELETE /games/<id>} ends a session.</li>
+ * </ul>
+ * Every request is handled on its own virtual thread, and an idle session is only the heap
+ * state of its game, so tens of thousands of sessions cost little more than their memory.
+ */
+public class GameServer implements AutoCloseable {
+    
+    /**
+     * The most moves a single step request may play.
+     */
+    public static final int MAX_MOVES_PER_REQUEST = 1_000_000;
+    
+    private static final String GAMES = "/games";
+    
+    static {
+        // The server writes headers and body separately, which Nagle's algorithm holds back until
+        // the client's delayed ACK, about 40 ms per response; this must be set before the first server
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+    
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    
+    /**
+     * Creates a server listening on the loopback interface; call {@link #start()} to serve requests.
+     * 
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("game-request-", 0).factory());
+        server.setExecutor(executor);
+        server.createContext(GAMES, this::handle);
+    }
+    
+    /**
+     * Starts serving requests.
+     */
+    public void start() {
+        server.start();
+    }
+    
+    /**
+     * Gets the port the server listens on.
+     * 
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * Gets the number of open sessions.
+     * 
+     * @return the number of sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+    
+    /**
+     * Stops the server, without waiting for requests in progress.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String rest = exchange.getRequestURI().getPath().substring(GAMES.length());
+            String query = exchange.getRequestURI().getRawQuery();
+            try {
+                if (rest.isEmpty() || "/".equals(rest)) {
+                    // POST /games
+                    if (!"POST".equals(method)) {
+                        send(exchange, 405, error("Use POST to create a game"));
+                        return;
+                    }
+                    String seed = parameter(query, "seed");
+                    long id = nextId.getAndIncrement();
+                    GameSession session = new GameSession(id,
+                            seed != null ? Long.parseLong(seed) : ThreadLocalRandom.current().nextLong());
+                    sessions.put(id, session);
+                    send(exchange, 201, session.describe());
+                    return;
+                }
+                
+                // The rest of the path is /<id> or /<id>/step
+                String[] path = rest.split("/");
+                GameSession session = rest.startsWith("/") && path.length >= 2 && path.length <= 3
+                        ? sessions.get(Long.parseLong(path[1])) : null;
+                if (session == null) {
+                    send(exchange, 404, error("No such game"));
+                } else if (path.length == 3 && "step".equals(path[2])) {
+                    // POST /games/<id>/step
+                    if (!"POST".equals(method)) {
+                        send(exchange, 405, error("Use POST to step a game"));
+                        return;
+                    }
+                    String moves = parameter(query, "moves");
+                    int count = moves != null ? Integer.parseInt(moves) : 1;
+                    if (count < 0 || count > MAX_MOVES_PER_REQUEST) {
+                        send(exchange, 400, error("moves must be between 0 and " + MAX_MOVES_PER_REQUEST));
+                        return;
+                    }
+                    send(exchange, 200, session.step(count));
+                } else if (path.length == 2 && "GET".equals(method)) {
+                    send(exchange, 200, session.describe());
+                } else if (path.length == 2 && "DELETE".equals(method)) {
+                    sessions.remove(session.getId());
+                    send(exchange, 204, null);
+                } else {
+                    send(exchange, path.length == 2 ? 405 : 404, error("Unsupported request"));
+                }
+            } catch (NumberFormatException e) {
+                send(exchange, 400, error("Not a number: " + e.getMessage()));
+            }
+        }
+    }
+    
+    /**
+     * Gets a parameter of a query string.
+     */
+    private static String parameter(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return pair.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+    
+    private static String error(String message) {
+        return "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+    
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link ComplexGame} hosted by a {@link GameServer}, stepped by remote clients.
+ * Requests for the same session may arrive concurrently, so the game is guarded by a
+ * {@link ReentrantLock}; unlike {@code synchronized}, waiting on it never pins the virtual
+ * thread handling the request to its carrier thread. The lock is only held while moves are
+ * computed, never during network I/O.
+ */
+public class GameSession {
+    
+    private final long id;
+    private final ComplexGame game;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long moves;
+    private long skippedTurns;
+    
+    /**
+     * Creates a session with a game set up with the default pieces.
+     * 
+     * @param id the id of the session
+     * @param seed the seed of the game
+     */
+    public GameSession(long id, long seed) {
+        this.id = id;
+        this.game = new ComplexGame(seed);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+    }
+    
+    /**
+     * Gets the id of this session.
+     * 
+     * @return the session id
+     */
+    public long getId() {
+        return id;
+    }
+    
+    /**
+     * Plays a number of moves.
+     * 
+     * @param count the number of moves to play
+     * @return a JSON object with the moves played and skipped by this call and the totals of the session
+     */
+    public String step(int count) {
+        lock.lock();
+        try {
+            int skipped = 0;
+            for (int i = 0; i < count; i++) {
+                if (!game.step()) {
+                    skipped++;
+                }
+            }
+            moves += count - skipped;
+            skippedTurns += skipped;
+            return "{\"id\":" + id + ",\"played\":" + (count - skipped) + ",\"skipped\":" + skipped
+                    + ",\"moves\":" + moves + ",\"skippedTurns\":" + skippedTurns + "}";
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Describes the current state of the game.
+     * 
+     * @return a JSON object with the totals of the session and the type and position of every piece
+     */
+    public String describe() {
+        StringBuilder json = new StringBuilder();
+        lock.lock();
+        try {
+            json.append("{\"id\":").append(id).append(",\"moves\":").append(moves)
+                    .append(",\"skippedTurns\":").append(skippedTurns).append(",\"pieces\":[");
+            boolean first = true;
+            for (ChessPiece piece : game.getPieces()) {
+                Position pos = piece.getPosition();
+                json.append(first ? "" : ",").append("{\"type\":\"").append(piece.getType())
+                        .append("\",\"x\":").append(pos.x()).append(",\"y\":").append(pos.y()).append('}');
+                first = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return json.append("]}").toString();
+    }
+}
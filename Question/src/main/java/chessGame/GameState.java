@@ -0,0 +1,388 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An immutable snapshot of the pieces of a game, for exploring many continuations from the same
+ * position. Piece squares and, on boards other than 8 x 8, the occupied squares are held in
+ * {@link PersistentLongArray}s, so {@link #applyMove(int, int)} copies only the few small
+ * chunks a move touches and shares the rest with its parent. On the standard board the
+ * occupancy is a single bitboard. Every state carries the {@link Zobrist} hash of its position,
+ * updated in O(1) by each move, to recognize repeated positions, e.g. with a
+ * {@link TranspositionTable}.
+ * <p>
+ * Pieces keep the index they had when the state was created, see {@link ComplexGame#snapshot()}.
+ */
+public final class GameState {
+    
+    // How many random pieces step() tries before counting the movable pieces
+    private static final int RANDOM_TRIES = 8;
+    
+    private final BoardSize size;
+    
+    // Never modified, so shared by every state derived from the same snapshot
+    private final PieceType[] types;
+    
+    private final PersistentLongArray squares;
+    
+    // The bitboard of the standard board, unused otherwise
+    private final long mask;
+    
+    // One bit per square on boards other than 8 x 8, null on the standard board
+    private final PersistentLongArray occupied;
+    
+    private final long hash;
+    
+    private GameState(BoardSize size, PieceType[] types, PersistentLongArray squares, long mask,
+            PersistentLongArray occupied, long hash) {
+        this.size = size;
+        this.types = types;
+        this.squares = squares;
+        this.mask = mask;
+        this.occupied = occupied;
+        this.hash = hash;
+    }
+    
+    /**
+     * Creates a state from pieces on a board. The pieces themselves are not referenced.
+     * 
+     * @param size the size of the board
+     * @param pieces the pieces, at distinct positions within the board
+     * @return the state
+     * @throws IllegalArgumentException if two pieces share a position or one is outside the board
+     */
+    public static GameState of(BoardSize size, List<ChessPiece> pieces) {
+        PieceType[] types = new PieceType[pieces.size()];
+        long[] squares = new long[pieces.size()];
+        long mask = 0;
+        long hash = 0;
+        PersistentLongArray occupied = size.isStandard() ? null
+                : PersistentLongArray.zeros((int) ((size.squareCount() + 63L) >>> 6));
+        for (int i = 0; i < pieces.size(); i++) {
+            ChessPiece piece = pieces.get(i);
+            if (!size.contains(piece.getPosition())) {
+                throw new IllegalArgumentException("Position outside the board: " + piece.getPosition());
+            }
+            int square = size.squareOf(piece.getPosition());
+            boolean taken;
+            if (occupied == null) {
+                taken = (mask & (1L << square)) != 0;
+                mask |= 1L << square;
+            } else {
+                taken = isSet(occupied, square);
+                occupied = set(occupied, square, true);
+            }
+            if (taken) {
+                throw new IllegalArgumentException("Position already occupied: " + piece.getPosition());
+            }
+            types[i] = piece.getType();
+            squares[i] = square;
+            hash ^= Zobrist.key(types[i], square);
+        }
+        return new GameState(size, types, PersistentLongArray.of(squares), mask, occupied, hash);
+    }
+    
+    /**
+     * Gets a state to branch from. States are immutable, so the branch is this state itself and
+     * costs nothing; moves applied to either never affect the other.
+     * 
+     * @return this state
+     */
+    public GameState fork() {
+        return this;
+    }
+    
+    /**
+     * Gets the state after moving a piece. This state is left unchanged. Only the target square
+     * is checked, not the move pattern of the piece; use {@link #generateMoves(int, MoveBuffer)}
+     * for the valid targets.
+     * 
+     * @param pieceIndex the index of the piece to move
+     * @param to the square index of the target
+     * @return the new state
+     * @throws IndexOutOfBoundsException if there is no piece with that index
+     * @throws IllegalArgumentException if the target is outside the board or occupied
+     */
+    public GameState applyMove(int pieceIndex, int to) {
+        int from = getSquare(pieceIndex);
+        if (to < 0 || to >= size.squareCount()) {
+            throw new IllegalArgumentException("Square outside the board: " + to);
+        }
+        if (isOccupied(to)) {
+            throw new IllegalArgumentException("Square already occupied: " + to);
+        }
+        PersistentLongArray newSquares = squares.with(pieceIndex, to);
+        long newHash = hash ^ Zobrist.move(types[pieceIndex], from, to);
+        if (occupied == null) {
+            return new GameState(size, types, newSquares, mask & ~(1L << from) | 1L << to, null, newHash);
+        }
+        return new GameState(size, types, newSquares, 0, set(set(occupied, from, false), to, true), newHash);
+    }
+    
+    /**
+     * Gets the state after a random move, chosen like {@link ComplexGame} does with the
+     * {@link UniformPieceSelector}: a piece uniformly among those with valid moves, then one of
+     * its valid moves uniformly.
+     * 
+     * @param random the random source
+     * @param moves a buffer for move generation
+     * @return the new state, or this state if no piece can move
+     */
+    public GameState step(Random random, MoveBuffer moves) {
+        int pieceCount = types.length;
+        if (pieceCount == 0) {
+            return this;
+        }
+        
+        // Picking random pieces until one can move is uniform over the movable pieces
+        for (int i = 0; i < RANDOM_TRIES; i++) {
+            int pieceIndex = random.nextInt(pieceCount);
+            int to = randomTarget(pieceIndex, random, moves);
+            if (to >= 0) {
+                return applyMove(pieceIndex, to);
+            }
+        }
+        
+        // Mostly blocked boards: count the movable pieces and pick the n-th one
+        int movable = 0;
+        for (int i = 0; i < pieceCount; i++) {
+            if (generateMoves(i, moves) > 0) {
+                movable++;
+            }
+        }
+        if (movable == 0) {
+            return this;
+        }
+        int n = random.nextInt(movable);
+        for (int i = 0; i < pieceCount; i++) {
+            int count = generateMoves(i, moves);
+            if (count > 0 && n-- == 0) {
+                return applyMove(i, moves.get(random.nextInt(count)));
+            }
+        }
+        throw new IllegalStateException("Movable pieces changed while counting");
+    }
+    
+    /**
+     * Writes the valid moves of a piece into a buffer. The buffer is cleared first.
+     * 
+     * @param pieceIndex the index of the piece
+     * @param moves the buffer receiving the target squares
+     * @return the number of valid moves written
+     * @throws IndexOutOfBoundsException if there is no piece with that index
+     */
+    public int generateMoves(int pieceIndex, MoveBuffer moves) {
+        int square = getSquare(pieceIndex);
+        if (occupied == null) {
+            moves.clear();
+            long targets = types[pieceIndex].attacks(square) & ~mask;
+            while (targets != 0) {
+                moves.add(Long.numberOfTrailingZeros(targets));
+                targets &= targets - 1;
+            }
+            return moves.size();
+        }
+        return types[pieceIndex].generateMoves(size, square, new OccupancyView(occupied, types.length), moves);
+    }
+    
+    /**
+     * Chooses a random valid move of a piece. On boards other than 8 x 8 this draws squares of
+     * the move pattern until an empty one comes up, which is still uniform over the valid moves
+     * and, on sparse boards, avoids walking the whole rays of sliders.
+     * 
+     * @return the target square, or -1 if the piece cannot move
+     */
+    private int randomTarget(int pieceIndex, Random random, MoveBuffer moves) {
+        int square = getSquare(pieceIndex);
+        if (occupied != null) {
+            PieceType type = types[pieceIndex];
+            int x = size.xOf(square);
+            int y = size.yOf(square);
+            int total = 0;
+            for (int[] direction : type.directions()) {
+                total += rayLength(type, x, y, direction);
+            }
+            for (int i = 0; i < RANDOM_TRIES && total > 0; i++) {
+                // Find the n-th square of the pattern, direction by direction
+                int n = random.nextInt(total);
+                for (int[] direction : type.directions()) {
+                    int length = rayLength(type, x, y, direction);
+                    if (n < length) {
+                        int target = size.squareOf(x + (n + 1) * direction[0], y + (n + 1) * direction[1]);
+                        if (!isSet(occupied, target)) {
+                            return target;
+                        }
+                        break;
+                    }
+                    n -= length;
+                }
+            }
+        }
+        
+        // Mostly blocked pieces, and the standard board where the bitboard gives all moves at once
+        int count = generateMoves(pieceIndex, moves);
+        return count == 0 ? -1 : moves.get(random.nextInt(count));
+    }
+    
+    /**
+     * Gets the number of squares of the board in one direction of a piece, ignoring occupancy.
+     */
+    private int rayLength(PieceType type, int x, int y, int[] direction) {
+        int dx = direction[0];
+        int dy = direction[1];
+        if (!type.isSliding()) {
+            return size.contains(x + dx, y + dy) ? 1 : 0;
+        }
+        int limitX = dx > 0 ? size.size() - x : dx < 0 ? x - 1 : Integer.MAX_VALUE;
+        int limitY = dy > 0 ? size.size() - y : dy < 0 ? y - 1 : Integer.MAX_VALUE;
+        return Math.min(limitX, limitY);
+    }
+    
+    /**
+     * Checks whether a square is occupied.
+     * 
+     * @param square the square index
+     * @return true if a piece is on the square
+     */
+    public boolean isOccupied(int square) {
+        return occupied == null ? (mask & (1L << square)) != 0 : isSet(occupied, square);
+    }
+    
+    /**
+     * Gets the Zobrist hash of the position, the same as that of a {@link Board} holding the
+     * same pieces.
+     * 
+     * @return the XOR of the {@link Zobrist#key(PieceType, int) keys} of all pieces
+     */
+    public long getHash() {
+        return hash;
+    }
+    
+    /**
+     * Gets the total number of valid moves of all pieces.
+     * 
+     * @param moves a buffer for move generation
+     * @return the sum of the mobility of every piece
+     */
+    public int getTotalMobility(MoveBuffer moves) {
+        int total = 0;
+        for (int i = 0; i < types.length; i++) {
+            total += generateMoves(i, moves);
+        }
+        return total;
+    }
+    
+    /**
+     * Gets the size of the board.
+     * 
+     * @return the board size
+     */
+    public BoardSize getBoardSize() {
+        return size;
+    }
+    
+    /**
+     * Gets the number of pieces.
+     * 
+     * @return the number of pieces
+     */
+    public int getPieceCount() {
+        return types.length;
+    }
+    
+    /**
+     * Gets the type of a piece.
+     * 
+     * @param pieceIndex the index of the piece
+     * @return the piece type
+     */
+    public PieceType getType(int pieceIndex) {
+        return types[pieceIndex];
+    }
+    
+    /**
+     * Gets the square of a piece.
+     * 
+     * @param pieceIndex the index of the piece
+     * @return the square index, see {@link BoardSize}
+     */
+    public int getSquare(int pieceIndex) {
+        return (int) squares.get(pieceIndex);
+    }
+    
+    /**
+     * Gets the position of a piece.
+     * 
+     * @param pieceIndex the index of the piece
+     * @return the position
+     */
+    public Position getPosition(int pieceIndex) {
+        return size.positionOf(getSquare(pieceIndex));
+    }
+    
+    /**
+     * Creates new pieces at the positions of this state, e.g. to set up a {@link ComplexGame}.
+     * 
+     * @return the pieces, in piece index order
+     */
+    public List<ChessPiece> toPieces() {
+        List<ChessPiece> pieces = new ArrayList<>(types.length);
+        for (int i = 0; i < types.length; i++) {
+            pieces.add(types[i].newPiece(getPosition(i)));
+        }
+        return pieces;
+    }
+    
+    private static boolean isSet(PersistentLongArray words, int square) {
+        return (words.get(square >>> 6) & (1L << square)) != 0;
+    }
+    
+    private static PersistentLongArray set(PersistentLongArray words, int square, boolean value) {
+        long word = words.get(square >>> 6);
+        return words.with(square >>> 6, value ? word | 1L << square : word & ~(1L << square));
+    }
+    
+    /**
+     * Read-only view of the occupied squares for move generation on boards other than 8 x 8.
+     */
+    private static final class OccupancyView implements Occupancy {
+        
+        private final PersistentLongArray words;
+        private final int size;
+        
+        OccupancyView(PersistentLongArray words, int size) {
+            this.words = words;
+            this.size = size;
+        }
+        
+        @Override
+        public boolean contains(int square) {
+            return isSet(words, square);
+        }
+        
+        @Override
+        public void add(int square) {
+            throw new UnsupportedOperationException("Game states are immutable");
+        }
+        
+        @Override
+        public void remove(int square) {
+            throw new UnsupportedOperationException("Game states are immutable");
+        }
+        
+        @Override
+        public int size() {
+            // Every piece occupies one square
+            return size;
+        }
+        
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("Game states are immutable");
+        }
+    }
+}
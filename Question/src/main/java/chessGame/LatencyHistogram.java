@@ -0,0 +1,146 @@
+package chessGame;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds with log-linear buckets, in the style of HdrHistogram:
+ * values below 32 have a bucket each, and every power of two above is split into 16 buckets,
+ * so any value is reported within about 6% with a fixed table of 960 counters.
+ * Recording a value is a couple of atomic increments and never allocates, and may be done
+ * from several threads at once.
+ */
+public class LatencyHistogram implements LatencyHistogramMXBean {
+    
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    
+    /**
+     * The number of buckets, enough for any non-negative long.
+     */
+    static final int BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS + SUB_BUCKETS;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+    
+    /**
+     * Gets the bucket of a value.
+     * 
+     * @param value a non-negative value
+     * @return the bucket index
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Keep the top five bits of the value: the shift picks the power of two, the rest the sub-bucket
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+    
+    /**
+     * Gets the smallest value of a bucket.
+     * 
+     * @param bucket the bucket index
+     * @return the smallest value falling into that bucket
+     */
+    static long lowestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / HALF_SUB_BUCKETS - 1;
+        return (long) (bucket - shift * HALF_SUB_BUCKETS) << shift;
+    }
+    
+    /**
+     * Records a value.
+     * 
+     * @param nanos the value in nanoseconds; negative values, from clock adjustments, count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+    
+    /**
+     * Gets the value below which a given share of the recorded values fall.
+     * 
+     * @param percentile the share in percent, from 0 to 100
+     * @return the highest value of the bucket holding that percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                long highest = bucket + 1 < BUCKETS ? lowestValueOf(bucket + 1) - 1 : Long.MAX_VALUE;
+                return Math.min(highest, max.get());
+            }
+        }
+        return max.get();
+    }
+    
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+    
+    @Override
+    public double getMeanNanos() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+    
+    @Override
+    public long getMedianNanos() {
+        return getValueAtPercentile(50);
+    }
+    
+    @Override
+    public long getP99Nanos() {
+        return getValueAtPercentile(99);
+    }
+    
+    @Override
+    public long getP999Nanos() {
+        return getValueAtPercentile(99.9);
+    }
+    
+    @Override
+    public long getMaxNanos() {
+        return max.get();
+    }
+    
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.0fns p50=%dns p99=%dns p99.9=%dns max=%dns", getCount(),
+                getMeanNanos(), getMedianNanos(), getP99Nanos(), getP999Nanos(), getMaxNanos());
+    }
+}
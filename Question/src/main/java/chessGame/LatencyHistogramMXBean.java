@@ -0,0 +1,49 @@
+package chessGame;
+
+/**
+ * Management interface of a {@link LatencyHistogram}, as exposed over JMX.
+ */
+public interface LatencyHistogramMXBean {
+    
+    /**
+     * Gets the number of recorded values.
+     * 
+     * @return the number of recorded values
+     */
+    long getCount();
+    
+    /**
+     * Gets the mean of the recorded values.
+     * 
+     * @return the mean in nanoseconds
+     */
+    double getMeanNanos();
+    
+    /**
+     * Gets the median of the recorded values.
+     * 
+     * @return the median in nanoseconds, within the precision of the histogram
+     */
+    long getMedianNanos();
+    
+    /**
+     * Gets the 99th percentile of the recorded values.
+     * 
+     * @return the 99th percentile in nanoseconds, within the precision of the histogram
+     */
+    long getP99Nanos();
+    
+    /**
+     * Gets the 99.9th percentile of the recorded values.
+     * 
+     * @return the 99.9th percentile in nanoseconds, within the precision of the histogram
+     */
+    long getP999Nanos();
+    
+    /**
+     * Gets the largest recorded value.
+     * 
+     * @return the maximum in nanoseconds
+     */
+    long getMaxNanos();
+}
@@ -0,0 +1,62 @@
+package chessGame;
+
+/**
+ * The data-parallel steps of {@link LockstepSimulator}, applied to whole arrays of boards at once.
+ * Implementations must give bit-identical results, so that simulations do not depend on whether
+ * the vector implementation is available.
+ */
+interface LockstepKernel {
+    
+    // Increment of the SplitMix64 sequence, the same as used by SplittableRandom
+    long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    
+    /**
+     * Masks the attacks of one piece of every board with the occupancy of its board, and counts
+     * the boards where the piece can move.
+     * 
+     * @param attacks the attacks of the piece on each board
+     * @param occupancy the occupancy of each board
+     * @param masks receives the valid move masks, from {@code masksOffset} on
+     * @param masksOffset the index of the first board in {@code masks}
+     * @param movable the number of movable pieces of each board, incremented where the piece can move
+     * @param boards the number of boards
+     */
+    void mobility(long[] attacks, long[] occupancy, long[] masks, int masksOffset, long[] movable, int boards);
+    
+    /**
+     * Advances the SplitMix64 generator of every board and writes its next output.
+     * 
+     * @param states the generator state of each board
+     * @param randoms receives the next random number of each board
+     * @param boards the number of boards
+     */
+    void nextRandom(long[] states, long[] randoms, int boards);
+    
+    /**
+     * The plain Java implementation, used when the Vector API is not available.
+     */
+    final class Scalar implements LockstepKernel {
+        
+        @Override
+        public void mobility(long[] attacks, long[] occupancy, long[] masks, int masksOffset, long[] movable,
+                int boards) {
+            for (int i = 0; i < boards; i++) {
+                long mask = attacks[i] & ~occupancy[i];
+                masks[masksOffset + i] = mask;
+                if (mask != 0) {
+                    movable[i]++;
+                }
+            }
+        }
+        
+        @Override
+        public void nextRandom(long[] states, long[] randoms, int boards) {
+            for (int i = 0; i < boards; i++) {
+                long z = states[i] += GOLDEN_GAMMA;
+                z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+                z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+                randoms[i] = z ^ (z >>> 31);
+            }
+        }
+    }
+}
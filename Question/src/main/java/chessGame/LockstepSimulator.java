@@ -0,0 +1,191 @@
+package chessGame;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plays many games of the same starting position in lockstep, as a faster alternative to
+ * {@link BatchSimulator} for large sweeps with the default uniform piece selection. Games are
+ * played in blocks, held as a structure of arrays rather than objects: one occupancy bitboard
+ * per game, and the squares of each piece as bytes, laid out piece by piece so that the same
+ * piece of consecutive games is contiguous. Each turn masks the attacks of every piece of every
+ * game with its occupancy and draws the random numbers of all games through a
+ * {@link LockstepKernel}, which uses the Vector API when the {@code jdk.incubator.vector}
+ * module is present and plain loops otherwise; choosing and playing the move is scalar.
+ * <p>
+ * As in {@link ComplexGame} with the {@link UniformPieceSelector}, a piece is chosen uniformly
+ * among those with valid moves, then one of its valid moves uniformly. The random numbers come
+ * from a SplitMix64 stream per game, seeded as in {@link BatchSimulator#gameSeed(long, long)};
+ * the games themselves differ from those of BatchSimulator, which draws its numbers differently,
+ * but follow the same distribution. Results do not depend on whether the Vector API is used.
+ */
+public class LockstepSimulator {
+    
+    // Games played together; the working set of a block stays within the L1 and L2 caches
+    private static final int BLOCK_SIZE = 256;
+    
+    private static final long LOW_BITS = 0xFFFFFFFFL;
+    
+    private final PieceType[] types;
+    private final byte[] initialSquares;
+    private final long initialOccupancy;
+    private final int movesPerGame;
+    private final long masterSeed;
+    private final LockstepKernel kernel;
+    
+    /**
+     * Creates a simulator using the Vector API if it is available.
+     * 
+     * @param pieces the pieces every game starts with, on the standard board
+     * @param movesPerGame the number of moves played in every game
+     * @param masterSeed the seed all game seeds are derived from
+     * @throws IllegalArgumentException if two pieces share a position
+     */
+    public LockstepSimulator(List<ChessPiece> pieces, int movesPerGame, long masterSeed) {
+        this(pieces, movesPerGame, masterSeed, isVectorAvailable());
+    }
+    
+    /**
+     * Creates a simulator.
+     * 
+     * @param pieces the pieces every game starts with, on the standard board
+     * @param movesPerGame the number of moves played in every game
+     * @param masterSeed the seed all game seeds are derived from
+     * @param vectorized whether to use the Vector API rather than the scalar fallback
+     * @throws IllegalArgumentException if two pieces share a position
+     * @throws UnsupportedOperationException if the Vector API is requested but not available
+     */
+    public LockstepSimulator(List<ChessPiece> pieces, int movesPerGame, long masterSeed, boolean vectorized) {
+        if (vectorized && !isVectorAvailable()) {
+            throw new UnsupportedOperationException("The jdk.incubator.vector module is not available");
+        }
+        this.types = new PieceType[pieces.size()];
+        this.initialSquares = new byte[pieces.size()];
+        long occupancy = Bitboard.EMPTY;
+        for (int i = 0; i < pieces.size(); i++) {
+            long bit = Bitboard.bitOf(pieces.get(i).getPosition());
+            if ((occupancy & bit) != Bitboard.EMPTY) {
+                throw new IllegalArgumentException("Position already occupied: " + pieces.get(i).getPosition());
+            }
+            occupancy |= bit;
+            types[i] = pieces.get(i).getType();
+            initialSquares[i] = (byte) Bitboard.squareOf(pieces.get(i).getPosition());
+        }
+        this.initialOccupancy = occupancy;
+        this.movesPerGame = movesPerGame;
+        this.masterSeed = masterSeed;
+        this.kernel = vectorized ? new VectorLockstepKernel() : new LockstepKernel.Scalar();
+    }
+    
+    /**
+     * Checks whether the Vector API can be used, i.e. whether the JVM was started with
+     * {@code --add-modules jdk.incubator.vector}.
+     * 
+     * @return true if the vector module is present
+     */
+    public static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+    
+    /**
+     * Plays a number of games on the calling thread and aggregates their statistics.
+     * 
+     * @param games the number of games to play
+     * @return the statistics over all games
+     */
+    public BatchStatistics run(long games) {
+        Block block = new Block();
+        BatchStatistics statistics = new BatchStatistics();
+        for (long first = 0; first < games; first += BLOCK_SIZE) {
+            int count = (int) Math.min(BLOCK_SIZE, games - first);
+            block.play(first, count);
+            block.report(count, statistics);
+        }
+        return statistics;
+    }
+    
+    /**
+     * The state of a block of games, reused from one block to the next.
+     */
+    private class Block {
+        
+        private final int pieceCount = types.length;
+        private final long[] occupancy = new long[BLOCK_SIZE];
+        // squares[piece * BLOCK_SIZE + game]
+        private final byte[] squares = new byte[pieceCount * BLOCK_SIZE];
+        private final long[] states = new long[BLOCK_SIZE];
+        
+        // Scratch arrays of a turn
+        private final long[] attacks = new long[BLOCK_SIZE];
+        private final long[] masks = new long[pieceCount * BLOCK_SIZE];
+        private final long[] movable = new long[BLOCK_SIZE];
+        private final long[] randoms = new long[BLOCK_SIZE];
+        
+        private long moves;
+        private long skippedTurns;
+        private long validMoves;
+        
+        void play(long firstGame, int count) {
+            Arrays.fill(occupancy, 0, count, initialOccupancy);
+            for (int piece = 0; piece < pieceCount; piece++) {
+                Arrays.fill(squares, piece * BLOCK_SIZE, piece * BLOCK_SIZE + count, initialSquares[piece]);
+            }
+            for (int game = 0; game < count; game++) {
+                states[game] = BatchSimulator.gameSeed(masterSeed, firstGame + game);
+            }
+            moves = 0;
+            skippedTurns = 0;
+            validMoves = 0;
+            
+            for (int turn = 0; turn < movesPerGame; turn++) {
+                Arrays.fill(movable, 0, count, 0);
+                for (int piece = 0; piece < pieceCount; piece++) {
+                    int offset = piece * BLOCK_SIZE;
+                    PieceType type = types[piece];
+                    for (int game = 0; game < count; game++) {
+                        attacks[game] = type.attacks(squares[offset + game]);
+                    }
+                    kernel.mobility(attacks, occupancy, masks, offset, movable, count);
+                }
+                kernel.nextRandom(states, randoms, count);
+                for (int game = 0; game < count; game++) {
+                    playMove(game);
+                }
+            }
+        }
+        
+        private void playMove(int game) {
+            int movableCount = (int) movable[game];
+            if (movableCount == 0) {
+                skippedTurns++;
+                return;
+            }
+            
+            // The high half of the random number picks the piece, the low half its move
+            long random = randoms[game];
+            int n = (int) (((random >>> 32) * movableCount) >>> 32);
+            int index = game;
+            while (masks[index] == Bitboard.EMPTY || n-- != 0) {
+                index += BLOCK_SIZE;
+            }
+            long mask = masks[index];
+            int validMoveCount = Long.bitCount(mask);
+            int to = Bitboard.nthSetBit(mask, (int) (((random & LOW_BITS) * validMoveCount) >>> 32));
+            int from = squares[index];
+            squares[index] = (byte) to;
+            occupancy[game] ^= (1L << from) | (1L << to);
+            moves++;
+            validMoves += validMoveCount;
+        }
+        
+        void report(int count, BatchStatistics statistics) {
+            long[] finalSquareCounts = new long[AttackTables.SQUARES];
+            for (int piece = 0; piece < pieceCount; piece++) {
+                for (int game = 0; game < count; game++) {
+                    finalSquareCounts[squares[piece * BLOCK_SIZE + game]]++;
+                }
+            }
+            statistics.add(count, moves, skippedTurns, validMoves, finalSquareCounts);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package chessGame;
+
+/**
+ * Occupancy of a board of at most 64 squares, held in a single {@code long}.
+ * On the standard board the mask is the bitboard used by move generation.
+ */
+public class LongOccupancy implements Occupancy {
+    
+    private long mask;
+    
+    @Override
+    public boolean contains(int square) {
+        return (mask & (1L << square)) != 0;
+    }
+    
+    @Override
+    public void add(int square) {
+        mask |= 1L << square;
+    }
+    
+    @Override
+    public void remove(int square) {
+        mask &= ~(1L << square);
+    }
+    
+    @Override
+    public int size() {
+        return Long.bitCount(mask);
+    }
+    
+    @Override
+    public void clear() {
+        mask = 0;
+    }
+    
+    /**
+     * Gets the mask of occupied squares.
+     * 
+     * @return the mask with one bit per occupied square
+     */
+    public long mask() {
+        return mask;
+    }
+}
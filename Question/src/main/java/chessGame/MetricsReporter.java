@@ -0,0 +1,59 @@
+package chessGame;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically prints a {@link GameMetrics#snapshot()} to a stream, from a daemon thread.
+ */
+public class MetricsReporter implements AutoCloseable {
+    
+    private final GameMetrics metrics;
+    private final PrintStream out;
+    private final ScheduledExecutorService scheduler;
+    
+    /**
+     * Creates a reporter; call {@link #start} to begin reporting.
+     * 
+     * @param metrics the metrics to report
+     * @param out the stream receiving the snapshots
+     */
+    public MetricsReporter(GameMetrics metrics, PrintStream out) {
+        this.metrics = metrics;
+        this.out = out;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Starts printing a snapshot at a fixed rate.
+     * 
+     * @param period the time between snapshots
+     * @param unit the unit of the period
+     */
+    public void start(long period, TimeUnit unit) {
+        scheduler.scheduleAtFixedRate(this::report, period, period, unit);
+    }
+    
+    /**
+     * Prints a snapshot now.
+     */
+    public void report() {
+        out.print(metrics.snapshot());
+        out.flush();
+    }
+    
+    /**
+     * Stops reporting and prints a final snapshot.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        report();
+    }
+}
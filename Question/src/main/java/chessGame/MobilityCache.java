@@ -0,0 +1,218 @@
+package chessGame;
+
+import chessLib.KnightMove;
+import chessLib.Position;
+
+import java.util.List;
+
+/**
+ * Cached number of valid moves ("mobility") of every piece in a game, by piece index.
+ * Since pieces jump over occupied squares, a move from one square to another only changes
+ * the mobility of the pieces that can reach either square, so the cache is updated after each
+ * move with one pass of bit tests instead of regenerating every piece's moves.
+ * On boards other than 8 x 8, where there are no attack masks, the pieces that can reach either
+ * square are found through the {@link SpatialIndex} of the board.
+ */
+public class MobilityCache {
+    
+    private ChessPiece[] pieces;
+    private long[] attacks;
+    private int[] mobility;
+    
+    // Piece types and coordinates by id, used on boards other than 8x8
+    private PieceType[] types;
+    private int[] xs;
+    private int[] ys;
+    private int total;
+    private int movableCount;
+    
+    /**
+     * Creates an empty cache.
+     */
+    public MobilityCache() {
+        this.pieces = new ChessPiece[0];
+        this.attacks = new long[0];
+        this.mobility = new int[0];
+    }
+    
+    /**
+     * Rebuilds the cache for a set of pieces.
+     * 
+     * @param pieces the pieces of the game, in piece index order
+     * @param occupied the occupancy mask of the board
+     */
+    public void reset(List<ChessPiece> pieces, long occupied) {
+        int count = pieces.size();
+        this.pieces = pieces.toArray(new ChessPiece[count]);
+        this.attacks = new long[count];
+        this.mobility = new int[count];
+        this.total = 0;
+        this.movableCount = 0;
+        for (int i = 0; i < count; i++) {
+            attacks[i] = this.pieces[i].getValidMoveMask(Bitboard.EMPTY);
+            mobility[i] = Long.bitCount(attacks[i] & ~occupied);
+            total += mobility[i];
+            if (mobility[i] > 0) {
+                movableCount++;
+            }
+        }
+    }
+    
+    /**
+     * Rebuilds the cache for the pieces of a spatial index, by piece id.
+     * 
+     * @param index the index of a board other than 8 x 8
+     */
+    public void reset(SpatialIndex index) {
+        int count = index.getPieceCount();
+        BoardSize size = index.getSize();
+        this.pieces = new ChessPiece[count];
+        this.attacks = new long[0];
+        this.mobility = new int[count];
+        this.types = new PieceType[count];
+        this.xs = new int[count];
+        this.ys = new int[count];
+        this.total = 0;
+        this.movableCount = 0;
+        for (int i = 0; i < count; i++) {
+            ChessPiece piece = index.getPiece(i);
+            Position pos = piece.getPosition();
+            pieces[i] = piece;
+            types[i] = piece.getType();
+            xs[i] = pos.x();
+            ys[i] = pos.y();
+            mobility[i] = index.countMoves(types[i], size.squareOf(pos));
+            total += mobility[i];
+            if (mobility[i] > 0) {
+                movableCount++;
+            }
+        }
+    }
+    
+    /**
+     * Updates the cache after a piece has moved.
+     * 
+     * @param pieceIndex the index of the moved piece
+     * @param from the square the piece moved from
+     * @param to the square the piece moved to
+     * @param occupied the occupancy mask of the board after the move
+     */
+    public void update(int pieceIndex, int from, int to, long occupied) {
+        long fromBit = 1L << from;
+        long toBit = 1L << to;
+        for (int i = 0; i < pieces.length; i++) {
+            if (i == pieceIndex) {
+                continue;
+            }
+            // The vacated square becomes a target, the taken square stops being one
+            int delta = ((attacks[i] & fromBit) != Bitboard.EMPTY ? 1 : 0)
+                    - ((attacks[i] & toBit) != Bitboard.EMPTY ? 1 : 0);
+            if (delta != 0) {
+                set(i, mobility[i] + delta);
+            }
+        }
+        
+        // The moved piece has a new pattern altogether
+        attacks[pieceIndex] = pieces[pieceIndex].getValidMoveMask(Bitboard.EMPTY);
+        set(pieceIndex, Long.bitCount(attacks[pieceIndex] & ~occupied));
+    }
+    
+    /**
+     * Updates the cache after a piece has moved on a board other than 8 x 8.
+     * Only the pieces on a line through, or a knight's jump away from, either square can be
+     * affected, so those are found through the index instead of testing every piece.
+     * 
+     * @param pieceIndex the id of the moved piece
+     * @param from the square the piece moved from
+     * @param to the square the piece moved to
+     * @param index the index of the board after the move
+     */
+    public void update(int pieceIndex, int from, int to, SpatialIndex index) {
+        // The vacated square becomes a target, the taken square stops being one
+        updateAround(from, 1, pieceIndex, index);
+        updateAround(to, -1, pieceIndex, index);
+        
+        // The moved piece has a new pattern altogether
+        BoardSize size = index.getSize();
+        xs[pieceIndex] = size.xOf(to);
+        ys[pieceIndex] = size.yOf(to);
+        set(pieceIndex, index.countMoves(types[pieceIndex], to));
+    }
+    
+    private void updateAround(int square, int delta, int movedIndex, SpatialIndex index) {
+        BoardSize size = index.getSize();
+        int x = size.xOf(square);
+        int y = size.yOf(square);
+        for (int[] direction : AttackTables.QUEEN_DIRECTIONS) {
+            int other = index.nearestOccupied(square, direction[0], direction[1]);
+            while (other >= 0) {
+                updateIfReaching(index.getPieceIdAt(other), x, y, delta, movedIndex);
+                other = index.nearestOccupied(other, direction[0], direction[1]);
+            }
+        }
+        for (int[] jump : KnightMove.MOVES) {
+            int newX = x + jump[0];
+            int newY = y + jump[1];
+            if (size.contains(newX, newY)) {
+                int other = index.getPieceIdAt(size.squareOf(newX, newY));
+                if (other >= 0) {
+                    updateIfReaching(other, x, y, delta, movedIndex);
+                }
+            }
+        }
+    }
+    
+    private void updateIfReaching(int pieceIndex, int x, int y, int delta, int movedIndex) {
+        if (pieceIndex != movedIndex && types[pieceIndex].reaches(x - xs[pieceIndex], y - ys[pieceIndex])) {
+            set(pieceIndex, mobility[pieceIndex] + delta);
+        }
+    }
+    
+    private void set(int pieceIndex, int value) {
+        int old = mobility[pieceIndex];
+        total += value - old;
+        if (old == 0 && value > 0) {
+            movableCount++;
+        } else if (old > 0 && value == 0) {
+            movableCount--;
+        }
+        mobility[pieceIndex] = value;
+    }
+    
+    /**
+     * Gets the number of valid moves of a piece.
+     * 
+     * @param pieceIndex the index of the piece
+     * @return the number of valid moves
+     */
+    public int getMobility(int pieceIndex) {
+        return mobility[pieceIndex];
+    }
+    
+    /**
+     * Gets the number of pieces in the cache.
+     * 
+     * @return the number of pieces
+     */
+    public int getPieceCount() {
+        return pieces.length;
+    }
+    
+    /**
+     * Gets the number of valid moves of all pieces together.
+     * 
+     * @return the total number of valid moves
+     */
+    public int getTotalMobility() {
+        return total;
+    }
+    
+    /**
+     * Gets the number of pieces with at least one valid move.
+     * 
+     * @return the number of movable pieces
+     */
+    public int getMovableCount() {
+        return movableCount;
+    }
+}
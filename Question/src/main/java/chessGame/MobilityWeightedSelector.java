@@ -0,0 +1,29 @@
+package chessGame;
+
+import java.util.Random;
+
+/**
+ * Selects a piece with probability proportional to its number of valid moves.
+ * Combined with the uniform choice of the target, this samples uniformly over all valid moves
+ * of all pieces.
+ */
+public class MobilityWeightedSelector implements PieceSelector {
+    
+    @Override
+    public int select(MobilityCache mobility, Random random) {
+        int total = mobility.getTotalMobility();
+        if (total == 0) {
+            return -1;
+        }
+        
+        // Find the piece owning the n-th valid move
+        int n = random.nextInt(total);
+        for (int i = 0; i < mobility.getPieceCount(); i++) {
+            n -= mobility.getMobility(i);
+            if (n < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Mobility cache is inconsistent");
+    }
+}
@@ -0,0 +1,72 @@
+package chessGame;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of move targets, stored as square indices (see {@link Bitboard}).
+ * Move generation writes into a buffer owned by the caller, so that generating and picking
+ * moves in a loop does not allocate.
+ */
+public class MoveBuffer {
+    
+    private int[] targets;
+    private int size;
+    
+    /**
+     * Creates a buffer large enough for the moves of any single piece.
+     */
+    public MoveBuffer() {
+        this(AttackTables.SQUARES);
+    }
+    
+    /**
+     * Creates a buffer with the given initial capacity.
+     * 
+     * @param capacity the number of targets the buffer can hold before growing
+     */
+    public MoveBuffer(int capacity) {
+        this.targets = new int[capacity];
+        this.size = 0;
+    }
+    
+    /**
+     * Appends a target square to the buffer.
+     * 
+     * @param square the square index of the target
+     */
+    public void add(int square) {
+        if (size == targets.length) {
+            targets = Arrays.copyOf(targets, Math.max(1, size * 2));
+        }
+        targets[size++] = square;
+    }
+    
+    /**
+     * Gets a target square from the buffer.
+     * 
+     * @param index the index of the target, less than {@link #size()}
+     * @return the square index of the target
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return targets[index];
+    }
+    
+    /**
+     * Gets the number of targets in the buffer.
+     * 
+     * @return the number of targets
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Empties the buffer, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,174 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A bounded cache of the valid move lists of pieces on the standard board, keyed by piece type,
+ * square and the occupied squares within reach of the piece. Other occupied squares cannot
+ * change the moves, so positions that only differ elsewhere share their lists.
+ * <p>
+ * Keys are held in primitive arrays, in sets of four entries chosen by a hash of the key. Each
+ * entry has a reference bit, set on every hit; a full set evicts with the clock algorithm,
+ * sweeping its hand past referenced entries and clearing their bits until it finds one that was
+ * not used since the last sweep. Cached lists are immutable and returned as is, so hits do not
+ * allocate. Pieces whose targets are all empty are answered from the {@link AttackTables} lists
+ * without touching the cache.
+ * <p>
+ * Caches are not thread-safe; share one between the pieces of a single game.
+ */
+public class MoveListCache {
+    
+    private static final int WAYS = 4;
+    
+    // The occupied squares within reach, for each entry
+    private final long[] masks;
+    // type << 6 | square, plus one, or 0 for an empty entry
+    private final int[] tags;
+    private final boolean[] referenced;
+    private final Object[] lists;
+    // The clock hand of each set, as an entry offset within the set
+    private final byte[] hands;
+    private final int setMask;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    /**
+     * Creates an empty cache.
+     * 
+     * @param capacity the number of move lists to hold, rounded up to a power of two of at least 4
+     * @throws IllegalArgumentException if the capacity is not positive or above 2^30
+     */
+    public MoveListCache(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int entries = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.masks = new long[entries];
+        this.tags = new int[entries];
+        this.referenced = new boolean[entries];
+        this.lists = new Object[entries];
+        this.hands = new byte[entries / WAYS];
+        this.setMask = entries / WAYS - 1;
+    }
+    
+    /**
+     * Gets the valid moves of a piece type on a square of the standard board.
+     * 
+     * @param type the piece type
+     * @param square the square index, see {@link Bitboard}
+     * @param occupied the occupancy mask of the board
+     * @return an immutable list of the positions the piece can move to, in the order of
+     *         {@link PieceType#targets(int)}
+     */
+    public List<Position> get(PieceType type, int square, long occupied) {
+        long attacks = type.attacks(square);
+        long relevant = attacks & occupied;
+        if (relevant == Bitboard.EMPTY) {
+            return type.targets(square);
+        }
+        
+        int tag = (type.ordinal() << 6 | square) + 1;
+        int first = setOf(tag, relevant) * WAYS;
+        for (int entry = first; entry < first + WAYS; entry++) {
+            if (tags[entry] == tag && masks[entry] == relevant) {
+                referenced[entry] = true;
+                hits++;
+                return cachedList(entry);
+            }
+        }
+        
+        misses++;
+        List<Position> moves = Collections.unmodifiableList(AttackTables.filter(type.targets(square), attacks, relevant));
+        int entry = victim(first);
+        tags[entry] = tag;
+        masks[entry] = relevant;
+        lists[entry] = moves;
+        referenced[entry] = false;
+        return moves;
+    }
+    
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+        Arrays.fill(tags, 0);
+        Arrays.fill(lists, null);
+        Arrays.fill(referenced, false);
+        Arrays.fill(hands, (byte) 0);
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+    
+    /**
+     * Gets the number of move lists the cache can hold.
+     * 
+     * @return the capacity
+     */
+    public int capacity() {
+        return tags.length;
+    }
+    
+    /**
+     * Gets the number of lookups answered from the cache.
+     * 
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+    
+    /**
+     * Gets the number of lookups that had to compute the moves.
+     * 
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+    
+    /**
+     * Gets the number of entries evicted to make room for new ones.
+     * 
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Position> cachedList(int entry) {
+        return (List<Position>) lists[entry];
+    }
+    
+    private int victim(int first) {
+        for (int entry = first; entry < first + WAYS; entry++) {
+            if (tags[entry] == 0) {
+                return entry;
+            }
+        }
+        
+        // Give referenced entries a second chance; after a full sweep every bit is clear
+        int set = first / WAYS;
+        while (true) {
+            int entry = first + hands[set];
+            hands[set] = (byte) ((hands[set] + 1) % WAYS);
+            if (!referenced[entry]) {
+                evictions++;
+                return entry;
+            }
+            referenced[entry] = false;
+        }
+    }
+    
+    private int setOf(int tag, long relevant) {
+        long h = (relevant ^ tag) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & setMask;
+    }
+}
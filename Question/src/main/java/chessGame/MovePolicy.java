@@ -0,0 +1,22 @@
+package chessGame;
+
+/**
+ * Weights of the moves of a random walk: from a square, each valid move is chosen with a
+ * probability proportional to its weight.
+ */
+public interface MovePolicy {
+    
+    /**
+     * The policy choosing every valid move with equal probability.
+     */
+    MovePolicy UNIFORM = (from, to) -> 1;
+    
+    /**
+     * Gets the weight of a move.
+     * 
+     * @param from the square index of the piece
+     * @param to the square index of the target
+     * @return the weight of the move, zero to never take it; must not be negative
+     */
+    double weight(int from, int to);
+}
@@ -0,0 +1,67 @@
+package chessGame;
+
+/**
+ * The set of occupied squares of a board, by square index (see {@link BoardSize}).
+ * The representation is chosen by board size through {@link #create(BoardSize)}: a single
+ * {@code long} up to 8 x 8, a {@code long[]} bitset for mid-size boards and a hashed set of
+ * the occupied squares only for very large boards.
+ */
+public interface Occupancy {
+    
+    /**
+     * Boards with more squares than this use a sparse representation; a bitset of this many
+     * squares takes 2 MiB.
+     */
+    int SPARSE_THRESHOLD = 1 << 24;
+    
+    /**
+     * Creates an empty occupancy for a board.
+     * 
+     * @param size the size of the board
+     * @return an occupancy suited to the size of the board
+     */
+    static Occupancy create(BoardSize size) {
+        int squares = size.squareCount();
+        if (squares <= Long.SIZE) {
+            return new LongOccupancy();
+        }
+        if (squares <= SPARSE_THRESHOLD) {
+            return new BitSetOccupancy(squares);
+        }
+        return new SparseOccupancy();
+    }
+    
+    /**
+     * Checks whether a square is occupied.
+     * 
+     * @param square the square index
+     * @return true if the square is occupied
+     */
+    boolean contains(int square);
+    
+    /**
+     * Marks a square as occupied.
+     * 
+     * @param square the square index
+     */
+    void add(int square);
+    
+    /**
+     * Marks a square as empty.
+     * 
+     * @param square the square index
+     */
+    void remove(int square);
+    
+    /**
+     * Gets the number of occupied squares.
+     * 
+     * @return the number of occupied squares
+     */
+    int size();
+    
+    /**
+     * Marks all squares as empty.
+     */
+    void clear();
+}
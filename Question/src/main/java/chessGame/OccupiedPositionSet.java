@@ -0,0 +1,89 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable {@code Set<Position>} of the occupied squares of a board of any size, the
+ * counterpart of {@link PositionBitSet} for boards other than 8 x 8. The squares are held as
+ * sorted indices, so membership is a binary search that does not depend on
+ * {@link Position#hashCode()}, and the set carries its board size so that
+ * {@link ChessPiece#getValidMoves(Set)} generates moves for the right board.
+ */
+final class OccupiedPositionSet extends AbstractSet<Position> {
+    
+    private final BoardSize size;
+    private final int[] squares;
+    
+    /**
+     * Creates a set of the squares of the pieces of a spatial index.
+     * 
+     * @param index the index, whose pieces are read at their current positions
+     */
+    OccupiedPositionSet(SpatialIndex index) {
+        this.size = index.getSize();
+        this.squares = new int[index.getPieceCount()];
+        for (int id = 0; id < squares.length; id++) {
+            squares[id] = size.squareOf(index.getPiece(id).getPosition());
+        }
+        Arrays.sort(squares);
+    }
+    
+    /**
+     * Gets the size of the board of the squares.
+     * 
+     * @return the board size
+     */
+    BoardSize getBoardSize() {
+        return size;
+    }
+    
+    /**
+     * Checks whether a square is in the set.
+     * 
+     * @param square the square index, see {@link BoardSize}
+     * @return true if the square is occupied
+     */
+    boolean containsSquare(int square) {
+        return Arrays.binarySearch(squares, square) >= 0;
+    }
+    
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Position)) {
+            return false;
+        }
+        Position pos = (Position) o;
+        return size.contains(pos) && containsSquare(size.squareOf(pos));
+    }
+    
+    @Override
+    public int size() {
+        return squares.length;
+    }
+    
+    @Override
+    public Iterator<Position> iterator() {
+        return new Iterator<Position>() {
+            
+            private int next;
+            
+            @Override
+            public boolean hasNext() {
+                return next < squares.length;
+            }
+            
+            @Override
+            public Position next() {
+                if (next == squares.length) {
+                    throw new NoSuchElementException();
+                }
+                return size.positionOf(squares[next++]);
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package chessGame;
+
+/**
+ * An immutable fixed-length array of {@code long} values with structural sharing.
+ * The values are held in leaves of 32 longs under a 32-way trie, so {@link #with(int, long)}
+ * copies only the path to one leaf, about 256 bytes plus 128 bytes per level, and leaves every
+ * other node shared with the original array. Subtrees that hold only zeros are not allocated,
+ * which keeps sparse bitsets of very large boards small.
+ */
+final class PersistentLongArray {
+    
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    
+    private final int length;
+    
+    // Bits of the index consumed above the leaves, a multiple of BITS
+    private final int shift;
+    
+    // A long[] leaf when shift is 0, an Object[] of children otherwise; null means all zeros
+    private final Object root;
+    
+    private PersistentLongArray(int length, int shift, Object root) {
+        this.length = length;
+        this.shift = shift;
+        this.root = root;
+    }
+    
+    /**
+     * Creates an array of zeros.
+     * 
+     * @param length the length of the array
+     * @return the array
+     * @throws IllegalArgumentException if the length is negative
+     */
+    static PersistentLongArray zeros(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length: " + length);
+        }
+        return new PersistentLongArray(length, shiftFor(length), null);
+    }
+    
+    /**
+     * Creates an array holding a copy of the given values.
+     * 
+     * @param values the values
+     * @return the array
+     */
+    static PersistentLongArray of(long[] values) {
+        int shift = shiftFor(values.length);
+        return new PersistentLongArray(values.length, shift, build(values, 0, shift));
+    }
+    
+    /**
+     * Gets the value at an index.
+     * 
+     * @param index the index
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is outside the array
+     */
+    long get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of length " + length);
+        }
+        Object node = root;
+        for (int s = shift; s > 0; s -= BITS) {
+            if (node == null) {
+                return 0;
+            }
+            node = ((Object[]) node)[(index >>> s) & MASK];
+        }
+        return node == null ? 0 : ((long[]) node)[index & MASK];
+    }
+    
+    /**
+     * Gets an array with one value replaced, sharing all untouched leaves with this array.
+     * 
+     * @param index the index
+     * @param value the new value
+     * @return the new array, or this array if the value is unchanged
+     * @throws IndexOutOfBoundsException if the index is outside the array
+     */
+    PersistentLongArray with(int index, long value) {
+        if (get(index) == value) {
+            return this;
+        }
+        return new PersistentLongArray(length, shift, with(root, shift, index, value));
+    }
+    
+    /**
+     * Gets the length of the array.
+     * 
+     * @return the number of values
+     */
+    int length() {
+        return length;
+    }
+    
+    /**
+     * Copies the values into a new {@code long[]}.
+     * 
+     * @return the values
+     */
+    long[] toArray() {
+        long[] values = new long[length];
+        copy(root, shift, 0, values);
+        return values;
+    }
+    
+    private static Object with(Object node, int shift, int index, long value) {
+        if (shift == 0) {
+            long[] leaf = node == null ? new long[WIDTH] : ((long[]) node).clone();
+            leaf[index & MASK] = value;
+            return leaf;
+        }
+        Object[] children = node == null ? new Object[WIDTH] : ((Object[]) node).clone();
+        int child = (index >>> shift) & MASK;
+        children[child] = with(children[child], shift - BITS, index, value);
+        return children;
+    }
+    
+    private static Object build(long[] values, long offset, int shift) {
+        if (offset >= values.length) {
+            return null;
+        }
+        if (shift == 0) {
+            long[] leaf = new long[WIDTH];
+            System.arraycopy(values, (int) offset, leaf, 0, (int) Math.min(WIDTH, values.length - offset));
+            return leaf;
+        }
+        Object[] children = new Object[WIDTH];
+        for (int i = 0; i < WIDTH; i++) {
+            children[i] = build(values, offset + ((long) i << shift), shift - BITS);
+        }
+        return children;
+    }
+    
+    private static void copy(Object node, int shift, long offset, long[] values) {
+        if (node == null || offset >= values.length) {
+            return;
+        }
+        if (shift == 0) {
+            System.arraycopy((long[]) node, 0, values, (int) offset, (int) Math.min(WIDTH, values.length - offset));
+            return;
+        }
+        Object[] children = (Object[]) node;
+        for (int i = 0; i < WIDTH; i++) {
+            copy(children[i], shift - BITS, offset + ((long) i << shift), values);
+        }
+    }
+    
+    private static int shiftFor(int length) {
+        // Levels above the leaves until a single root covers the whole length
+        int shift = 0;
+        while (shift < Integer.SIZE - BITS && (long) WIDTH << shift < length) {
+            shift += BITS;
+        }
+        return shift;
+    }
+}
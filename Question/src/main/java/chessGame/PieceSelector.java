@@ -0,0 +1,21 @@
+package chessGame;
+
+import java.util.Random;
+
+/**
+ * Strategy for choosing which piece moves next in a game.
+ * Implementations work from cached mobility counts, so selecting a piece never requires
+ * generating moves, and must only use the given random source so that games are reproducible
+ * from a seed.
+ */
+public interface PieceSelector {
+    
+    /**
+     * Selects the piece to move.
+     * 
+     * @param mobility the cached mobility of every piece in the game
+     * @param random the random source of the game
+     * @return the index of a piece with at least one valid move, or -1 if no piece can move
+     */
+    int select(MobilityCache mobility, Random random);
+}
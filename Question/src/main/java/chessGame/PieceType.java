@@ -0,0 +1,141 @@
+package chessGame;
+
+import chessLib.KnightMove;
+import chessLib.Position;
+
+import java.util.List;
+
+/**
+ * The kinds of pieces supported by the game, each backed by its precomputed {@link AttackTables}
+ * on the standard board. On boards of other sizes, moves are generated from the directions of
+ * the piece: a leaper jumps once in each direction, a slider repeats its step up to the edge.
+ */
+public enum PieceType {
+    KNIGHT(AttackTables.KNIGHT_ATTACKS, AttackTables.KNIGHT_TARGETS, KnightMove.MOVES, false),
+    BISHOP(AttackTables.BISHOP_ATTACKS, AttackTables.BISHOP_TARGETS, AttackTables.DIAGONALS, true),
+    QUEEN(AttackTables.QUEEN_ATTACKS, AttackTables.QUEEN_TARGETS, AttackTables.QUEEN_DIRECTIONS, true);
+    
+    private final long[] attacks;
+    private final List<List<Position>> targets;
+    private final int[][] directions;
+    private final boolean sliding;
+    
+    PieceType(long[] attacks, List<List<Position>> targets, int[][] directions, boolean sliding) {
+        this.attacks = attacks;
+        this.targets = targets;
+        this.directions = directions;
+        this.sliding = sliding;
+    }
+    
+    /**
+     * Gets the move pattern of this piece type on an empty board.
+     * 
+     * @param square the square index of the piece
+     * @return the mask of squares reachable from that square
+     */
+    public long attacks(int square) {
+        return attacks[square];
+    }
+    
+    /**
+     * Gets the move pattern of this piece type on an empty board as positions.
+     * 
+     * @param square the square index of the piece
+     * @return an immutable list of the positions reachable from that square
+     */
+    public List<Position> targets(int square) {
+        return targets.get(square);
+    }
+    
+    /**
+     * Writes the valid moves from a square of a board of any size into a buffer, following each
+     * direction until the real edge of the board. Occupied squares are skipped but do not block,
+     * since pieces jump over them. The buffer is cleared first.
+     * 
+     * @param size the size of the board
+     * @param square the square index of the piece, see {@link BoardSize}
+     * @param occupied the occupied squares of the board
+     * @param moves the buffer receiving the target squares
+     * @return the number of valid moves written
+     */
+    public int generateMoves(BoardSize size, int square, Occupancy occupied, MoveBuffer moves) {
+        moves.clear();
+        int x = size.xOf(square);
+        int y = size.yOf(square);
+        for (int[] direction : directions) {
+            int dx = direction[0];
+            int dy = direction[1];
+            int newX = x + dx;
+            int newY = y + dy;
+            while (size.contains(newX, newY)) {
+                int target = size.squareOf(newX, newY);
+                if (!occupied.contains(target)) {
+                    moves.add(target);
+                }
+                if (!sliding) {
+                    break;
+                }
+                newX += dx;
+                newY += dy;
+            }
+        }
+        return moves.size();
+    }
+    
+    /**
+     * Gets the directions of this piece type, as {x, y} steps.
+     */
+    int[][] directions() {
+        return directions;
+    }
+    
+    /**
+     * Checks whether this piece type repeats its steps up to the board edge.
+     */
+    boolean isSliding() {
+        return sliding;
+    }
+    
+    /**
+     * Checks whether this piece type reaches the square at the given offset on an empty board.
+     * Both squares are expected to be on the board; since pieces jump over occupied squares,
+     * the offset alone decides it.
+     * 
+     * @param dx the x offset of the target from the piece
+     * @param dy the y offset of the target from the piece
+     * @return true if the target is part of the move pattern
+     */
+    public boolean reaches(int dx, int dy) {
+        int ax = Math.abs(dx);
+        int ay = Math.abs(dy);
+        switch (this) {
+            case KNIGHT:
+                return ax * ay == 2;
+            case BISHOP:
+                return ax == ay && ax != 0;
+            case QUEEN:
+                return (ax == ay || ax == 0 || ay == 0) && (ax | ay) != 0;
+            default:
+                throw new IllegalStateException("Unknown piece type " + this);
+        }
+    }
+    
+    /**
+     * Creates a new piece of this type.
+     * 
+     * @param position the initial position of the piece
+     * @return the new piece
+     */
+    public ChessPiece newPiece(Position position) {
+        switch (this) {
+            case KNIGHT:
+                return new Knight(position);
+            case BISHOP:
+                return new Bishop(position);
+            case QUEEN:
+                return new Queen(position);
+            default:
+                throw new IllegalStateException("Unknown piece type " + this);
+        }
+    }
+}
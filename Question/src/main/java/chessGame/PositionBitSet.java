@@ -0,0 +1,180 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A {@code Set<Position>} backed by a single 64-bit occupancy mask.
+ * Membership tests, insertion and removal are O(1) bit operations and do not depend on
+ * {@link Position#hashCode()}, which ChessLib does not override. Iteration yields the canonical
+ * pooled positions (see {@link Square}) in square order, so it never allocates positions.
+ * Pieces recognise this set and read its mask directly instead of scanning it.
+ */
+public class PositionBitSet extends AbstractSet<Position> {
+    
+    private long mask;
+    
+    /**
+     * Creates an empty set.
+     */
+    public PositionBitSet() {
+        this(Bitboard.EMPTY);
+    }
+    
+    /**
+     * Creates a set holding the squares of an occupancy mask.
+     * 
+     * @param mask the occupancy mask, see {@link Bitboard}
+     */
+    public PositionBitSet(long mask) {
+        this.mask = mask;
+    }
+    
+    /**
+     * Creates a set holding the given positions.
+     * 
+     * @param positions the positions, all of which must be within the bounds of the board
+     */
+    public PositionBitSet(Collection<Position> positions) {
+        addAll(positions);
+    }
+    
+    /**
+     * Gets the occupancy mask backing this set.
+     * 
+     * @return the mask of all positions in this set
+     */
+    public long mask() {
+        return mask;
+    }
+    
+    @Override
+    public int size() {
+        return Long.bitCount(mask);
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return mask == Bitboard.EMPTY;
+    }
+    
+    @Override
+    public boolean contains(Object obj) {
+        return obj instanceof Position && (mask & Bitboard.bitOf((Position) obj)) != Bitboard.EMPTY;
+    }
+    
+    @Override
+    public boolean add(Position pos) {
+        if (!BoardUtils.isWithinBounds(pos)) {
+            throw new IllegalArgumentException("Position " + pos + " is outside the board");
+        }
+        long old = mask;
+        mask |= Bitboard.bitOf(pos);
+        return mask != old;
+    }
+    
+    @Override
+    public boolean remove(Object obj) {
+        if (!(obj instanceof Position)) {
+            return false;
+        }
+        long old = mask;
+        mask &= ~Bitboard.bitOf((Position) obj);
+        return mask != old;
+    }
+    
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof PositionBitSet) {
+            long other = ((PositionBitSet) c).mask;
+            return (other & ~mask) == Bitboard.EMPTY;
+        }
+        return super.containsAll(c);
+    }
+    
+    @Override
+    public boolean addAll(Collection<? extends Position> c) {
+        if (c instanceof PositionBitSet) {
+            long old = mask;
+            mask |= ((PositionBitSet) c).mask;
+            return mask != old;
+        }
+        return super.addAll(c);
+    }
+    
+    @Override
+    public void clear() {
+        mask = Bitboard.EMPTY;
+    }
+    
+    @Override
+    public void forEach(Consumer<? super Position> action) {
+        long remaining = mask;
+        while (remaining != Bitboard.EMPTY) {
+            action.accept(Bitboard.positionOf(Long.numberOfTrailingZeros(remaining)));
+            remaining &= remaining - 1;
+        }
+    }
+    
+    @Override
+    public Iterator<Position> iterator() {
+        return new Iterator<Position>() {
+            private long remaining = mask;
+            private int last = -1;
+            
+            @Override
+            public boolean hasNext() {
+                return remaining != Bitboard.EMPTY;
+            }
+            
+            @Override
+            public Position next() {
+                if (remaining == Bitboard.EMPTY) {
+                    throw new NoSuchElementException();
+                }
+                last = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return Bitboard.positionOf(last);
+            }
+            
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                mask &= ~(1L << last);
+                last = -1;
+            }
+        };
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof PositionBitSet) {
+            return ((PositionBitSet) obj).mask == mask;
+        }
+        // Falls back to size and containsAll, which only rely on Position.equals
+        return super.equals(obj);
+    }
+    
+    /**
+     * Computes the hash code as defined by {@link java.util.Set#hashCode()}, i.e. the sum of the
+     * element hash codes. Since Position hashes by identity this matches any other set holding
+     * the same canonical positions, but cannot match sets of non-canonical instances.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        long remaining = mask;
+        while (remaining != Bitboard.EMPTY) {
+            hash += Bitboard.positionOf(Long.numberOfTrailingZeros(remaining)).hashCode();
+            remaining &= remaining - 1;
+        }
+        return hash;
+    }
+}
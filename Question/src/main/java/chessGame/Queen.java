@@ -2,10 +2,6 @@ package chessGame;
 
 import chessLib.Position;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Set;
-
 /**
  * Represents a Queen chess piece.
  * The Queen moves diagonally, horizontally, or vertically in any direction,
@@ -36,62 +32,7 @@ public class Queen implements ChessPiece {
     }
     
     @Override
-    public Collection<Position> getValidMoves(Set<Position> occupiedPositions) {
-        Collection<Position> validMoves = new ArrayList<>();
-        
-        // Eight directions: 4 diagonal + 4 straight (horizontal and vertical)
-        int[][] directions = {
-            // Diagonal directions (like Bishop)
-            {1, 1},   // Top-right diagonal
-            {-1, 1},  // Top-left diagonal
-            {1, -1},  // Bottom-right diagonal
-            {-1, -1}, // Bottom-left diagonal
-            
-            // Straight directions (horizontal and vertical)
-            {1, 0},   // Right (horizontal)
-            {-1, 0},  // Left (horizontal)
-            {0, 1},   // Up (vertical)
-            {0, -1}   // Down (vertical)
-        };
-        
-        // Check each direction
-        for (int[] dir : directions) {
-            int dx = dir[0];
-            int dy = dir[1];
-            
-            // Move along this direction until we hit the board boundary
-            for (int step = 1; step <= 8; step++) {
-                int newX = position.x() + (dx * step);
-                int newY = position.y() + (dy * step);
-                Position newPos = new Position(newX, newY);
-                
-                // Check bounds FIRST before checking occupiedPositions
-                if (!BoardUtils.isWithinBounds(newPos)) {
-                    break; // Stop in this direction when we hit the boundary
-                }
-                
-                // Skip occupied positions (can jump over them, but can't land on them)
-                // Continue to check further positions in this direction
-                if (!isPositionOccupied(newPos, occupiedPositions)) {
-                    validMoves.add(newPos);
-                }
-            }
-        }
-        
-        return validMoves;
-    }
-    
-    /**
-     * Helper method to check if a position is occupied.
-     * Uses manual comparison to avoid relying on hashCode().
-     */
-    private boolean isPositionOccupied(Position pos, Set<Position> occupiedPositions) {
-        for (Position occupied : occupiedPositions) {
-            if (occupied.equals(pos)) {
-                return true;
-            }
-        }
-        return false;
+    public PieceType getType() {
+        return PieceType.QUEEN;
     }
 }
-
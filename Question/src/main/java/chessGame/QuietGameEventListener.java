@@ -0,0 +1,7 @@
+package chessGame;
+
+/**
+ * A listener that ignores all events, for games whose output is not needed.
+ */
+public class QuietGameEventListener implements GameEventListener {
+}
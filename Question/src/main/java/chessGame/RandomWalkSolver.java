@@ -0,0 +1,217 @@
+package chessGame;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Exact distributions of a single piece walking randomly on an empty board, as in
+ * {@link SimpleGame}: at every step the piece moves to one of its targets with equal probability.
+ * The walk is a Markov chain over the 64 squares, whose transition matrix is built from the
+ * precomputed {@link AttackTables} (for knights, the moves of {@code KnightMove}).
+ * The n-step distribution is computed by repeated squaring of the matrix, and the stationary
+ * distribution by power iteration; both spread the matrix products over the common fork/join pool.
+ * This replaces long sampling runs, and lets a sampler be checked against the exact values.
+ */
+public class RandomWalkSolver {
+    
+    /**
+     * The default L1 distance between two iterations at which the stationary distribution is
+     * considered converged.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-12;
+    
+    private static final int SQUARES = AttackTables.SQUARES;
+    private static final int MAX_ITERATIONS = 1_000_000;
+    
+    private final PieceType type;
+    private final double[][] transition;
+    
+    /**
+     * Creates a solver for the walk of a piece type.
+     * 
+     * @param type the type of the walking piece
+     */
+    public RandomWalkSolver(PieceType type) {
+        this.type = type;
+        this.transition = new double[SQUARES][SQUARES];
+        for (int from = 0; from < SQUARES; from++) {
+            long targets = type.attacks(from);
+            double probability = 1.0 / Long.bitCount(targets);
+            while (targets != Bitboard.EMPTY) {
+                transition[from][Long.numberOfTrailingZeros(targets)] = probability;
+                targets &= targets - 1;
+            }
+        }
+    }
+    
+    /**
+     * Gets the type of the walking piece.
+     * 
+     * @return the piece type
+     */
+    public PieceType getType() {
+        return type;
+    }
+    
+    /**
+     * Gets the probability of moving from one square to another in a single step.
+     * 
+     * @param from the square index of the piece
+     * @param to the square index of the target
+     * @return the transition probability
+     */
+    public double getTransitionProbability(int from, int to) {
+        return transition[checkSquare(from)][checkSquare(to)];
+    }
+    
+    /**
+     * Gets the distribution of the square of the piece after a number of steps from a square.
+     * 
+     * @param startSquare the square index where the walk starts
+     * @param steps the number of steps
+     * @return the probability of each square, by square index
+     */
+    public double[] distribution(int startSquare, int steps) {
+        double[] initial = new double[SQUARES];
+        initial[checkSquare(startSquare)] = 1;
+        return distribution(initial, steps);
+    }
+    
+    /**
+     * Gets the distribution of the square of the piece after a number of steps from a random square.
+     * 
+     * @param initial the probability of each square at the start, by square index
+     * @param steps the number of steps
+     * @return the probability of each square, by square index
+     */
+    public double[] distribution(double[] initial, int steps) {
+        checkDistribution(initial);
+        if (steps < 0) {
+            throw new IllegalArgumentException("Number of steps must not be negative: " + steps);
+        }
+        
+        // Raise the matrix to the power of steps by repeated squaring, in log2(steps) products
+        double[][] power = null;
+        double[][] square = transition;
+        for (int remaining = steps; remaining > 0; remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                power = power == null ? square : multiply(power, square);
+            }
+            if (remaining > 1) {
+                square = multiply(square, square);
+            }
+        }
+        return power == null ? initial.clone() : multiply(initial, power);
+    }
+    
+    /**
+     * Gets the stationary distribution of the walk from a uniformly random square.
+     * 
+     * @return the probability of each square in the long run, by square index
+     */
+    public double[] stationaryDistribution() {
+        double[] uniform = new double[SQUARES];
+        Arrays.fill(uniform, 1.0 / SQUARES);
+        return stationaryDistribution(uniform, DEFAULT_TOLERANCE);
+    }
+    
+    /**
+     * Gets the stationary distribution of the walk from a square. This matters for bishops,
+     * which never leave the color of their square.
+     * 
+     * @param startSquare the square index where the walk starts
+     * @return the probability of each square in the long run, by square index
+     */
+    public double[] stationaryDistribution(int startSquare) {
+        double[] initial = new double[SQUARES];
+        initial[checkSquare(startSquare)] = 1;
+        return stationaryDistribution(initial, DEFAULT_TOLERANCE);
+    }
+    
+    /**
+     * Gets the stationary distribution of the walk by power iteration.
+     * The squares of a knight alternate colors, so its plain walk oscillates and never converges;
+     * iterating the lazy walk, which stays put with probability 1/2, reaches the same
+     * stationary distribution for every piece type.
+     * 
+     * @param initial the probability of each square at the start, by square index
+     * @param tolerance the L1 distance between two iterations at which to stop
+     * @return the probability of each square in the long run, by square index
+     * @throws IllegalStateException if the iteration does not converge
+     */
+    public double[] stationaryDistribution(double[] initial, double tolerance) {
+        checkDistribution(initial);
+        double[] current = initial.clone();
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double[] moved = multiply(current, transition);
+            double distance = 0;
+            for (int square = 0; square < SQUARES; square++) {
+                double next = (current[square] + moved[square]) / 2;
+                distance += Math.abs(next - current[square]);
+                current[square] = next;
+            }
+            if (distance < tolerance) {
+                return current;
+            }
+        }
+        throw new IllegalStateException("Stationary distribution did not converge to " + tolerance);
+    }
+    
+    /**
+     * Multiplies a row vector by a matrix, one result column per fork/join task.
+     */
+    static double[] multiply(double[] vector, double[][] matrix) {
+        double[] result = new double[SQUARES];
+        IntStream.range(0, SQUARES).parallel().forEach(column -> {
+            double sum = 0;
+            for (int i = 0; i < SQUARES; i++) {
+                sum += vector[i] * matrix[i][column];
+            }
+            result[column] = sum;
+        });
+        return result;
+    }
+    
+    /**
+     * Multiplies two matrices, one result row per fork/join task.
+     */
+    static double[][] multiply(double[][] left, double[][] right) {
+        double[][] result = new double[SQUARES][];
+        IntStream.range(0, SQUARES).parallel().forEach(row -> {
+            double[] sums = new double[SQUARES];
+            for (int k = 0; k < SQUARES; k++) {
+                double factor = left[row][k];
+                if (factor != 0) {
+                    for (int column = 0; column < SQUARES; column++) {
+                        sums[column] += factor * right[k][column];
+                    }
+                }
+            }
+            result[row] = sums;
+        });
+        return result;
+    }
+    
+    private static int checkSquare(int square) {
+        if (square < 0 || square >= SQUARES) {
+            throw new IllegalArgumentException("Square index must be between 0 and " + (SQUARES - 1) + ": " + square);
+        }
+        return square;
+    }
+    
+    private static void checkDistribution(double[] distribution) {
+        if (distribution.length != SQUARES) {
+            throw new IllegalArgumentException("A distribution has " + SQUARES + " probabilities, not " + distribution.length);
+        }
+        double sum = 0;
+        for (double probability : distribution) {
+            if (probability < 0) {
+                throw new IllegalArgumentException("Probabilities must not be negative: " + probability);
+            }
+            sum += probability;
+        }
+        if (Math.abs(sum - 1) > 1e-9) {
+            throw new IllegalArgumentException("Probabilities must sum to 1, not " + sum);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package chessGame;
+
+/**
+ * The result of a {@link ReachabilityEnumerator} run: for every depth up to the last one, the
+ * number of move sequences of that length and the number of distinct positions they reach.
+ */
+public class ReachabilityCounts {
+    
+    private final long[] nodes;
+    private final long[] distinctStates;
+    
+    ReachabilityCounts(long[] nodes, long[] distinctStates) {
+        this.nodes = nodes;
+        this.distinctStates = distinctStates;
+    }
+    
+    /**
+     * Gets the deepest depth counted.
+     * 
+     * @return the number of moves of the longest sequences
+     */
+    public int getDepth() {
+        return nodes.length - 1;
+    }
+    
+    /**
+     * Gets the number of move sequences of a given length, as counted by perft.
+     * 
+     * @param depth the number of moves, from 0 to {@link #getDepth()}
+     * @return the number of sequences, 1 for depth 0
+     */
+    public long getNodes(int depth) {
+        return nodes[depth];
+    }
+    
+    /**
+     * Gets the number of distinct positions reached by the move sequences of a given length.
+     * Pieces of the same type are interchangeable.
+     * 
+     * @param depth the number of moves, from 0 to {@link #getDepth()}
+     * @return the number of distinct positions
+     */
+    public long getDistinctStates(int depth) {
+        return distinctStates[depth];
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("%5s %20s %15s%n", "depth", "nodes", "distinct"));
+        for (int depth = 0; depth < nodes.length; depth++) {
+            builder.append(String.format("%5d %20d %15d%n", depth, nodes[depth], distinctStates[depth]));
+        }
+        return builder.toString();
+    }
+}
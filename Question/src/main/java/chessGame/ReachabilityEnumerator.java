@@ -0,0 +1,203 @@
+package chessGame;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enumerates every move sequence of the {@link ComplexGame} rules from a starting position on
+ * the standard board, counting the sequences (perft nodes) and the distinct positions reached at
+ * each depth. It serves as a correctness oracle for move generation and as a stress benchmark.
+ * <p>
+ * Instead of walking the tree of sequences, which grows with the mobility to the power of the
+ * depth, the enumeration goes level by level over the distinct positions: each position of a
+ * level carries the number of sequences reaching it, and expanding it adds that number to each
+ * of its successors in the next level. Transpositions are thus expanded once, and the node
+ * count of a level is the sum of its sequence counts. The positions of a level are expanded in
+ * parallel with fork/join, one task per stripe of a lock-striped {@link StateCountMap}.
+ * <p>
+ * A position is encoded in a single {@code long} holding the 6-bit squares of the pieces,
+ * grouped by piece type and sorted within each group, so that pieces of the same type are
+ * interchangeable. This fits up to 10 pieces.
+ */
+public class ReachabilityEnumerator {
+    
+    /**
+     * The most pieces a position can have to fit its encoding.
+     */
+    public static final int MAX_PIECES = Long.SIZE / 6;
+    
+    private static final int SQUARE_BITS = 6;
+    private static final long SQUARE_MASK = (1L << SQUARE_BITS) - 1;
+    
+    // Stripes per thread, so that threads rarely wait on the same stripe
+    private static final int STRIPES_PER_THREAD = 64;
+    
+    private final ForkJoinPool pool;
+    // The type of each piece in encoding order, i.e. grouped by type
+    private final PieceType[] types;
+    // The index of the first piece of the group of each piece
+    private final int[] groupStart;
+    private final long startKey;
+    
+    /**
+     * Creates an enumerator running on the common fork/join pool.
+     * 
+     * @param pieces the pieces of the starting position, on the standard board
+     * @throws IllegalArgumentException if there are too many pieces or two share a position
+     */
+    public ReachabilityEnumerator(List<ChessPiece> pieces) {
+        this(ForkJoinPool.commonPool(), pieces);
+    }
+    
+    /**
+     * Creates an enumerator.
+     * 
+     * @param pool the pool expanding the positions
+     * @param pieces the pieces of the starting position, on the standard board
+     * @throws IllegalArgumentException if there are too many pieces or two share a position
+     */
+    public ReachabilityEnumerator(ForkJoinPool pool, List<ChessPiece> pieces) {
+        if (pieces.size() > MAX_PIECES) {
+            throw new IllegalArgumentException("At most " + MAX_PIECES + " pieces are supported: " + pieces.size());
+        }
+        this.pool = pool;
+        this.types = new PieceType[pieces.size()];
+        this.groupStart = new int[pieces.size()];
+        int[] squares = new int[pieces.size()];
+        long occupancy = Bitboard.EMPTY;
+        int next = 0;
+        for (PieceType type : PieceType.values()) {
+            int start = next;
+            for (ChessPiece piece : pieces) {
+                if (piece.getType() == type) {
+                    long bit = Bitboard.bitOf(piece.getPosition());
+                    if ((occupancy & bit) != Bitboard.EMPTY) {
+                        throw new IllegalArgumentException("Position already occupied: " + piece.getPosition());
+                    }
+                    occupancy |= bit;
+                    types[next] = type;
+                    groupStart[next] = start;
+                    squares[next++] = Bitboard.squareOf(piece.getPosition());
+                }
+            }
+        }
+        this.startKey = encode(squares);
+    }
+    
+    /**
+     * Counts the move sequences and distinct positions up to a depth. The positions of two
+     * consecutive levels are held in memory, two longs per position plus table slack.
+     * 
+     * @param depth the number of moves of the longest sequences
+     * @return the counts of every depth from 0
+     * @throws IllegalArgumentException if the depth is negative
+     */
+    public ReachabilityCounts count(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Negative depth: " + depth);
+        }
+        long[] nodes = new long[depth + 1];
+        long[] distinctStates = new long[depth + 1];
+        int stripes = pool.getParallelism() * STRIPES_PER_THREAD;
+        
+        StateCountMap level = new StateCountMap(stripes);
+        level.add(startKey, 1);
+        nodes[0] = 1;
+        distinctStates[0] = 1;
+        for (int d = 1; d <= depth; d++) {
+            StateCountMap nextLevel = new StateCountMap(stripes);
+            LongAdder sequences = new LongAdder();
+            pool.invoke(new ExpandTask(level, nextLevel, sequences, 0, level.stripeCount()));
+            nodes[d] = sequences.sum();
+            distinctStates[d] = nextLevel.size();
+            level = nextLevel;
+        }
+        return new ReachabilityCounts(nodes, distinctStates);
+    }
+    
+    /**
+     * Encodes the squares of a position, sorting each group of pieces of the same type in place.
+     */
+    private long encode(int[] squares) {
+        long key = 0;
+        for (int i = 0; i < squares.length; i++) {
+            // Insertion sort within the group, which is at most a handful of pieces
+            int square = squares[i];
+            int j = i;
+            while (j > groupStart[i] && squares[j - 1] > square) {
+                squares[j] = squares[j - 1];
+                j--;
+            }
+            squares[j] = square;
+        }
+        for (int i = squares.length - 1; i >= 0; i--) {
+            key = key << SQUARE_BITS | squares[i];
+        }
+        return key;
+    }
+    
+    /**
+     * Adds the successors of a position to the next level.
+     * 
+     * @return the number of moves from the position
+     */
+    private int expand(long key, long count, StateCountMap nextLevel, int[] squares, int[] moved) {
+        long occupancy = Bitboard.EMPTY;
+        for (int i = 0; i < squares.length; i++) {
+            squares[i] = (int) (key >>> (i * SQUARE_BITS) & SQUARE_MASK);
+            occupancy |= 1L << squares[i];
+        }
+        int moves = 0;
+        for (int i = 0; i < squares.length; i++) {
+            long targets = types[i].attacks(squares[i]) & ~occupancy;
+            while (targets != Bitboard.EMPTY) {
+                System.arraycopy(squares, 0, moved, 0, squares.length);
+                moved[i] = Long.numberOfTrailingZeros(targets);
+                nextLevel.add(encode(moved), count);
+                targets &= targets - 1;
+                moves++;
+            }
+        }
+        return moves;
+    }
+    
+    /**
+     * Expands the positions of a range of stripes of a level, splitting it in halves.
+     */
+    private class ExpandTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final StateCountMap level;
+        private final StateCountMap nextLevel;
+        private final LongAdder sequences;
+        private final int start;
+        private final int end;
+        
+        ExpandTask(StateCountMap level, StateCountMap nextLevel, LongAdder sequences, int start, int end) {
+            this.level = level;
+            this.nextLevel = nextLevel;
+            this.sequences = sequences;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new ExpandTask(level, nextLevel, sequences, start, middle),
+                        new ExpandTask(level, nextLevel, sequences, middle, end));
+                return;
+            }
+            
+            int[] squares = new int[types.length];
+            int[] moved = new int[types.length];
+            long[] total = new long[1];
+            level.forEach(start, (key, count) -> total[0] += count * expand(key, count, nextLevel, squares, moved));
+            sequences.add(total[0]);
+        }
+    }
+}
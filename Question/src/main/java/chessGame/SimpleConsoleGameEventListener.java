@@ -0,0 +1,57 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Writes the log of a {@link SimpleGame} to a print stream, in the format the game has always
+ * printed: each call to {@code play} starts with the line {@code "0: My Position is (x, y)"} for
+ * the starting position, followed by one line {@code "N: My position is (x, y)"} per move, with
+ * N counting the moves from 0. This is the default listener of SimpleGame.
+ */
+public class SimpleConsoleGameEventListener implements GameEventListener {
+    
+    private final PrintStream out;
+    // Whether a move was reported since the game started or last finished
+    private boolean moved;
+    
+    /**
+     * Creates a listener writing to standard output.
+     */
+    public SimpleConsoleGameEventListener() {
+        this(System.out);
+    }
+    
+    /**
+     * Creates a listener writing to the given stream.
+     * 
+     * @param out the stream to write to
+     */
+    public SimpleConsoleGameEventListener(PrintStream out) {
+        this.out = out;
+    }
+    
+    @Override
+    public void onMove(int moveNumber, ChessPiece piece, Position from, Position to, int validMoveCount) {
+        // The starting position is printed when the walk begins, not when the game is set up
+        if (moveNumber == 1) {
+            printStart(from);
+        }
+        moved = true;
+        out.printf("%1$d: My position is %2$s\r\n", moveNumber - 1, to.toString());
+    }
+    
+    @Override
+    public void onGameFinished(List<ChessPiece> pieces) {
+        if (!moved) {
+            printStart(pieces.get(0).getPosition());
+        }
+        moved = false;
+    }
+    
+    private void printStart(Position pos) {
+        out.printf("0: My Position is %1$s\r\n", pos.toString());
+    }
+}
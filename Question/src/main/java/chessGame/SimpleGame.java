@@ -1,38 +1,47 @@
 package chessGame;
 
 import java.util.Random;
-import java.util.Collection;
+import java.util.List;
 
-import chessLib.KnightMove;
 import chessLib.Position;
 
 public class SimpleGame extends BaseGame {
 
-    private Position position;
+    // Uniform over the moves of KnightMove.validMovesFor, in O(1) per step
+    private static final WalkSampler KNIGHT_WALK = new WalkSampler(PieceType.KNIGHT);
+
+    private Knight knight;
+
+    private List<ChessPiece> pieces;
 
     private Random random;
 
     public SimpleGame() {
-        this.position = null;
-        this.random = new Random(System.currentTimeMillis());
+        this(System.currentTimeMillis());
+    }
+
+    public SimpleGame(long seed) {
+        this.knight = null;
+        this.random = new Random(seed);
+        this.listener = new SimpleConsoleGameEventListener();
     }
 
     @Override
     public void play(int moves) {
-        KnightMove knight = new KnightMove();
-        Position pos = this.position;
-        System.out.printf("0: My Position is %1$s\r\n", pos.toString());
-
-        for (int i = 0; i < moves; i++) {
-            Position[] possibles = knight.validMovesFor(pos).toArray(new Position[0]);
-            int r = random.nextInt(possibles.length);
-            pos = possibles[r];
-            System.out.printf("%1$d: My position is %2$s\r\n", i, pos.toString());
+        for (int i = 1; i <= moves; i++) {
+            // Same moves as KnightMove.validMovesFor, sampled without building the list
+            Position pos = knight.getPosition();
+            int from = Bitboard.squareOf(pos);
+            knight.setPosition(Bitboard.positionOf(KNIGHT_WALK.next(from, random)));
+            listener.onMove(i, knight, pos, knight.getPosition(), Long.bitCount(PieceType.KNIGHT.attacks(from)));
         }
+        listener.onGameFinished(pieces);
     }
 
     @Override
     public void setup() {
-        this.position = new Position(3, 3);
+        this.knight = new Knight(Square.of(3, 3).toPosition());
+        this.pieces = List.of(knight);
+        listener.onGameStarted(pieces);
     }
-}
\ No newline at end of file
+}
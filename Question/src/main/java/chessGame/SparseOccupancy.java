@@ -0,0 +1,107 @@
+package chessGame;
+
+import java.util.Arrays;
+
+/**
+ * Occupancy of a very large board, holding only the occupied square indices in an
+ * open-addressing hash set, so memory grows with the number of pieces rather than squares.
+ */
+public class SparseOccupancy implements Occupancy {
+    
+    private static final int FREE = -1;
+    private static final int INITIAL_CAPACITY = 64;
+    
+    private int[] slots;
+    private int size;
+    
+    /**
+     * Creates an empty occupancy.
+     */
+    public SparseOccupancy() {
+        this.slots = new int[INITIAL_CAPACITY];
+        Arrays.fill(slots, FREE);
+    }
+    
+    private static int hash(int square) {
+        // Fibonacci hashing spreads consecutive squares, folding the high bits into the low ones
+        int hash = square * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    /**
+     * Finds the slot holding a square, or the free slot where it would be inserted.
+     */
+    private int find(int square) {
+        int mask = slots.length - 1;
+        int slot = hash(square) & mask;
+        while (slots[slot] != FREE && slots[slot] != square) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    @Override
+    public boolean contains(int square) {
+        return slots[find(square)] == square;
+    }
+    
+    @Override
+    public void add(int square) {
+        int slot = find(square);
+        if (slots[slot] == square) {
+            return;
+        }
+        slots[slot] = square;
+        size++;
+        // Keep the load factor at most 1/2
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+    }
+    
+    @Override
+    public void remove(int square) {
+        int mask = slots.length - 1;
+        int slot = find(square);
+        if (slots[slot] != square) {
+            return;
+        }
+        slots[slot] = FREE;
+        size--;
+        
+        // Shift back the following entries of the probe sequence, so lookups do not stop early
+        int next = (slot + 1) & mask;
+        while (slots[next] != FREE) {
+            int home = hash(slots[next]) & mask;
+            // Move the entry if its home slot is not between the hole and its current slot
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                slots[slot] = slots[next];
+                slots[next] = FREE;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+    
+    private void rehash(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        Arrays.fill(slots, FREE);
+        for (int square : old) {
+            if (square != FREE) {
+                slots[find(square)] = square;
+            }
+        }
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        Arrays.fill(slots, FREE);
+        size = 0;
+    }
+}
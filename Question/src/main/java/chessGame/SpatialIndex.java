@@ -0,0 +1,559 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.Arrays;
+
+/**
+ * Spatial index of the pieces on a board of any size, for games with thousands of pieces.
+ * It maps squares to pieces in O(1) and keeps an occupancy bitset for every row, column,
+ * diagonal and anti-diagonal, so that the occupied squares along a ray are counted or found
+ * 64 squares at a time instead of one by one.
+ * Pieces get consecutive ids in the order they are added. The index is kept in sync by
+ * {@link #move(int, int)}, which does not update the position of the piece itself; a
+ * {@link Board} does both.
+ * Line bitsets are split into chunks of 4096 squares that are only allocated once a piece
+ * enters them, so sparse boards do not pay for their empty space.
+ */
+public class SpatialIndex {
+    
+    // A chunk holds 2^6 words of 64 bits
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_WORDS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_BITS = CHUNK_WORDS * Long.SIZE;
+    
+    private static final int FREE = -1;
+    private static final int INITIAL_CAPACITY = 64;
+    
+    private final BoardSize size;
+    private final int n;
+    private final int chunksPerLine;
+    
+    // Line bitsets by line number, each indexed by the x coordinate, or y for columns
+    private final long[][][] rows;
+    private final long[][][] columns;
+    private final long[][][] diagonals;
+    private final long[][][] antiDiagonals;
+    
+    // Open-addressing map from occupied squares to piece ids
+    private int[] keys;
+    private int[] values;
+    
+    private ChessPiece[] pieces;
+    private int pieceCount;
+    
+    /**
+     * Creates an empty index.
+     * 
+     * @param size the size of the board
+     */
+    public SpatialIndex(BoardSize size) {
+        this.size = size;
+        this.n = size.size();
+        this.chunksPerLine = (n + CHUNK_BITS - 1) / CHUNK_BITS;
+        this.rows = new long[n][][];
+        this.columns = new long[n][][];
+        this.diagonals = new long[2 * n - 1][][];
+        this.antiDiagonals = new long[2 * n - 1][][];
+        this.keys = new int[INITIAL_CAPACITY];
+        this.values = new int[INITIAL_CAPACITY];
+        this.pieces = new ChessPiece[INITIAL_CAPACITY];
+        Arrays.fill(keys, FREE);
+    }
+    
+    /**
+     * Gets the size of the indexed board.
+     * 
+     * @return the board size
+     */
+    public BoardSize getSize() {
+        return size;
+    }
+    
+    /**
+     * Adds a piece at its current position.
+     * 
+     * @param piece the piece to add
+     * @return the id of the piece
+     * @throws IllegalArgumentException if the position is outside the board or already occupied
+     */
+    public int add(ChessPiece piece) {
+        Position pos = piece.getPosition();
+        if (!size.contains(pos)) {
+            throw new IllegalArgumentException("Position " + pos + " is outside the board");
+        }
+        int square = size.squareOf(pos);
+        if (isOccupied(square)) {
+            throw new IllegalArgumentException("Position " + pos + " is already occupied");
+        }
+        if (pieceCount == pieces.length) {
+            pieces = Arrays.copyOf(pieces, pieceCount * 2);
+        }
+        int id = pieceCount++;
+        pieces[id] = piece;
+        // Keep the load factor of the map at most 1/2
+        if (pieceCount * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        put(square, id);
+        mark(pos.x(), pos.y());
+        return id;
+    }
+    
+    /**
+     * Moves the piece standing on one square to another, empty square.
+     * 
+     * @param from the square index of the piece to move
+     * @param to the square index of the target
+     * @return the id of the moved piece
+     * @throws IllegalArgumentException if there is no piece on {@code from} or {@code to} is occupied
+     */
+    public int move(int from, int to) {
+        int id = getPieceIdAt(from);
+        if (id == FREE) {
+            throw new IllegalArgumentException("No piece at " + size.positionOf(from));
+        }
+        if (isOccupied(to)) {
+            throw new IllegalArgumentException("Position " + size.positionOf(to) + " is already occupied");
+        }
+        removeKey(from);
+        put(to, id);
+        unmark(size.xOf(from), size.yOf(from));
+        mark(size.xOf(to), size.yOf(to));
+        return id;
+    }
+    
+    /**
+     * Gets the piece standing on a square.
+     * 
+     * @param square the square index
+     * @return the piece, or null if the square is empty
+     */
+    public ChessPiece getPieceAt(int square) {
+        int id = getPieceIdAt(square);
+        return id == FREE ? null : pieces[id];
+    }
+    
+    /**
+     * Gets the id of the piece standing on a square.
+     * 
+     * @param square the square index
+     * @return the piece id, or -1 if the square is empty
+     */
+    public int getPieceIdAt(int square) {
+        int slot = find(square);
+        return keys[slot] == square ? values[slot] : FREE;
+    }
+    
+    /**
+     * Gets a piece by id.
+     * 
+     * @param id the piece id
+     * @return the piece
+     */
+    public ChessPiece getPiece(int id) {
+        if (id < 0 || id >= pieceCount) {
+            throw new IndexOutOfBoundsException("No piece with id " + id);
+        }
+        return pieces[id];
+    }
+    
+    /**
+     * Gets the number of pieces in the index.
+     * 
+     * @return the number of pieces
+     */
+    public int getPieceCount() {
+        return pieceCount;
+    }
+    
+    /**
+     * Checks whether a square is occupied.
+     * 
+     * @param square the square index
+     * @return true if a piece stands on the square
+     */
+    public boolean isOccupied(int square) {
+        long[][] row = rows[size.yOf(square) - 1];
+        int bit = size.xOf(square) - 1;
+        if (row == null) {
+            return false;
+        }
+        long[] chunk = row[bit / CHUNK_BITS];
+        return chunk != null && (chunk[(bit >>> 6) & (CHUNK_WORDS - 1)] & (1L << bit)) != 0;
+    }
+    
+    /**
+     * Gets the number of squares from a square to the board edge in a direction.
+     * 
+     * @param square the square index of the start, which is not counted
+     * @param dx the x step, -1, 0 or 1
+     * @param dy the y step, -1, 0 or 1
+     * @return the length of the ray
+     */
+    public int rayLength(int square, int dx, int dy) {
+        checkDirection(dx, dy);
+        return rayLength(size.xOf(square), size.yOf(square), dx, dy);
+    }
+    
+    /**
+     * Counts the occupied squares from a square to the board edge in a direction.
+     * 
+     * @param square the square index of the start, which is not counted
+     * @param dx the x step, -1, 0 or 1
+     * @param dy the y step, -1, 0 or 1
+     * @return the number of occupied squares on the ray
+     */
+    public int countOccupied(int square, int dx, int dy) {
+        checkDirection(dx, dy);
+        int x = size.xOf(square);
+        int y = size.yOf(square);
+        int length = rayLength(x, y, dx, dy);
+        int start = dx != 0 ? x - 1 : y - 1;
+        int step = dx != 0 ? dx : dy;
+        long[][] line = lineThrough(x, y, dx, dy);
+        return step > 0 ? count(line, start + 1, start + 1 + length) : count(line, start - length, start);
+    }
+    
+    /**
+     * Finds the nearest occupied square from a square in a direction.
+     * 
+     * @param square the square index of the start, which is not considered
+     * @param dx the x step, -1, 0 or 1
+     * @param dy the y step, -1, 0 or 1
+     * @return the square index of the nearest occupied square, or -1 if the ray is empty
+     */
+    public int nearestOccupied(int square, int dx, int dy) {
+        checkDirection(dx, dy);
+        int x = size.xOf(square);
+        int y = size.yOf(square);
+        int length = rayLength(x, y, dx, dy);
+        int start = dx != 0 ? x - 1 : y - 1;
+        int step = dx != 0 ? dx : dy;
+        long[][] line = lineThrough(x, y, dx, dy);
+        int bit = step > 0 ? nextSet(line, start + 1, start + 1 + length) : previousSet(line, start - length, start);
+        if (bit < 0) {
+            return FREE;
+        }
+        int distance = Math.abs(bit - start);
+        return size.squareOf(x + dx * distance, y + dy * distance);
+    }
+    
+    /**
+     * Counts the valid moves of a piece type from a square, skipping occupied targets.
+     * Sliding pieces count each ray at once from its length and its occupied squares.
+     * 
+     * @param type the piece type
+     * @param square the square index of the piece
+     * @return the number of valid moves
+     */
+    public int countMoves(PieceType type, int square) {
+        int count = 0;
+        if (type.isSliding()) {
+            for (int[] direction : type.directions()) {
+                count += rayLength(square, direction[0], direction[1]) - countOccupied(square, direction[0], direction[1]);
+            }
+            return count;
+        }
+        int x = size.xOf(square);
+        int y = size.yOf(square);
+        for (int[] direction : type.directions()) {
+            int newX = x + direction[0];
+            int newY = y + direction[1];
+            if (size.contains(newX, newY) && !isOccupied(size.squareOf(newX, newY))) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Gets one of the valid moves of a piece type from a square without generating the others.
+     * Moves are numbered in the order of {@link PieceType#generateMoves}.
+     * 
+     * @param type the piece type
+     * @param square the square index of the piece
+     * @param index the number of the move, from 0 to {@link #countMoves} exclusive
+     * @return the square index of the target
+     * @throws IndexOutOfBoundsException if there are not that many valid moves
+     */
+    public int nthMove(PieceType type, int square, int index) {
+        int x = size.xOf(square);
+        int y = size.yOf(square);
+        int remaining = index;
+        for (int[] direction : type.directions()) {
+            int dx = direction[0];
+            int dy = direction[1];
+            if (!type.isSliding()) {
+                int newX = x + dx;
+                int newY = y + dy;
+                if (size.contains(newX, newY) && !isOccupied(size.squareOf(newX, newY)) && remaining-- == 0) {
+                    return size.squareOf(newX, newY);
+                }
+                continue;
+            }
+            
+            int length = rayLength(x, y, dx, dy);
+            int start = dx != 0 ? x - 1 : y - 1;
+            int step = dx != 0 ? dx : dy;
+            long[][] line = lineThrough(x, y, dx, dy);
+            int free = length - (step > 0 ? count(line, start + 1, start + 1 + length) : count(line, start - length, start));
+            if (remaining < free) {
+                int bit = step > 0 ? nthClear(line, start + 1, start + 1 + length, remaining)
+                        : nthClearFromTop(line, start - length, start, remaining);
+                int distance = Math.abs(bit - start);
+                return size.squareOf(x + dx * distance, y + dy * distance);
+            }
+            remaining -= free;
+        }
+        throw new IndexOutOfBoundsException("Move " + index + " of " + type + " at " + size.positionOf(square));
+    }
+    
+    /**
+     * Removes all pieces from the index.
+     */
+    public void clear() {
+        Arrays.fill(rows, null);
+        Arrays.fill(columns, null);
+        Arrays.fill(diagonals, null);
+        Arrays.fill(antiDiagonals, null);
+        Arrays.fill(keys, FREE);
+        Arrays.fill(pieces, 0, pieceCount, null);
+        pieceCount = 0;
+    }
+    
+    private static void checkDirection(int dx, int dy) {
+        if (Math.abs(dx) > 1 || Math.abs(dy) > 1 || (dx | dy) == 0) {
+            throw new IllegalArgumentException("Not a ray direction: " + dx + ", " + dy);
+        }
+    }
+    
+    private int rayLength(int x, int y, int dx, int dy) {
+        int length = dx > 0 ? n - x : dx < 0 ? x - 1 : Integer.MAX_VALUE;
+        if (dy != 0) {
+            length = Math.min(length, dy > 0 ? n - y : y - 1);
+        }
+        return length;
+    }
+    
+    private long[][] lineThrough(int x, int y, int dx, int dy) {
+        if (dy == 0) {
+            return rows[y - 1];
+        }
+        if (dx == 0) {
+            return columns[x - 1];
+        }
+        return dx == dy ? diagonals[x - y + n - 1] : antiDiagonals[x + y - 2];
+    }
+    
+    private void mark(int x, int y) {
+        set(rows, y - 1, x - 1);
+        set(columns, x - 1, y - 1);
+        set(diagonals, x - y + n - 1, x - 1);
+        set(antiDiagonals, x + y - 2, x - 1);
+    }
+    
+    private void unmark(int x, int y) {
+        clear(rows[y - 1], x - 1);
+        clear(columns[x - 1], y - 1);
+        clear(diagonals[x - y + n - 1], x - 1);
+        clear(antiDiagonals[x + y - 2], x - 1);
+    }
+    
+    private void set(long[][][] lines, int lineNumber, int bit) {
+        long[][] line = lines[lineNumber];
+        if (line == null) {
+            line = new long[chunksPerLine][];
+            lines[lineNumber] = line;
+        }
+        long[] chunk = line[bit / CHUNK_BITS];
+        if (chunk == null) {
+            chunk = new long[CHUNK_WORDS];
+            line[bit / CHUNK_BITS] = chunk;
+        }
+        chunk[(bit >>> 6) & (CHUNK_WORDS - 1)] |= 1L << bit;
+    }
+    
+    private static void clear(long[][] line, int bit) {
+        // Only marked squares are cleared, so their chunk exists
+        line[bit / CHUNK_BITS][(bit >>> 6) & (CHUNK_WORDS - 1)] &= ~(1L << bit);
+    }
+    
+    /**
+     * Gets a word of a line restricted to the bits from {@code from} inclusive to {@code to} exclusive.
+     */
+    private static long word(long[] chunk, int word, int from, int to) {
+        long bits = chunk == null ? 0 : chunk[word & (CHUNK_WORDS - 1)];
+        return bits & range(word, from, to);
+    }
+    
+    /**
+     * Gets the mask of the bits of a word that lie from {@code from} inclusive to {@code to} exclusive.
+     */
+    private static long range(int word, int from, int to) {
+        long mask = -1L;
+        if (word == from >>> 6) {
+            mask &= -1L << from;
+        }
+        if (word == (to - 1) >>> 6) {
+            mask &= -1L >>> (63 - ((to - 1) & 63));
+        }
+        return mask;
+    }
+    
+    private static int count(long[][] line, int from, int to) {
+        if (line == null || from >= to) {
+            return 0;
+        }
+        int count = 0;
+        int last = (to - 1) >>> 6;
+        for (int word = from >>> 6; word <= last; word++) {
+            long[] chunk = line[word >>> CHUNK_SHIFT];
+            if (chunk == null) {
+                // Skip to the last word of the empty chunk
+                word |= CHUNK_WORDS - 1;
+                continue;
+            }
+            count += Long.bitCount(word(chunk, word, from, to));
+        }
+        return count;
+    }
+    
+    private static int nextSet(long[][] line, int from, int to) {
+        if (line == null || from >= to) {
+            return FREE;
+        }
+        int last = (to - 1) >>> 6;
+        for (int word = from >>> 6; word <= last; word++) {
+            long[] chunk = line[word >>> CHUNK_SHIFT];
+            if (chunk == null) {
+                word |= CHUNK_WORDS - 1;
+                continue;
+            }
+            long bits = word(chunk, word, from, to);
+            if (bits != 0) {
+                return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return FREE;
+    }
+    
+    private static int previousSet(long[][] line, int from, int to) {
+        if (line == null || from >= to) {
+            return FREE;
+        }
+        int first = from >>> 6;
+        for (int word = (to - 1) >>> 6; word >= first; word--) {
+            long[] chunk = line[word >>> CHUNK_SHIFT];
+            if (chunk == null) {
+                // Skip to the first word of the empty chunk
+                word &= ~(CHUNK_WORDS - 1);
+                continue;
+            }
+            long bits = word(chunk, word, from, to);
+            if (bits != 0) {
+                return word * Long.SIZE + 63 - Long.numberOfLeadingZeros(bits);
+            }
+        }
+        return FREE;
+    }
+    
+    /**
+     * Finds the n-th clear bit counting up from {@code from}, which is expected to exist.
+     */
+    private static int nthClear(long[][] line, int from, int to, int nth) {
+        int remaining = nth;
+        int last = (to - 1) >>> 6;
+        for (int word = from >>> 6; word <= last; word++) {
+            long[] chunk = line == null ? null : line[word >>> CHUNK_SHIFT];
+            long clear = ~word(chunk, word, from, to) & range(word, from, to);
+            int count = Long.bitCount(clear);
+            if (remaining < count) {
+                for (int i = 0; i < remaining; i++) {
+                    clear &= clear - 1;
+                }
+                return word * Long.SIZE + Long.numberOfTrailingZeros(clear);
+            }
+            remaining -= count;
+        }
+        throw new IllegalStateException("No clear bit " + nth + " in line");
+    }
+    
+    /**
+     * Finds the n-th clear bit counting down from {@code to}, which is expected to exist.
+     */
+    private static int nthClearFromTop(long[][] line, int from, int to, int nth) {
+        int remaining = nth;
+        int first = from >>> 6;
+        for (int word = (to - 1) >>> 6; word >= first; word--) {
+            long[] chunk = line == null ? null : line[word >>> CHUNK_SHIFT];
+            long clear = ~word(chunk, word, from, to) & range(word, from, to);
+            int count = Long.bitCount(clear);
+            if (remaining < count) {
+                for (int i = 0; i < remaining; i++) {
+                    clear &= ~Long.highestOneBit(clear);
+                }
+                return word * Long.SIZE + 63 - Long.numberOfLeadingZeros(clear);
+            }
+            remaining -= count;
+        }
+        throw new IllegalStateException("No clear bit " + nth + " in line");
+    }
+    
+    private static int hash(int square) {
+        int hash = square * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    /**
+     * Finds the slot holding a square, or the free slot where it would be inserted.
+     */
+    private int find(int square) {
+        int mask = keys.length - 1;
+        int slot = hash(square) & mask;
+        while (keys[slot] != FREE && keys[slot] != square) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private void put(int square, int id) {
+        int slot = find(square);
+        keys[slot] = square;
+        values[slot] = id;
+    }
+    
+    private void removeKey(int square) {
+        int mask = keys.length - 1;
+        int slot = find(square);
+        keys[slot] = FREE;
+        
+        // Shift back the following entries of the probe sequence, so lookups do not stop early
+        int next = (slot + 1) & mask;
+        while (keys[next] != FREE) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                keys[next] = FREE;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+    
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package chessGame;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Lets a game draw its random numbers from a {@link SplittableRandom} stream.
+ * Unlike {@link Random}, SplittableRandom has no synchronization overhead, and independent
+ * streams can be derived from a single seed.
+ */
+public class SplittableRandomAdapter extends Random {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final SplittableRandom source;
+    
+    /**
+     * Creates a random source backed by the given stream.
+     * 
+     * @param source the stream to draw from
+     */
+    public SplittableRandomAdapter(SplittableRandom source) {
+        this.source = source;
+    }
+    
+    @Override
+    protected int next(int bits) {
+        return source.nextInt() >>> (32 - bits);
+    }
+    
+    @Override
+    public int nextInt() {
+        return source.nextInt();
+    }
+    
+    @Override
+    public int nextInt(int bound) {
+        return source.nextInt(bound);
+    }
+    
+    @Override
+    public long nextLong() {
+        return source.nextLong();
+    }
+    
+    @Override
+    public double nextDouble() {
+        return source.nextDouble();
+    }
+    
+    @Override
+    public boolean nextBoolean() {
+        return source.nextBoolean();
+    }
+    
+    /**
+     * Not supported, since the underlying stream cannot be reseeded.
+     * Only the call made by the Random constructor is accepted.
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        if (source != null) {
+            throw new UnsupportedOperationException("SplittableRandom streams cannot be reseeded");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package chessGame;
+
+import chessLib.Position;
+
+/**
+ * A square of the board, identified by its index (see {@link Bitboard}).
+ * Unlike {@link Position}, which defines equals but not hashCode, a Square can be used as a
+ * key in hash-based collections. All 64 squares are pooled, together with one canonical
+ * Position instance per square, so converting between the two never allocates.
+ */
+public final class Square {
+    
+    private static final Square[] POOL = new Square[AttackTables.SQUARES];
+    
+    static {
+        for (int index = 0; index < POOL.length; index++) {
+            POOL[index] = new Square(index);
+        }
+    }
+    
+    private final int index;
+    private final Position position;
+    
+    private Square(int index) {
+        this.index = index;
+        this.position = new Position(Bitboard.xOf(index), Bitboard.yOf(index));
+    }
+    
+    /**
+     * Gets the pooled square for a square index.
+     * 
+     * @param index the square index (0 to 63)
+     * @return the square
+     */
+    public static Square of(int index) {
+        return POOL[index];
+    }
+    
+    /**
+     * Gets the pooled square for the given coordinates.
+     * 
+     * @param x the x coordinate (1 to 8)
+     * @param y the y coordinate (1 to 8)
+     * @return the square
+     */
+    public static Square of(int x, int y) {
+        return POOL[Bitboard.squareOf(x, y)];
+    }
+    
+    /**
+     * Gets the pooled square for a position.
+     * 
+     * @param pos a position within the bounds of the board
+     * @return the square
+     */
+    public static Square of(Position pos) {
+        return POOL[Bitboard.squareOf(pos)];
+    }
+    
+    /**
+     * Gets the canonical Position instance equal to the given position.
+     * 
+     * @param pos a position within the bounds of the board
+     * @return the pooled position
+     */
+    public static Position canonical(Position pos) {
+        return of(pos).position;
+    }
+    
+    /**
+     * Gets the index of this square.
+     * 
+     * @return the square index (0 to 63)
+     */
+    public int index() {
+        return index;
+    }
+    
+    /**
+     * Gets the x coordinate of this square.
+     * 
+     * @return the x coordinate (1 to 8)
+     */
+    public int x() {
+        return position.x();
+    }
+    
+    /**
+     * Gets the y coordinate of this square.
+     * 
+     * @return the y coordinate (1 to 8)
+     */
+    public int y() {
+        return position.y();
+    }
+    
+    /**
+     * Gets the single-bit mask of this square.
+     * 
+     * @return the mask with only this square set
+     */
+    public long bit() {
+        return 1L << index;
+    }
+    
+    /**
+     * Gets the canonical Position instance of this square.
+     * 
+     * @return the pooled position
+     */
+    public Position toPosition() {
+        return position;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Square && ((Square) obj).index == index;
+    }
+    
+    @Override
+    public int hashCode() {
+        return index;
+    }
+    
+    @Override
+    public String toString() {
+        return position.toString();
+    }
+}
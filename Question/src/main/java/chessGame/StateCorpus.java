@@ -0,0 +1,339 @@
+package chessGame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * A large collection of positions on the standard board, held outside the Java heap. Each
+ * position is a fixed-size record of one byte per piece, {@code type << 6 | square}, in direct
+ * {@link ByteBuffer} segments, so a corpus of hundreds of millions of positions costs the heap
+ * only a few objects per segment and the garbage collector never scans its contents. Direct
+ * memory counts against {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap
+ * size, so large corpora need that limit raised rather than the heap.
+ * <p>
+ * Positions with fewer pieces than the record holds are padded. Appending is not thread-safe;
+ * once the appends are done, any number of threads can read, e.g. with
+ * {@link #parallelForEach(LongConsumer)}. A corpus can be written to a file with
+ * {@link #flush(Path)} and mapped back into memory, read-only, with {@link #open(Path)}.
+ */
+public class StateCorpus {
+    
+    /**
+     * The most pieces a record can hold.
+     */
+    public static final int MAX_PIECES = 64;
+    
+    /**
+     * The default size of a segment, 64 MiB.
+     */
+    public static final int DEFAULT_SEGMENT_BYTES = 1 << 26;
+    
+    // "CHSC" followed by the format version, the record size and the number of records
+    private static final int MAGIC = 0x43485343;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8;
+    
+    private static final int SQUARE_BITS = 6;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private static final byte NO_PIECE = (byte) 0xFF;
+    
+    private final int piecesPerState;
+    private final int recordsPerSegment;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final boolean readOnly;
+    private long size;
+    
+    /**
+     * Creates an empty corpus with segments of the default size.
+     * 
+     * @param piecesPerState the number of pieces a record holds
+     * @throws IllegalArgumentException if the number of pieces is not between 1 and {@link #MAX_PIECES}
+     */
+    public StateCorpus(int piecesPerState) {
+        this(piecesPerState, DEFAULT_SEGMENT_BYTES);
+    }
+    
+    /**
+     * Creates an empty corpus.
+     * 
+     * @param piecesPerState the number of pieces a record holds
+     * @param segmentBytes the size of each direct buffer, at least one record
+     * @throws IllegalArgumentException if the number of pieces is not between 1 and {@link #MAX_PIECES},
+     *         or a segment cannot hold a record
+     */
+    public StateCorpus(int piecesPerState, int segmentBytes) {
+        this(piecesPerState, recordsPerSegment(piecesPerState, segmentBytes), false);
+    }
+    
+    private StateCorpus(int piecesPerState, int recordsPerSegment, boolean readOnly) {
+        this.piecesPerState = piecesPerState;
+        this.recordsPerSegment = recordsPerSegment;
+        this.readOnly = readOnly;
+    }
+    
+    /**
+     * Maps a corpus written by {@link #flush(Path)} into memory. The file stays open for as long
+     * as the corpus is reachable; the corpus is read-only.
+     * 
+     * @param file the file
+     * @return the corpus
+     * @throws IOException if the file cannot be read or is not a corpus
+     */
+    public static StateCorpus open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a state corpus: " + file);
+            }
+            int piecesPerState = header.getInt();
+            long size = header.getLong();
+            if (piecesPerState < 1 || piecesPerState > MAX_PIECES || size < 0
+                    || HEADER_BYTES + size * piecesPerState != channel.size()) {
+                throw new IOException("Corrupt state corpus: " + file);
+            }
+            
+            // Map the records in chunks of whole records below the 2 GiB limit of a buffer
+            int recordsPerSegment = recordsPerSegment(piecesPerState, DEFAULT_SEGMENT_BYTES);
+            StateCorpus corpus = new StateCorpus(piecesPerState, recordsPerSegment, true);
+            for (long first = 0; first < size; first += recordsPerSegment) {
+                long records = Math.min(recordsPerSegment, size - first);
+                corpus.segments.add(channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * piecesPerState, records * piecesPerState));
+            }
+            corpus.size = size;
+            return corpus;
+        }
+    }
+    
+    /**
+     * Appends a position.
+     * 
+     * @param state the position, on the standard board
+     * @return the index of the position in the corpus
+     * @throws IllegalArgumentException if the position is not on the standard board or has too many pieces
+     * @throws IllegalStateException if the corpus is read-only
+     */
+    public long append(GameState state) {
+        if (!state.getBoardSize().isStandard()) {
+            throw new IllegalArgumentException("Only positions on the standard board can be stored: " + state.getBoardSize());
+        }
+        if (state.getPieceCount() > piecesPerState) {
+            throw new IllegalArgumentException("Too many pieces for a record of " + piecesPerState + ": "
+                    + state.getPieceCount());
+        }
+        ByteBuffer segment = segmentForAppend();
+        int offset = recordOffset(size);
+        for (int piece = 0; piece < piecesPerState; piece++) {
+            byte value = piece < state.getPieceCount()
+                    ? (byte) (state.getType(piece).ordinal() << SQUARE_BITS | state.getSquare(piece)) : NO_PIECE;
+            segment.put(offset + piece, value);
+        }
+        return size++;
+    }
+    
+    /**
+     * Appends a position.
+     * 
+     * @param pieces the pieces of the position, on the standard board
+     * @return the index of the position in the corpus
+     * @throws IllegalArgumentException if the position is not valid on the standard board or has too many pieces
+     * @throws IllegalStateException if the corpus is read-only
+     */
+    public long append(List<ChessPiece> pieces) {
+        return append(GameState.of(BoardSize.STANDARD, pieces));
+    }
+    
+    /**
+     * Gets the number of positions in the corpus.
+     * 
+     * @return the number of positions
+     */
+    public long size() {
+        return size;
+    }
+    
+    /**
+     * Gets the number of pieces of a position.
+     * 
+     * @param index the index of the position
+     * @return the number of pieces
+     * @throws IndexOutOfBoundsException if there is no position with that index
+     */
+    public int getPieceCount(long index) {
+        ByteBuffer segment = segmentOf(index);
+        int offset = recordOffset(index);
+        int count = 0;
+        while (count < piecesPerState && segment.get(offset + count) != NO_PIECE) {
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Gets the type of a piece of a position, without allocating.
+     * 
+     * @param index the index of the position
+     * @param piece the index of the piece within the position
+     * @return the piece type
+     * @throws IndexOutOfBoundsException if there is no such position or piece
+     */
+    public PieceType getType(long index, int piece) {
+        return PieceType.values()[(pieceByte(index, piece) & 0xFF) >>> SQUARE_BITS];
+    }
+    
+    /**
+     * Gets the square of a piece of a position, without allocating.
+     * 
+     * @param index the index of the position
+     * @param piece the index of the piece within the position
+     * @return the square index, see {@link Bitboard}
+     * @throws IndexOutOfBoundsException if there is no such position or piece
+     */
+    public int getSquare(long index, int piece) {
+        return pieceByte(index, piece) & SQUARE_MASK;
+    }
+    
+    /**
+     * Gets the occupancy mask of a position, without allocating.
+     * 
+     * @param index the index of the position
+     * @return the mask of the squares of all pieces
+     * @throws IndexOutOfBoundsException if there is no position with that index
+     */
+    public long getOccupancy(long index) {
+        ByteBuffer segment = segmentOf(index);
+        int offset = recordOffset(index);
+        long occupancy = Bitboard.EMPTY;
+        for (int piece = 0; piece < piecesPerState; piece++) {
+            byte value = segment.get(offset + piece);
+            if (value == NO_PIECE) {
+                break;
+            }
+            occupancy |= 1L << (value & SQUARE_MASK);
+        }
+        return occupancy;
+    }
+    
+    /**
+     * Gets a position as a game state.
+     * 
+     * @param index the index of the position
+     * @return the position
+     * @throws IndexOutOfBoundsException if there is no position with that index
+     */
+    public GameState get(long index) {
+        int count = getPieceCount(index);
+        List<ChessPiece> pieces = new ArrayList<>(count);
+        for (int piece = 0; piece < count; piece++) {
+            pieces.add(getType(index, piece).newPiece(Bitboard.positionOf(getSquare(index, piece))));
+        }
+        return GameState.of(BoardSize.STANDARD, pieces);
+    }
+    
+    /**
+     * Passes the index of every position to an action, on the threads of the common fork/join
+     * pool. The action reads the positions through the getters of this corpus, which do not
+     * allocate, and must be thread-safe. No position may be appended meanwhile.
+     * 
+     * @param action the action, called once per position in no particular order
+     */
+    public void parallelForEach(LongConsumer action) {
+        LongStream.range(0, size).parallel().forEach(action);
+    }
+    
+    /**
+     * Writes the corpus to a file, replacing its contents. The file can be mapped back with
+     * {@link #open(Path)}.
+     * 
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public void flush(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(piecesPerState).putLong(size).flip();
+            writeFully(channel, header);
+            long remaining = size;
+            for (ByteBuffer segment : segments) {
+                long records = Math.min(remaining, recordsPerSegment);
+                ByteBuffer view = segment.duplicate();
+                view.position(0).limit((int) records * piecesPerState);
+                writeFully(channel, view);
+                remaining -= records;
+            }
+            channel.force(true);
+        }
+    }
+    
+    /**
+     * Gets the number of pieces a record holds, which is also its size in bytes.
+     * 
+     * @return the number of pieces per record
+     */
+    public int getPiecesPerState() {
+        return piecesPerState;
+    }
+    
+    private byte pieceByte(long index, int piece) {
+        if (piece < 0 || piece >= piecesPerState) {
+            throw new IndexOutOfBoundsException("Piece " + piece + " out of " + piecesPerState);
+        }
+        byte value = segmentOf(index).get(recordOffset(index) + piece);
+        if (value == NO_PIECE) {
+            throw new IndexOutOfBoundsException("Position " + index + " has no piece " + piece);
+        }
+        return value;
+    }
+    
+    private ByteBuffer segmentOf(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+        }
+        return segments.get((int) (index / recordsPerSegment));
+    }
+    
+    private ByteBuffer segmentForAppend() {
+        if (readOnly) {
+            throw new IllegalStateException("Corpora opened from a file are read-only");
+        }
+        int segment = (int) (size / recordsPerSegment);
+        if (segment == segments.size()) {
+            segments.add(ByteBuffer.allocateDirect(recordsPerSegment * piecesPerState));
+        }
+        return segments.get(segment);
+    }
+    
+    private int recordOffset(long index) {
+        return (int) (index % recordsPerSegment) * piecesPerState;
+    }
+    
+    private static int recordsPerSegment(int piecesPerState, int segmentBytes) {
+        if (piecesPerState < 1 || piecesPerState > MAX_PIECES) {
+            throw new IllegalArgumentException("Pieces per state must be between 1 and " + MAX_PIECES + ": "
+                    + piecesPerState);
+        }
+        if (segmentBytes < piecesPerState) {
+            throw new IllegalArgumentException("A segment of " + segmentBytes + " bytes cannot hold a record");
+        }
+        return segmentBytes / piecesPerState;
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
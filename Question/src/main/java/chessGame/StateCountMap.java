@@ -0,0 +1,173 @@
+package chessGame;
+
+import java.util.Arrays;
+
+/**
+ * A concurrent map from non-negative {@code long} state keys to {@code long} counts, for many
+ * threads adding to it at once. The keys are spread over lock stripes, each an open-addressing
+ * table of primitive arrays guarded by its own monitor, so threads only contend when they hit
+ * the same stripe and no entry objects are allocated.
+ */
+final class StateCountMap {
+    
+    private static final long EMPTY = -1;
+    private static final int INITIAL_STRIPE_CAPACITY = 64;
+    
+    /**
+     * Receives the entries of a stripe.
+     */
+    interface EntryConsumer {
+        
+        void accept(long key, long count);
+    }
+    
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    
+    /**
+     * Creates an empty map.
+     * 
+     * @param stripeCount the number of lock stripes, rounded up to a power of two
+     */
+    StateCountMap(int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = count - 1;
+    }
+    
+    /**
+     * Adds to the count of a key, inserting the key if it is new.
+     * 
+     * @param key the key, not negative
+     * @param count the amount to add
+     */
+    void add(long key, long count) {
+        long h = mix(key);
+        Stripe stripe = stripes[(int) (h >>> 40) & stripeMask];
+        synchronized (stripe) {
+            stripe.add(key, count, (int) h);
+        }
+    }
+    
+    /**
+     * Gets the count of a key.
+     * 
+     * @param key the key
+     * @return the count, or 0 if the key is absent
+     */
+    long get(long key) {
+        long h = mix(key);
+        Stripe stripe = stripes[(int) (h >>> 40) & stripeMask];
+        synchronized (stripe) {
+            return stripe.get(key, (int) h);
+        }
+    }
+    
+    /**
+     * Gets the number of keys. Only exact while no thread is adding.
+     * 
+     * @return the number of keys
+     */
+    long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+    
+    /**
+     * Gets the number of stripes, to iterate over the map stripe by stripe.
+     * 
+     * @return the number of stripes
+     */
+    int stripeCount() {
+        return stripes.length;
+    }
+    
+    /**
+     * Passes every entry of a stripe to a consumer. Must not run while threads are adding.
+     * 
+     * @param stripe the index of the stripe
+     * @param consumer the consumer of the entries
+     */
+    void forEach(int stripe, EntryConsumer consumer) {
+        Stripe s = stripes[stripe];
+        for (int slot = 0; slot < s.keys.length; slot++) {
+            if (s.keys[slot] != EMPTY) {
+                consumer.accept(s.keys[slot], s.counts[slot]);
+            }
+        }
+    }
+    
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+    
+    /**
+     * One open-addressing table with linear probing, kept at most half full.
+     */
+    private static final class Stripe {
+        
+        private long[] keys = newKeys(INITIAL_STRIPE_CAPACITY);
+        private long[] counts = new long[INITIAL_STRIPE_CAPACITY];
+        private int size;
+        
+        void add(long key, long count, int hash) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    counts[slot] += count;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            counts[slot] = count;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+        }
+        
+        long get(long key, int hash) {
+            int mask = keys.length - 1;
+            for (int slot = hash & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return counts[slot];
+                }
+            }
+            return 0;
+        }
+        
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = newKeys(oldKeys.length * 2);
+            counts = new long[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = (int) mix(oldKeys[i]) & mask;
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+        
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
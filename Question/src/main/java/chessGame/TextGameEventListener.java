@@ -0,0 +1,72 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.List;
+
+/**
+ * Base class for listeners writing the human-readable game log.
+ * Events are formatted into a reusable text buffer, and subclasses decide when and where the
+ * buffered text is written.
+ */
+public abstract class TextGameEventListener implements GameEventListener {
+    
+    private static final String NEWLINE = System.lineSeparator();
+    
+    /**
+     * The formatted text which has not been written yet.
+     */
+    protected final StringBuilder text = new StringBuilder();
+    
+    /**
+     * Called after each event has been appended to {@link #text}.
+     * Implementations write some or all of the text and remove what they have written.
+     */
+    protected abstract void emit();
+    
+    @Override
+    public void onGameStarted(List<ChessPiece> pieces) {
+        text.append("Game setup complete with ").append(pieces.size()).append(" pieces.").append(NEWLINE);
+        appendBoard(pieces);
+        emit();
+    }
+    
+    @Override
+    public void onMove(int moveNumber, ChessPiece piece, Position from, Position to, int validMoveCount) {
+        appendMoveHeader(moveNumber);
+        text.append(piece.getClass().getSimpleName()).append(" moved from ").append(from)
+                .append(" to ").append(to).append(NEWLINE);
+        text.append("Valid moves available: ").append(validMoveCount).append(NEWLINE);
+        emit();
+    }
+    
+    @Override
+    public void onTurnSkipped(int moveNumber) {
+        appendMoveHeader(moveNumber);
+        text.append("No valid moves available for any piece. Skipping turn.").append(NEWLINE);
+        emit();
+    }
+    
+    @Override
+    public void onGameFinished(List<ChessPiece> pieces) {
+        text.append(NEWLINE).append("=== Game Complete ===").append(NEWLINE);
+        appendBoard(pieces);
+        emit();
+    }
+    
+    private void appendMoveHeader(int moveNumber) {
+        text.append(NEWLINE).append("=== Move ").append(moveNumber).append(" ===").append(NEWLINE);
+    }
+    
+    /**
+     * Appends the current state of the board.
+     */
+    private void appendBoard(List<ChessPiece> pieces) {
+        text.append(NEWLINE).append("Current board state:").append(NEWLINE);
+        for (int i = 0; i < pieces.size(); i++) {
+            ChessPiece piece = pieces.get(i);
+            text.append("  ").append(i + 1).append(". ").append(piece.getClass().getSimpleName())
+                    .append(" at ").append(piece.getPosition()).append(NEWLINE);
+        }
+    }
+}
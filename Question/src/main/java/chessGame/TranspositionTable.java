@@ -0,0 +1,233 @@
+package chessGame;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded cache from {@link Zobrist} position hashes to a {@code long} value, such as the total
+ * mobility of the position, held in primitive arrays without allocating per entry.
+ * <p>
+ * Entries live in buckets of two, chosen by the low bits of the hash. When a bucket is full, a
+ * new entry replaces an entry from an older {@link #newGeneration() generation} first, then the
+ * one with the lower depth, so results that were expensive to compute survive longest. Since
+ * entries can be evicted, a position seen before may be reported as new; deduplicating with
+ * this table is exact only while it is not full. The full 64-bit hash is stored, so a wrong hit
+ * needs two positions with the same hash.
+ * <p>
+ * Tables are not thread-safe.
+ */
+public class TranspositionTable {
+    
+    /**
+     * The largest depth an entry can be stored with.
+     */
+    public static final int MAX_DEPTH = 0xFFFE;
+    
+    private static final int BUCKET_SIZE = 2;
+    private static final int DEPTH_MASK = 0xFFFF;
+    private static final int GENERATION_MASK = 0x7FFF;
+    
+    private final long[] keys;
+    private final long[] values;
+    // generation << 16 | (depth + 1), or 0 for an empty slot
+    private final int[] meta;
+    private final int bucketMask;
+    
+    private int generation;
+    private int size;
+    private long hits;
+    private long misses;
+    private long replacements;
+    
+    /**
+     * Creates an empty table.
+     * 
+     * @param capacity the number of entries, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is not positive or above 2^30
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int slots = Math.max(BUCKET_SIZE, Integer.highestOneBit(capacity - 1) << 1);
+        this.keys = new long[slots];
+        this.values = new long[slots];
+        this.meta = new int[slots];
+        this.bucketMask = slots / BUCKET_SIZE - 1;
+    }
+    
+    /**
+     * Gets the value cached for a position.
+     * 
+     * @param hash the hash of the position
+     * @param defaultValue the value to return if the position is not cached
+     * @return the cached value, or the default value
+     */
+    public long getOrDefault(long hash, long defaultValue) {
+        int slot = find(hash);
+        if (slot < 0) {
+            misses++;
+            return defaultValue;
+        }
+        hits++;
+        return values[slot];
+    }
+    
+    /**
+     * Checks whether a position is cached, without counting a hit or a miss.
+     * 
+     * @param hash the hash of the position
+     * @return true if the position is cached
+     */
+    public boolean contains(long hash) {
+        return find(hash) >= 0;
+    }
+    
+    /**
+     * Caches a value for a position, replacing any value cached for it before. If the bucket of
+     * the position is full, one of its entries is evicted.
+     * 
+     * @param hash the hash of the position
+     * @param value the value
+     * @param depth how expensive the value was to compute, from 0 to {@link #MAX_DEPTH}
+     * @return true if the position was not cached before
+     * @throws IllegalArgumentException if the depth is out of range
+     */
+    public boolean put(long hash, long value, int depth) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 0 and " + MAX_DEPTH + ": " + depth);
+        }
+        int slot = find(hash);
+        boolean added = slot < 0;
+        if (added) {
+            slot = victim(hash);
+            if (meta[slot] == 0) {
+                size++;
+            } else {
+                replacements++;
+            }
+        }
+        keys[slot] = hash;
+        values[slot] = value;
+        meta[slot] = generation << 16 | (depth + 1);
+        return added;
+    }
+    
+    /**
+     * Gets the value cached for a position, computing and caching it if needed.
+     * 
+     * @param hash the hash of the position
+     * @param depth the depth to cache a computed value with
+     * @param compute computes the value of the position
+     * @return the cached or computed value
+     */
+    public long computeIfAbsent(long hash, int depth, LongSupplier compute) {
+        int slot = find(hash);
+        if (slot >= 0) {
+            hits++;
+            return values[slot];
+        }
+        misses++;
+        long value = compute.getAsLong();
+        put(hash, value, depth);
+        return value;
+    }
+    
+    /**
+     * Starts a new generation, typically for a new analysis run. Entries stored in earlier
+     * generations stay readable but are evicted before any entry of the new generation.
+     */
+    public void newGeneration() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+    
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+        Arrays.fill(meta, 0);
+        size = 0;
+        hits = 0;
+        misses = 0;
+        replacements = 0;
+    }
+    
+    /**
+     * Gets the number of cached positions.
+     * 
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Gets the number of entries the table can hold.
+     * 
+     * @return the capacity
+     */
+    public int capacity() {
+        return keys.length;
+    }
+    
+    /**
+     * Gets the number of lookups that found a cached value.
+     * 
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+    
+    /**
+     * Gets the number of lookups that found no cached value.
+     * 
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+    
+    /**
+     * Gets the number of entries evicted to make room for new ones.
+     * 
+     * @return the number of replacements
+     */
+    public long getReplacements() {
+        return replacements;
+    }
+    
+    private int find(long hash) {
+        int first = bucketOf(hash);
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            if (meta[slot] != 0 && keys[slot] == hash) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+    
+    private int victim(long hash) {
+        int first = bucketOf(hash);
+        int victim = first;
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            if (meta[slot] == 0) {
+                return slot;
+            }
+            if (priority(slot) < priority(victim)) {
+                victim = slot;
+            }
+        }
+        return victim;
+    }
+    
+    private long priority(int slot) {
+        // Entries of the current generation first, then deeper entries
+        boolean current = meta[slot] >>> 16 == generation;
+        return (current ? 1L << 32 : 0) | (meta[slot] & DEPTH_MASK);
+    }
+    
+    private int bucketOf(long hash) {
+        return ((int) hash & bucketMask) * BUCKET_SIZE;
+    }
+}
@@ -0,0 +1,28 @@
+package chessGame;
+
+import java.util.Random;
+
+/**
+ * Selects uniformly among the pieces that have at least one valid move.
+ * This is the default strategy: the same distribution as picking a random piece until one can
+ * move, but in a single pass and without ever skipping a turn while a move exists.
+ */
+public class UniformPieceSelector implements PieceSelector {
+    
+    @Override
+    public int select(MobilityCache mobility, Random random) {
+        int movable = mobility.getMovableCount();
+        if (movable == 0) {
+            return -1;
+        }
+        
+        // Find the n-th movable piece
+        int n = random.nextInt(movable);
+        for (int i = 0; i < mobility.getPieceCount(); i++) {
+            if (mobility.getMobility(i) > 0 && n-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Mobility cache is inconsistent");
+    }
+}
@@ -0,0 +1,56 @@
+package chessGame;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link LockstepKernel} on the incubating Vector API, processing as many boards per
+ * instruction as the preferred vector width holds longs, e.g. 4 with AVX2 or 8 with AVX-512.
+ * The boards left over after the last full vector are processed one by one.
+ * This class must only be loaded when the {@code jdk.incubator.vector} module is present.
+ */
+final class VectorLockstepKernel implements LockstepKernel {
+    
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    
+    @Override
+    public void mobility(long[] attacks, long[] occupancy, long[] masks, int masksOffset, long[] movable,
+            int boards) {
+        int bound = SPECIES.loopBound(boards);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector mask = LongVector.fromArray(SPECIES, attacks, i)
+                    .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, occupancy, i));
+            mask.intoArray(masks, masksOffset + i);
+            VectorMask<Long> canMove = mask.compare(VectorOperators.NE, 0L);
+            LongVector.fromArray(SPECIES, movable, i).add(1L, canMove).intoArray(movable, i);
+        }
+        for (int i = bound; i < boards; i++) {
+            long mask = attacks[i] & ~occupancy[i];
+            masks[masksOffset + i] = mask;
+            if (mask != 0) {
+                movable[i]++;
+            }
+        }
+    }
+    
+    @Override
+    public void nextRandom(long[] states, long[] randoms, int boards) {
+        int bound = SPECIES.loopBound(boards);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector state = LongVector.fromArray(SPECIES, states, i).add(GOLDEN_GAMMA);
+            state.intoArray(states, i);
+            LongVector z = state;
+            z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 30)).mul(0xbf58476d1ce4e5b9L);
+            z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 27)).mul(0x94d049bb133111ebL);
+            z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 31)).intoArray(randoms, i);
+        }
+        for (int i = bound; i < boards; i++) {
+            long z = states[i] += GOLDEN_GAMMA;
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            randoms[i] = z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package chessGame;
+
+import chessLib.Position;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Samples the next square of a single piece walking randomly on an empty board, as in
+ * {@link SimpleGame}, in O(1) with one random number and one array read per step.
+ * Every square has a Walker alias table of the same width, the largest number of moves from
+ * any square: a step picks a column with the high half of a random long and compares the low
+ * half with the threshold of that column, choosing either its own target or its alias.
+ * Threshold, alias and target are packed into a single long per column. Squares with fewer
+ * moves pad their table with columns that always take their alias, so the same layout serves
+ * uniform and weighted {@link MovePolicy policies} alike.
+ */
+public final class WalkSampler {
+    
+    private static final long LOW_BITS = 0xFFFFFFFFL;
+    private static final int SQUARE_MASK = 0xFFFF;
+    
+    private final PieceType type;
+    private final int width;
+    private final long[] table;
+    
+    /**
+     * Creates a sampler choosing every move of a piece type with equal probability.
+     * With equal weights, square tables that are full map each column straight to the move of
+     * the same index, in the order of {@link PieceType#targets(int)}.
+     * 
+     * @param type the type of the walking piece
+     */
+    public WalkSampler(PieceType type) {
+        this(type, MovePolicy.UNIFORM);
+    }
+    
+    /**
+     * Creates a sampler choosing the moves of a piece type according to a policy.
+     * 
+     * @param type the type of the walking piece
+     * @param policy the weights of the moves
+     * @throws IllegalArgumentException if a weight is negative, or all moves from a square weigh zero
+     */
+    public WalkSampler(PieceType type, MovePolicy policy) {
+        this.type = type;
+        int maxMoves = 0;
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            maxMoves = Math.max(maxMoves, type.targets(square).size());
+        }
+        this.width = maxMoves;
+        this.table = new long[AttackTables.SQUARES * width];
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            buildTable(square, policy);
+        }
+    }
+    
+    /**
+     * Builds the alias table of a square with Vose's method.
+     */
+    private void buildTable(int square, MovePolicy policy) {
+        List<Position> targets = type.targets(square);
+        int[] columnTargets = new int[width];
+        double[] scaled = new double[width];
+        double total = 0;
+        for (int i = 0; i < targets.size(); i++) {
+            columnTargets[i] = Bitboard.squareOf(targets.get(i));
+            double weight = policy.weight(square, columnTargets[i]);
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight + " from " + square + " to " + columnTargets[i]);
+            }
+            scaled[i] = weight;
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("No move from square " + square + " has a positive weight");
+        }
+        
+        // Scale so that each column holds a probability mass of 1; padding columns hold none
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int column = 0; column < width; column++) {
+            scaled[column] = scaled[column] * width / total;
+            (scaled[column] < 1 ? small : large).push(column);
+        }
+        int[] aliases = new int[width];
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            aliases[less] = columnTargets[more];
+            scaled[more] -= 1 - scaled[less];
+            (scaled[more] < 1 ? small : large).push(more);
+        }
+        // Whatever is left is full up to rounding errors and always keeps its own target
+        for (Deque<Integer> rest : List.of(small, large)) {
+            for (int column : rest) {
+                scaled[column] = 1;
+            }
+        }
+        
+        for (int column = 0; column < width; column++) {
+            long threshold;
+            int alias = aliases[column];
+            if (scaled[column] >= 1) {
+                threshold = LOW_BITS;
+                alias = columnTargets[column];
+            } else {
+                threshold = (long) (scaled[column] * (LOW_BITS + 1));
+            }
+            table[square * width + column] = threshold << 32 | (long) alias << 16 | columnTargets[column];
+        }
+    }
+    
+    /**
+     * Gets the type of the walking piece.
+     * 
+     * @return the piece type
+     */
+    public PieceType getType() {
+        return type;
+    }
+    
+    /**
+     * Samples the next square of the walk.
+     * 
+     * @param square the square index of the piece
+     * @param random the random source, drawn from once
+     * @return the square index of the next square
+     */
+    public int next(int square, Random random) {
+        long bits = random.nextLong();
+        long entry = table[square * width + (int) (((bits >>> 32) * width) >>> 32)];
+        return (int) ((bits & LOW_BITS) < (entry >>> 32) ? entry : entry >>> 16) & SQUARE_MASK;
+    }
+    
+    /**
+     * Walks a number of steps, writing every square visited after the start.
+     * 
+     * @param start the square index where the walk starts
+     * @param steps the number of steps
+     * @param out receives the square after each step, from index 0
+     * @param random the random source, drawn from once per step
+     * @return the square index at the end of the walk
+     * @throws IllegalArgumentException if {@code out} is shorter than the number of steps
+     */
+    public int walk(int start, int steps, int[] out, Random random) {
+        if (steps < 0 || steps > out.length) {
+            throw new IllegalArgumentException("Cannot write " + steps + " steps into " + out.length + " squares");
+        }
+        int square = start;
+        for (int i = 0; i < steps; i++) {
+            square = next(square, random);
+            out[i] = square;
+        }
+        return square;
+    }
+    
+    /**
+     * Walks a number of steps, counting the visits of every square after the start.
+     * This suits walks of billions of steps, which cannot be written out.
+     * 
+     * @param start the square index where the walk starts
+     * @param steps the number of steps
+     * @param visits receives the number of visits, by square index, added to its contents
+     * @param random the random source, drawn from once per step
+     * @return the square index at the end of the walk
+     */
+    public int walk(int start, long steps, long[] visits, Random random) {
+        if (visits.length != AttackTables.SQUARES) {
+            throw new IllegalArgumentException("Visits are counted for " + AttackTables.SQUARES + " squares, not " + visits.length);
+        }
+        int square = start;
+        for (long i = 0; i < steps; i++) {
+            square = next(square, random);
+            visits[square]++;
+        }
+        return square;
+    }
+}
@@ -0,0 +1,65 @@
+package chessGame;
+
+/**
+ * Zobrist keys for hashing positions: the hash of a position is the XOR of the keys of every
+ * (piece type, square) pair on it, so moving a piece updates the hash in O(1) by XOR-ing out the
+ * key of its old square and in the key of its new one. Pieces of the same type are
+ * interchangeable, so positions that only differ by which of them stands where hash alike.
+ * <p>
+ * Boards can have billions of squares, so the keys are derived from the piece type and square
+ * by a 64-bit mixing function instead of being drawn from a table; the keys of the standard
+ * board are cached. A square index stands for different positions on boards of different sizes,
+ * so hashes should only be compared between positions on boards of the same size.
+ */
+public final class Zobrist {
+    
+    // Arbitrary odd constant separating the key streams of the piece types
+    private static final long TYPE_SEED = 0x9E3779B97F4A7C15L;
+    
+    private static final long[][] STANDARD_KEYS = new long[PieceType.values().length][AttackTables.SQUARES];
+    
+    static {
+        for (PieceType type : PieceType.values()) {
+            for (int square = 0; square < AttackTables.SQUARES; square++) {
+                STANDARD_KEYS[type.ordinal()][square] = mix(type, square);
+            }
+        }
+    }
+    
+    private Zobrist() {
+    }
+    
+    /**
+     * Gets the key of a piece type on a square.
+     * 
+     * @param type the piece type
+     * @param square the square index, see {@link BoardSize}
+     * @return the key
+     */
+    public static long key(PieceType type, int square) {
+        if (square >= 0 && square < AttackTables.SQUARES) {
+            return STANDARD_KEYS[type.ordinal()][square];
+        }
+        return mix(type, square);
+    }
+    
+    /**
+     * Gets the change of the hash when a piece moves, to be XOR-ed into the hash.
+     * 
+     * @param type the type of the moving piece
+     * @param from the square index the piece leaves
+     * @param to the square index the piece moves to
+     * @return the XOR of the keys of both squares
+     */
+    public static long move(PieceType type, int from, int to) {
+        return key(type, from) ^ key(type, to);
+    }
+    
+    private static long mix(PieceType type, int square) {
+        // The finalizer of SplitMix64, which spreads every input bit over the whole key
+        long z = (type.ordinal() + 1) * TYPE_SEED + (square & 0xFFFFFFFFL);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,127 @@
+package chessGame;
+
+import chessLib.KnightMove;
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttackTablesTest {
+    
+    @Test
+    void testKnightTablesMatchChessLib() {
+        // The tables must produce exactly what KnightMove produces, in the same order
+        KnightMove knightMove = new KnightMove();
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            Position from = Bitboard.positionOf(square);
+            List<Position> expected = new ArrayList<>(knightMove.validMovesFor(from));
+            
+            assertEquals(expected, PieceType.KNIGHT.targets(square));
+            assertEquals(Bitboard.maskOf(expected), PieceType.KNIGHT.attacks(square));
+        }
+    }
+    
+    @Test
+    void testBishopAndQueenTableSizes() {
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            int x = Bitboard.xOf(square);
+            int y = Bitboard.yOf(square);
+            
+            // Brute force over the whole board
+            int diagonal = 0;
+            int straight = 0;
+            for (int tx = 1; tx <= 8; tx++) {
+                for (int ty = 1; ty <= 8; ty++) {
+                    if (tx == x && ty == y) {
+                        continue;
+                    }
+                    if (Math.abs(tx - x) == Math.abs(ty - y)) {
+                        diagonal++;
+                    } else if (tx == x || ty == y) {
+                        straight++;
+                    }
+                }
+            }
+            
+            assertEquals(diagonal, Long.bitCount(PieceType.BISHOP.attacks(square)));
+            assertEquals(diagonal, PieceType.BISHOP.targets(square).size());
+            assertEquals(diagonal + straight, Long.bitCount(PieceType.QUEEN.attacks(square)));
+            assertEquals(diagonal + straight, PieceType.QUEEN.targets(square).size());
+        }
+    }
+    
+    @Test
+    void testUnobstructedMovesShareTheTableList() {
+        // With nothing in the way the precomputed immutable list is returned without copying
+        Knight knight = new Knight(new Position(4, 4));
+        Collection<Position> validMoves = knight.getValidMoves(new HashSet<>());
+        
+        assertSame(PieceType.KNIGHT.targets(Bitboard.squareOf(4, 4)), validMoves);
+        assertThrows(UnsupportedOperationException.class, () -> validMoves.add(new Position(1, 1)));
+    }
+    
+    @Test
+    void testFilteredMovesKeepTableOrder() {
+        Queen queen = new Queen(new Position(4, 4));
+        Set<Position> occupied = new HashSet<>();
+        occupied.add(new Position(5, 5));
+        occupied.add(new Position(4, 1));
+        
+        List<Position> expected = new ArrayList<>(PieceType.QUEEN.targets(Bitboard.squareOf(4, 4)));
+        expected.remove(new Position(5, 5));
+        expected.remove(new Position(4, 1));
+        
+        assertEquals(expected, new ArrayList<>(queen.getValidMoves(occupied)));
+    }
+    
+    @Test
+    void testGeneratedMovesMatchTablesOnStandardBoard() {
+        // The direction-based generation used for other board sizes agrees with the tables
+        Occupancy empty = new BitSetOccupancy(AttackTables.SQUARES);
+        MoveBuffer moves = new MoveBuffer();
+        for (PieceType type : PieceType.values()) {
+            for (int square = 0; square < AttackTables.SQUARES; square++) {
+                type.generateMoves(BoardSize.STANDARD, square, empty, moves);
+                
+                List<Position> generated = new ArrayList<>();
+                for (int i = 0; i < moves.size(); i++) {
+                    generated.add(Bitboard.positionOf(moves.get(i)));
+                }
+                assertEquals(type.targets(square), generated, type + " at " + square);
+            }
+        }
+    }
+    
+    @Test
+    void testReachesMatchesTables() {
+        for (PieceType type : PieceType.values()) {
+            for (int from = 0; from < AttackTables.SQUARES; from++) {
+                for (int to = 0; to < AttackTables.SQUARES; to++) {
+                    boolean expected = (type.attacks(from) & (1L << to)) != 0;
+                    boolean reaches = type.reaches(Bitboard.xOf(to) - Bitboard.xOf(from),
+                            Bitboard.yOf(to) - Bitboard.yOf(from));
+                    assertEquals(expected, reaches, type + " from " + from + " to " + to);
+                }
+            }
+        }
+    }
+    
+    @Test
+    void testRaysStopAtTheEdgeOfLargerBoards() {
+        BoardSize size = BoardSize.of(20);
+        Occupancy occupied = Occupancy.create(size);
+        occupied.add(size.squareOf(15, 15));
+        MoveBuffer moves = new MoveBuffer();
+        
+        // A queen in the corner sees 19 squares along each of its three rays, minus the occupied one
+        assertEquals(3 * 19 - 1, PieceType.QUEEN.generateMoves(size, size.squareOf(1, 1), occupied, moves));
+        // A knight in the middle of a large board has all eight moves, including beyond the 8x8 area
+        assertEquals(8, PieceType.KNIGHT.generateMoves(size, size.squareOf(10, 10), occupied, moves));
+    }
+}
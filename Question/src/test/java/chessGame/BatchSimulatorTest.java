@@ -0,0 +1,50 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSimulatorTest {
+    
+    private BatchStatistics runWithThreads(int threads, long games, long seed) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return new BatchSimulator(pool, new UniformPieceSelector(), 50, seed).run(games);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    void testAllGamesArePlayed() {
+        BatchStatistics statistics = runWithThreads(4, 1_000, 1L);
+        
+        assertEquals(1_000, statistics.getGames());
+        assertEquals(50_000, statistics.getMoves() + statistics.getSkippedTurns());
+        
+        // Six pieces end every game somewhere
+        long finalPieces = 0;
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            finalPieces += statistics.getFinalSquareCount(square);
+        }
+        assertEquals(6_000, finalPieces);
+    }
+    
+    @Test
+    void testResultsDoNotDependOnThreadCount() {
+        BatchStatistics single = runWithThreads(1, 2_000, 99L);
+        BatchStatistics parallel = runWithThreads(8, 2_000, 99L);
+        
+        assertEquals(single, parallel);
+        assertNotEquals(single, runWithThreads(8, 2_000, 100L));
+    }
+    
+    @Test
+    void testGameSeedsAreDistinct() {
+        assertNotEquals(BatchSimulator.gameSeed(1L, 0), BatchSimulator.gameSeed(1L, 1));
+        assertNotEquals(BatchSimulator.gameSeed(1L, 0), BatchSimulator.gameSeed(2L, 0));
+        assertEquals(BatchSimulator.gameSeed(1L, 5), BatchSimulator.gameSeed(1L, 5));
+    }
+}
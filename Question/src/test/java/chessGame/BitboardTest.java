@@ -0,0 +1,96 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitboardTest {
+    
+    @Test
+    void testSquareIndexRoundTrip() {
+        // Every in-bounds position maps to a unique square and back
+        for (int x = 1; x <= 8; x++) {
+            for (int y = 1; y <= 8; y++) {
+                int square = Bitboard.squareOf(new Position(x, y));
+                assertTrue(square >= 0 && square < 64);
+                assertEquals(new Position(x, y), Bitboard.positionOf(square));
+            }
+        }
+        
+        // Corners
+        assertEquals(0, Bitboard.squareOf(1, 1));
+        assertEquals(7, Bitboard.squareOf(8, 1));
+        assertEquals(63, Bitboard.squareOf(8, 8));
+    }
+    
+    @Test
+    void testOutOfBoundsPositionsAreIgnored() {
+        assertEquals(Bitboard.EMPTY, Bitboard.bitOf(new Position(0, 3)));
+        assertEquals(Bitboard.EMPTY, Bitboard.bitOf(new Position(9, 4)));
+        
+        long mask = Bitboard.maskOf(Arrays.asList(new Position(0, 0), new Position(2, 2)));
+        assertEquals(1L << Bitboard.squareOf(2, 2), mask);
+    }
+    
+    @Test
+    void testToPositionsIsOrderedBySquare() {
+        long mask = Bitboard.maskOf(Arrays.asList(new Position(8, 8), new Position(1, 1), new Position(3, 2)));
+        
+        List<Position> positions = Bitboard.toPositions(mask);
+        
+        assertEquals(Arrays.asList(new Position(1, 1), new Position(3, 2), new Position(8, 8)), positions);
+    }
+    
+    @Test
+    void testNthSetBit() {
+        long mask = (1L << 3) | (1L << 17) | (1L << 63);
+        
+        assertEquals(3, Bitboard.nthSetBit(mask, 0));
+        assertEquals(17, Bitboard.nthSetBit(mask, 1));
+        assertEquals(63, Bitboard.nthSetBit(mask, 2));
+    }
+    
+    @Test
+    void testPiecesAgreeWithCollectionAdapter() {
+        // The mask entry point and the Collection adapter must describe the same moves
+        long occupied = Bitboard.maskOf(Arrays.asList(new Position(5, 5), new Position(6, 5), new Position(4, 6)));
+        ChessPiece[] pieces = {
+            new Knight(new Position(4, 4)),
+            new Bishop(new Position(4, 4)),
+            new Queen(new Position(4, 4))
+        };
+        
+        for (ChessPiece piece : pieces) {
+            long mask = piece.getValidMoveMask(occupied);
+            assertEquals(Long.bitCount(mask), piece.getValidMoves(new HashSet<>(Bitboard.toPositions(occupied))).size());
+            assertEquals(Bitboard.EMPTY, mask & occupied, "Moves must never land on an occupied square");
+        }
+    }
+    
+    @Test
+    void testGenerateMovesIntoBuffer() {
+        long occupied = Bitboard.maskOf(Arrays.asList(new Position(5, 5), new Position(4, 1)));
+        Queen queen = new Queen(new Position(4, 4));
+        MoveBuffer buffer = new MoveBuffer(4);
+        
+        int count = queen.generateMoves(occupied, buffer);
+        
+        // The buffer grows as needed and holds the squares of the mask in ascending order
+        long mask = queen.getValidMoveMask(occupied);
+        assertEquals(Long.bitCount(mask), count);
+        assertEquals(count, buffer.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Bitboard.nthSetBit(mask, i), buffer.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(count));
+        
+        // The buffer is cleared on reuse
+        assertEquals(2, new Knight(new Position(1, 1)).generateMoves(Bitboard.EMPTY, buffer));
+        assertEquals(2, buffer.size());
+    }
+}
@@ -0,0 +1,83 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardTest {
+    
+    @Test
+    void testPlaceUpdatesMailboxAndOccupancy() {
+        Board board = new Board();
+        Knight knight = new Knight(new Position(2, 1));
+        Queen queen = new Queen(new Position(5, 8));
+        
+        board.place(knight);
+        board.place(queen);
+        
+        assertSame(knight, board.getPieceAt(Bitboard.squareOf(2, 1)));
+        assertSame(queen, board.getPieceAt(new Position(5, 8)));
+        assertNull(board.getPieceAt(new Position(1, 1)));
+        assertNull(board.getPieceAt(new Position(0, 1)));
+        assertEquals((1L << Bitboard.squareOf(2, 1)) | (1L << Bitboard.squareOf(5, 8)), board.getOccupancy());
+    }
+    
+    @Test
+    void testPlaceRejectsOccupiedAndOutOfBounds() {
+        Board board = new Board();
+        board.place(new Bishop(new Position(3, 1)));
+        
+        assertThrows(IllegalArgumentException.class, () -> board.place(new Queen(new Position(3, 1))));
+        assertThrows(IllegalArgumentException.class, () -> board.place(new Queen(new Position(9, 1))));
+    }
+    
+    @Test
+    void testMoveKeepsPieceAndBoardConsistent() {
+        Board board = new Board();
+        Bishop bishop = new Bishop(new Position(3, 1));
+        board.place(bishop);
+        
+        int from = Bitboard.squareOf(3, 1);
+        int to = Bitboard.squareOf(6, 4);
+        assertSame(bishop, board.move(from, to));
+        
+        // The piece position follows the board
+        assertEquals(new Position(6, 4), bishop.getPosition());
+        assertFalse(board.isOccupied(from));
+        assertTrue(board.isOccupied(to));
+        assertNull(board.getPieceAt(from));
+        assertSame(bishop, board.getPieceAt(to));
+        assertEquals(1L << to, board.getOccupancy());
+    }
+    
+    @Test
+    void testMoveRejectsEmptySourceAndOccupiedTarget() {
+        Board board = new Board();
+        board.place(new Knight(new Position(2, 1)));
+        board.place(new Knight(new Position(3, 3)));
+        
+        assertThrows(IllegalArgumentException.class, () -> board.move(Bitboard.squareOf(1, 1), Bitboard.squareOf(4, 4)));
+        assertThrows(IllegalArgumentException.class, () -> board.move(Bitboard.squareOf(2, 1), Bitboard.squareOf(3, 3)));
+    }
+    
+    @Test
+    void testComplexGameBoardMatchesPieces() {
+        ComplexGame game = new ComplexGame();
+        game.setup();
+        game.play(200);
+        
+        // After many moves every piece still stands where the board says it does
+        Board board = game.getBoard();
+        long occupancy = Bitboard.EMPTY;
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            ChessPiece piece = board.getPieceAt(square);
+            if (piece != null) {
+                assertEquals(Bitboard.positionOf(square), piece.getPosition());
+                occupancy |= 1L << square;
+            }
+        }
+        assertEquals(6, Long.bitCount(occupancy));
+        assertEquals(occupancy, board.getOccupancy());
+    }
+}
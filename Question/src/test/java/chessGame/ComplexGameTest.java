@@ -0,0 +1,141 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ComplexGameTest {
+    
+    @Test
+    void testStepMovesExactlyOnePiece() {
+        ComplexGame game = new ComplexGame();
+        game.setup();
+        long before = game.getBoard().getOccupancy();
+        
+        assertTrue(game.step(), "The initial setup always has a movable piece");
+        
+        // One square was vacated and one was taken
+        long after = game.getBoard().getOccupancy();
+        assertEquals(6, Long.bitCount(after));
+        assertEquals(2, Long.bitCount(before ^ after));
+    }
+    
+    @Test
+    void testStepDoesNotAllocate() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "Allocation counters not available");
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported(), "Allocation counters not supported");
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        
+        ComplexGame game = new ComplexGame();
+        game.setup();
+        
+        // Warm up so that class loading and compilation do not count
+        for (int i = 0; i < 100_000; i++) {
+            game.step();
+        }
+        
+        long threadId = Thread.currentThread().threadId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            game.step();
+        }
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+        
+        // Leave room for the measurement itself, but not for even one object per move
+        assertTrue(allocated < 1024, "Simulated moves allocated " + allocated + " bytes");
+    }
+    
+    @Test
+    void testLargeBoardKeepsMobilityConsistent() {
+        checkMobilityAfterSteps(BoardSize.of(1000), 2000);
+    }
+    
+    @Test
+    void testSparseBoardKeepsMobilityConsistent() {
+        checkMobilityAfterSteps(BoardSize.of(BoardSize.MAX_SIZE), 50);
+    }
+    
+    @Test
+    void testSmallBoardKeepsMobilityConsistent() {
+        checkMobilityAfterSteps(BoardSize.of(5), 10);
+    }
+    
+    @Test
+    void testDefaultSetupNeedsAStandardSizedBoard() {
+        ComplexGame game = new ComplexGame(BoardSize.of(5), new UniformPieceSelector(), new Random(1));
+        game.setListener(new QuietGameEventListener());
+        
+        assertThrows(IllegalArgumentException.class, game::setup);
+    }
+    
+    private static void checkMobilityAfterSteps(BoardSize size, int pieceCount) {
+        Random random = new Random(7);
+        List<ChessPiece> pieces = new ArrayList<>();
+        Board placed = new Board(size);
+        while (pieces.size() < pieceCount) {
+            Position pos = new Position(1 + random.nextInt(size.size()), 1 + random.nextInt(size.size()));
+            if (placed.getPieceAt(pos) == null) {
+                ChessPiece piece = PieceType.values()[pieces.size() % 3].newPiece(pos);
+                placed.place(piece);
+                pieces.add(piece);
+            }
+        }
+        
+        ComplexGame game = new ComplexGame(size, new UniformPieceSelector(), new Random(11));
+        game.setListener(new QuietGameEventListener());
+        game.setup(pieces);
+        for (int i = 0; i < 500; i++) {
+            game.step();
+        }
+        
+        // The incrementally updated cache agrees with a full recount, and the board with the pieces
+        Board board = game.getBoard();
+        MobilityCache mobility = game.getMobility();
+        MoveBuffer moves = new MoveBuffer();
+        for (int i = 0; i < pieces.size(); i++) {
+            ChessPiece piece = pieces.get(i);
+            assertTrue(size.contains(piece.getPosition()));
+            assertSame(piece, board.getPieceAt(piece.getPosition()));
+            assertEquals(piece.generateMoves(size, board.getOccupied(), moves), mobility.getMobility(i));
+        }
+        assertEquals(pieceCount, board.getOccupied().size());
+    }
+    
+    @Test
+    void testOccupiedPositionsOnLargeBoards() {
+        BoardSize size = BoardSize.of(1000);
+        ComplexGame game = new ComplexGame(size, new UniformPieceSelector(), new Random(12));
+        game.setListener(new QuietGameEventListener());
+        game.setup(List.of(new Knight(new Position(9, 1)), new Bishop(new Position(20, 20)),
+                new Queen(new Position(500, 700))));
+        game.play(5);
+        
+        Set<Position> occupied = game.getOccupiedPositions();
+        Board board = game.getBoard();
+        MoveBuffer moves = new MoveBuffer();
+        assertEquals(3, occupied.size());
+        assertFalse(occupied.contains(new Position(1, 1)));
+        for (ChessPiece piece : game.getPieces()) {
+            assertTrue(occupied.contains(piece.getPosition()));
+            // The set carries the board size, so the moves are those of the large board
+            Collection<Position> validMoves = piece.getValidMoves(occupied);
+            assertEquals(piece.generateMoves(size, board.getOccupied(), moves), validMoves.size());
+            for (Position target : validMoves) {
+                assertTrue(size.contains(target));
+                assertFalse(occupied.contains(target));
+            }
+        }
+    }
+}
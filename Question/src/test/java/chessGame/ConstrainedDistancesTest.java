@@ -0,0 +1,129 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstrainedDistancesTest {
+    
+    /**
+     * Searches again from scratch with the same blocked squares.
+     */
+    private static ConstrainedDistances recompute(ConstrainedDistances distances, PieceType type, BoardSize size) {
+        ConstrainedDistances fresh = new ConstrainedDistances(type, size, distances.getSource());
+        for (int square = 0; square < size.squareCount(); square++) {
+            if (distances.isBlocked(square)) {
+                fresh.block(square);
+            }
+        }
+        return fresh;
+    }
+    
+    @Test
+    void testBlockedSquaresAreAvoided() {
+        // A knight in the corner with both of its targets taken cannot move
+        ConstrainedDistances distances = new ConstrainedDistances(PieceType.KNIGHT, BoardSize.STANDARD, 0);
+        assertEquals(6, distances.distance(63));
+        distances.block(Bitboard.squareOf(2, 3));
+        assertEquals(1, distances.distance(Bitboard.squareOf(3, 2)));
+        assertEquals(DistanceTable.UNREACHABLE, distances.distance(Bitboard.squareOf(2, 3)));
+        distances.block(Bitboard.squareOf(3, 2));
+        assertEquals(DistanceTable.UNREACHABLE, distances.distance(63));
+        assertEquals(0, distances.distance(0));
+        
+        // Freeing one of them opens the board again, though not always by the shortest paths
+        distances.unblock(Bitboard.squareOf(2, 3));
+        assertEquals(1, distances.distance(Bitboard.squareOf(2, 3)));
+        assertEquals(DistanceTable.UNREACHABLE, distances.distance(Bitboard.squareOf(3, 2)));
+        DistanceTable table = DistanceTable.of(PieceType.KNIGHT);
+        for (int square = 1; square < AttackTables.SQUARES; square++) {
+            if (square != Bitboard.squareOf(3, 2)) {
+                assertTrue(distances.distance(square) >= table.distance(0, square));
+            }
+        }
+    }
+    
+    @Test
+    void testIncrementalUpdatesMatchFullSearches() {
+        Random random = new Random(1);
+        for (BoardSize size : List.of(BoardSize.of(5), BoardSize.STANDARD, BoardSize.of(12))) {
+            for (PieceType type : PieceType.values()) {
+                int squares = size.squareCount();
+                ConstrainedDistances distances = new ConstrainedDistances(type, size, random.nextInt(squares));
+                List<Integer> blocked = new ArrayList<>();
+                for (int step = 0; step < 200; step++) {
+                    int square = random.nextInt(squares);
+                    if (distances.isBlocked(square)) {
+                        distances.unblock(square);
+                        blocked.remove(Integer.valueOf(square));
+                    } else if (square != distances.getSource()) {
+                        if (blocked.size() < squares / 3) {
+                            distances.block(square);
+                            blocked.add(square);
+                        } else if (!blocked.isEmpty()) {
+                            distances.move(blocked.remove(0), square);
+                            blocked.add(square);
+                        }
+                    }
+                    ConstrainedDistances expected = recompute(distances, type, size);
+                    for (int target = 0; target < squares; target++) {
+                        assertEquals(expected.distance(target), distances.distance(target), type + " " + size);
+                    }
+                }
+            }
+        }
+    }
+    
+    @Test
+    void testDistantChangesAreCheap() {
+        ConstrainedDistances distances = new ConstrainedDistances(PieceType.KNIGHT, BoardSize.of(32), 0);
+        long expanded = distances.getExpandedSquares();
+        // Far corner: only the last level is searched again
+        distances.block(BoardSize.of(32).squareCount() - 1);
+        assertTrue(distances.getExpandedSquares() - expanded < 100);
+    }
+    
+    @Test
+    void testForPiece() {
+        ComplexGame game = new ComplexGame(2);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        GameState state = game.snapshot();
+        MoveBuffer moves = new MoveBuffer();
+        for (int piece = 0; piece < state.getPieceCount(); piece++) {
+            ConstrainedDistances distances = ConstrainedDistances.forPiece(state, piece);
+            int count = state.generateMoves(piece, moves);
+            for (int i = 0; i < count; i++) {
+                assertEquals(1, distances.distance(moves.get(i)));
+            }
+            for (int other = 0; other < state.getPieceCount(); other++) {
+                if (other != piece) {
+                    assertTrue(distances.isBlocked(state.getSquare(other)));
+                }
+            }
+        }
+    }
+    
+    @Test
+    void testInvalidChanges() {
+        ConstrainedDistances distances = new ConstrainedDistances(PieceType.QUEEN, BoardSize.STANDARD, 10);
+        assertThrows(IllegalArgumentException.class, () -> distances.block(10));
+        assertThrows(IllegalArgumentException.class, () -> distances.unblock(11));
+        distances.block(11);
+        assertThrows(IllegalArgumentException.class, () -> distances.block(11));
+        assertThrows(IllegalArgumentException.class, () -> distances.move(12, 13));
+        assertThrows(IndexOutOfBoundsException.class, () -> distances.distance(64));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> new ConstrainedDistances(PieceType.QUEEN, BoardSize.STANDARD, -1));
+        assertThrows(IllegalArgumentException.class, () -> new ConstrainedDistances(PieceType.QUEEN,
+                BoardSize.of(ConstrainedDistances.MAX_BOARD_SIZE + 1), 0));
+        
+        BoardSize huge = BoardSize.of(BoardSize.MAX_SIZE);
+        GameState state = GameState.of(huge, List.of(new Knight(huge.positionOf(0))));
+        assertThrows(IllegalArgumentException.class, () -> ConstrainedDistances.forPiece(state, 0));
+    }
+}
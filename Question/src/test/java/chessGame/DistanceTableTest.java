@@ -0,0 +1,90 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceTableTest {
+    
+    @Test
+    void testKnownStandardDistances() {
+        DistanceTable knight = DistanceTable.of(PieceType.KNIGHT);
+        assertEquals(0, knight.distance(new Position(1, 1), new Position(1, 1)));
+        assertEquals(1, knight.distance(new Position(1, 1), new Position(2, 3)));
+        assertEquals(4, knight.distance(new Position(1, 1), new Position(2, 2)));
+        assertEquals(6, knight.distance(new Position(1, 1), new Position(8, 8)));
+        
+        DistanceTable bishop = DistanceTable.of(PieceType.BISHOP);
+        assertEquals(1, bishop.distance(new Position(1, 1), new Position(8, 8)));
+        assertEquals(2, bishop.distance(new Position(1, 1), new Position(3, 1)));
+        assertEquals(DistanceTable.UNREACHABLE, bishop.distance(new Position(1, 1), new Position(2, 1)));
+        
+        DistanceTable queen = DistanceTable.of(PieceType.QUEEN);
+        assertEquals(1, queen.distance(new Position(1, 1), new Position(1, 8)));
+        assertEquals(2, queen.distance(new Position(1, 1), new Position(2, 3)));
+    }
+    
+    @Test
+    void testTablesAreShared() {
+        assertSame(DistanceTable.of(PieceType.QUEEN), DistanceTable.of(PieceType.QUEEN, BoardSize.of(8)));
+        assertSame(DistanceTable.of(PieceType.KNIGHT, BoardSize.of(5)), DistanceTable.of(PieceType.KNIGHT, BoardSize.of(5)));
+        assertEquals(PieceType.BISHOP, DistanceTable.of(PieceType.BISHOP, BoardSize.of(5)).getType());
+    }
+    
+    @Test
+    void testMatchesUnconstrainedSearch() {
+        for (BoardSize size : List.of(BoardSize.of(3), BoardSize.STANDARD, BoardSize.of(11))) {
+            for (PieceType type : PieceType.values()) {
+                DistanceTable table = DistanceTable.of(type, size);
+                for (int from = 0; from < size.squareCount(); from++) {
+                    ConstrainedDistances expected = new ConstrainedDistances(type, size, from);
+                    for (int to = 0; to < size.squareCount(); to++) {
+                        assertEquals(expected.distance(to), table.distance(from, to), type + " " + size);
+                        assertEquals(table.distance(from, to), table.distance(to, from));
+                    }
+                }
+            }
+        }
+    }
+    
+    @Test
+    void testPathsAreShortestSequencesOfMoves() {
+        BoardSize size = BoardSize.of(10);
+        for (PieceType type : PieceType.values()) {
+            DistanceTable table = DistanceTable.of(type, size);
+            for (int from = 0; from < size.squareCount(); from += 7) {
+                for (int to = 0; to < size.squareCount(); to++) {
+                    Position start = size.positionOf(from);
+                    Position target = size.positionOf(to);
+                    List<Position> path = table.path(start, target);
+                    int distance = table.distance(from, to);
+                    if (distance == DistanceTable.UNREACHABLE) {
+                        assertTrue(path.isEmpty());
+                        continue;
+                    }
+                    assertEquals(distance + 1, path.size());
+                    assertEquals(start, path.get(0));
+                    assertEquals(target, path.get(distance));
+                    for (int i = 1; i < path.size(); i++) {
+                        Position a = path.get(i - 1);
+                        Position b = path.get(i);
+                        assertTrue(type.reaches(b.x() - a.x(), b.y() - a.y()));
+                    }
+                }
+            }
+        }
+    }
+    
+    @Test
+    void testInvalidArguments() {
+        DistanceTable knight = DistanceTable.of(PieceType.KNIGHT);
+        assertThrows(IllegalArgumentException.class,
+                () -> DistanceTable.of(PieceType.KNIGHT, BoardSize.of(DistanceTable.MAX_BOARD_SIZE + 1)));
+        assertThrows(IllegalArgumentException.class, () -> knight.distance(new Position(1, 1), new Position(9, 1)));
+        assertThrows(IllegalArgumentException.class, () -> knight.path(new Position(0, 1), new Position(1, 1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> knight.distance(0, 64));
+    }
+}
@@ -0,0 +1,160 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventListenerTest {
+    
+    private String playWithConsole(long seed, int moves) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ComplexGame game = new ComplexGame(seed);
+        game.setListener(new ConsoleGameEventListener(new PrintStream(bytes, true)));
+        game.setup();
+        game.play(moves);
+        return bytes.toString();
+    }
+    
+    @Test
+    void testConsoleLogFormat() {
+        String log = playWithConsole(3L, 2);
+        String newline = System.lineSeparator();
+        
+        assertTrue(log.startsWith("Game setup complete with 6 pieces." + newline
+                + newline + "Current board state:" + newline
+                + "  1. Knight at (2, 1)" + newline));
+        assertTrue(log.contains(newline + "=== Move 1 ===" + newline));
+        assertTrue(log.contains(newline + "=== Move 2 ===" + newline));
+        assertTrue(log.contains("Valid moves available: "));
+        assertTrue(log.contains(newline + "=== Game Complete ===" + newline));
+    }
+    
+    @Test
+    void testBufferedLogMatchesConsoleLog() {
+        StringWriter out = new StringWriter();
+        ComplexGame game = new ComplexGame(5L);
+        
+        // A tiny batch size forces many hand-offs to the writer thread
+        try (BufferedTextGameEventListener listener = new BufferedTextGameEventListener(out, 100)) {
+            game.setListener(listener);
+            game.setup();
+            game.play(500);
+        }
+        
+        assertEquals(playWithConsole(5L, 500), out.toString());
+    }
+    
+    @Test
+    void testBufferedLogFlush() {
+        StringWriter out = new StringWriter();
+        BufferedTextGameEventListener listener = new BufferedTextGameEventListener(out);
+        listener.onTurnSkipped(1);
+        
+        // Nothing is written before a full batch, flush or close
+        assertEquals("", out.toString());
+        listener.flush();
+        assertTrue(out.toString().contains("Skipping turn."));
+        listener.close();
+    }
+    
+    @Test
+    void testBufferedLogRejectsUseAfterClose() {
+        StringWriter out = new StringWriter();
+        BufferedTextGameEventListener listener = new BufferedTextGameEventListener(out, 1);
+        listener.onTurnSkipped(1);
+        listener.close();
+        String log = out.toString();
+        
+        // Neither blocks on the stopped writer thread, even past the pending batch limit
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertThrows(IllegalStateException.class, listener::flush);
+            for (int i = 2; i < 100; i++) {
+                int moveNumber = i;
+                assertThrows(IllegalStateException.class, () -> listener.onTurnSkipped(moveNumber));
+            }
+            listener.close();
+        });
+        assertEquals(log, out.toString());
+    }
+    
+    @Test
+    void testBufferedLogReportsWriteFailures() {
+        Writer failing = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("disk full");
+            }
+            
+            @Override
+            public void flush() {
+            }
+            
+            @Override
+            public void close() {
+            }
+        };
+        BufferedTextGameEventListener listener = new BufferedTextGameEventListener(failing, 1);
+        listener.onTurnSkipped(1);
+        
+        assertThrows(UncheckedIOException.class, listener::flush);
+    }
+    
+    @Test
+    void testCountingListener() {
+        CountingGameEventListener counter = new CountingGameEventListener();
+        ComplexGame game = new ComplexGame(new UniformPieceSelector(), new Random(9));
+        game.setListener(counter);
+        game.setup();
+        game.play(1_000);
+        
+        assertEquals(1, counter.getGamesStarted());
+        assertEquals(1, counter.getGamesFinished());
+        assertEquals(1_000, counter.getMoves() + counter.getSkippedTurns());
+        assertTrue(counter.getValidMoves() >= counter.getMoves());
+    }
+    
+    @Test
+    void testSimpleGameReportsKnightMoves() {
+        CountingGameEventListener counter = new CountingGameEventListener();
+        SimpleGame game = new SimpleGame();
+        game.setListener(counter);
+        game.setup();
+        game.play(50);
+        
+        assertEquals(50, counter.getMoves());
+        assertEquals(0, counter.getSkippedTurns());
+    }
+    
+    @Test
+    void testSimpleGameKeepsItsLogFormat() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SimpleGame game = new SimpleGame(4L);
+        game.setListener(new SimpleConsoleGameEventListener(new PrintStream(bytes, true)));
+        game.setup();
+        
+        // Nothing is printed before the walk starts, then moves are numbered from 0
+        assertEquals("", bytes.toString());
+        game.play(3);
+        String[] lines = bytes.toString().split("\\r\\n", -1);
+        assertEquals(5, lines.length);
+        assertEquals("0: My Position is " + Square.of(3, 3).toPosition(), lines[0]);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(lines[i + 1].startsWith(i + ": My position is ("), lines[i + 1]);
+        }
+        assertEquals("", lines[4]);
+        
+        // A walk without moves still prints its starting position
+        bytes.reset();
+        game.play(0);
+        assertEquals(lines[3].replace("2: My position", "0: My Position") + "\r\n", bytes.toString());
+    }
+}
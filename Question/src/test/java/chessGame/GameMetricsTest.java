@@ -0,0 +1,86 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+    
+    @Test
+    void testBucketsCoverValuesWithBoundedError() {
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        for (long value = 0; value < 1_000_000; value = value * 3 / 2 + 1) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long lowest = LatencyHistogram.lowestValueOf(bucket);
+            long next = LatencyHistogram.lowestValueOf(bucket + 1);
+            
+            assertTrue(lowest <= value && value < next, "Bucket of " + value);
+            // A bucket spans at most 1/16 of its values
+            assertTrue((next - lowest) * 16 <= Math.max(lowest, 16), "Width of bucket " + bucket);
+        }
+    }
+    
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getMedianNanos());
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 100L);
+        }
+        histogram.record(-5);
+        
+        assertEquals(1001, histogram.getCount());
+        assertEquals(100_000, histogram.getMaxNanos());
+        assertEquals(50_000, histogram.getMedianNanos(), 50_000 / 16.0);
+        assertEquals(99_000, histogram.getP99Nanos(), 99_000 / 16.0);
+        assertEquals(100_000, histogram.getValueAtPercentile(100));
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+        
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+    
+    @Test
+    void testCountersAndSnapshot() {
+        GameMetrics metrics = new GameMetrics();
+        metrics.recordSelection();
+        metrics.recordSelection();
+        metrics.recordMove();
+        metrics.recordSkippedTurn();
+        metrics.recordMoveGeneration(PieceType.QUEEN, 250);
+        
+        assertEquals(2, metrics.getSelections());
+        assertEquals(1, metrics.getMoves());
+        assertEquals(1, metrics.getSkippedTurns());
+        assertEquals(1, metrics.getMoveGeneration(PieceType.QUEEN).getCount());
+        assertEquals(0, metrics.getMoveGeneration(PieceType.KNIGHT).getCount());
+        assertTrue(metrics.snapshot().contains("moves=1 skipped=1 selections=2"));
+        assertTrue(metrics.snapshot().contains("QUEEN move generation: count=1"));
+        
+        metrics.reset();
+        assertEquals(0, metrics.getMoves());
+    }
+    
+    @Test
+    void testMBeansExposeTheMetrics() throws Exception {
+        GameMetrics metrics = new GameMetrics();
+        metrics.recordMove();
+        metrics.recordMoveGeneration(PieceType.BISHOP, 1000);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        
+        metrics.registerMBeans();
+        try {
+            assertEquals(1L, server.getAttribute(GameMetrics.metricsName(), "Moves"));
+            assertEquals(1000L, server.getAttribute(GameMetrics.moveGenerationName(PieceType.BISHOP), "MaxNanos"));
+            assertThrows(IllegalStateException.class, metrics::registerMBeans);
+        } finally {
+            metrics.unregisterMBeans();
+        }
+        assertFalse(server.isRegistered(GameMetrics.metricsName()));
+    }
+}
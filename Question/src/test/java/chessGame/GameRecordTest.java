@@ -0,0 +1,110 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testRecordAndReadBackComplexGame() throws IOException {
+        Path file = tempDir.resolve("game.chgr");
+        ComplexGame game = new ComplexGame(11L);
+        try (GameRecordWriter writer = new GameRecordWriter(file, 11L)) {
+            game.setListener(writer);
+            game.setup();
+            game.play(10_000);
+            assertEquals(10_000, writer.getMoveCount());
+        }
+        
+        // Header plus two bytes per move
+        assertEquals(GameRecordFormat.headerSize(6) + 2 * 10_000, Files.size(file));
+        
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            assertEquals(11L, reader.getSeed());
+            assertEquals(6, reader.getPieceCount());
+            assertEquals(10_000, reader.getMoveCount());
+            assertEquals(PieceType.KNIGHT, reader.getPieceType(0));
+            assertEquals(PieceType.QUEEN, reader.getPieceType(5));
+            assertEquals(Bitboard.squareOf(5, 8), reader.getInitialSquare(5));
+            
+            // Replaying the record ends in the same position as the game
+            List<ChessPiece> pieces = reader.createInitialPieces();
+            Board board = new Board();
+            pieces.forEach(board::place);
+            for (long move = 0; move < reader.getMoveCount(); move++) {
+                assertFalse(reader.isSkipped(move));
+                ChessPiece piece = pieces.get(reader.getPieceIndex(move));
+                board.move(Bitboard.squareOf(piece.getPosition()), reader.getTargetSquare(move));
+            }
+            assertEquals(game.getBoard().getOccupancy(), board.getOccupancy());
+            for (int square = 0; square < AttackTables.SQUARES; square++) {
+                ChessPiece expected = game.getBoard().getPieceAt(square);
+                ChessPiece actual = board.getPieceAt(square);
+                assertEquals(expected == null ? null : expected.getType(), actual == null ? null : actual.getType());
+            }
+            
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.getTargetSquare(10_000));
+        }
+    }
+    
+    @Test
+    void testSkippedTurnsAreRecorded() throws IOException {
+        Path file = tempDir.resolve("skips.chgr");
+        try (GameRecordWriter writer = new GameRecordWriter(file, 0L)) {
+            writer.onGameStarted(List.of(new Knight(Bitboard.positionOf(0))));
+            writer.onTurnSkipped(1);
+            writer.onMove(2, null, Bitboard.positionOf(0), Bitboard.positionOf(17), 2);
+            writer.onGameFinished(List.of());
+        }
+        
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            assertEquals(2, reader.getMoveCount());
+            assertTrue(reader.isSkipped(0));
+            assertFalse(reader.isSkipped(1));
+            assertEquals(0, reader.getPieceIndex(1));
+            assertEquals(17, reader.getTargetSquare(1));
+        }
+    }
+    
+    @Test
+    void testRecordSimpleGame() throws IOException {
+        Path file = tempDir.resolve("simple.chgr");
+        SimpleGame game = new SimpleGame(3L);
+        try (GameRecordWriter writer = new GameRecordWriter(file, 3L)) {
+            game.setListener(writer);
+            game.setup();
+            game.play(100);
+        }
+        
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            assertEquals(1, reader.getPieceCount());
+            assertEquals(Bitboard.squareOf(3, 3), reader.getInitialSquare(0));
+            
+            // Every recorded step is a knight jump from the previous square
+            int square = reader.getInitialSquare(0);
+            for (long move = 0; move < reader.getMoveCount(); move++) {
+                int target = reader.getTargetSquare(move);
+                assertTrue((PieceType.KNIGHT.attacks(square) & (1L << target)) != 0);
+                square = target;
+            }
+        }
+    }
+    
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("other.txt");
+        Files.write(file, new byte[64]);
+        
+        assertThrows(IOException.class, () -> new GameRecordReader(file));
+    }
+}
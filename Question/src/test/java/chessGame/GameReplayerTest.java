@@ -0,0 +1,79 @@
+package chessGame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameReplayerTest {
+    
+    private static final int MOVES = 5_000;
+    
+    @TempDir
+    Path tempDir;
+    
+    private Path file;
+    
+    // Occupancy after each move, recorded while the game was played
+    private final List<Long> occupancies = new ArrayList<>();
+    
+    @BeforeEach
+    void recordGame() throws IOException {
+        file = tempDir.resolve("game.chgr");
+        ComplexGame game = new ComplexGame(21L);
+        try (GameRecordWriter writer = new GameRecordWriter(file, 21L)) {
+            game.setListener(writer);
+            game.setup();
+            occupancies.add(game.getBoard().getOccupancy());
+            for (int i = 0; i < MOVES; i++) {
+                game.play(1);
+                occupancies.add(game.getBoard().getOccupancy());
+            }
+        }
+    }
+    
+    @Test
+    void testSeekMatchesPlayedGame() throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            GameReplayer replayer = new GameReplayer(reader, 100);
+            Random random = new Random(1);
+            
+            // Random seeks in both directions, plus both ends
+            for (int i = 0; i < 200; i++) {
+                int move = i == 0 ? 0 : i == 1 ? MOVES : random.nextInt(MOVES + 1);
+                replayer.seek(move);
+                assertEquals(move, replayer.getCurrentMove());
+                assertEquals((long) occupancies.get(move), replayer.getOccupancy(), "Wrong position after move " + move);
+            }
+        }
+    }
+    
+    @Test
+    void testSequentialSeeksOnlyApplyNewMoves() throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            GameReplayer replayer = new GameReplayer(reader);
+            for (int move = 0; move <= MOVES; move += 7) {
+                replayer.seek(move);
+                assertEquals((long) occupancies.get(move), replayer.getOccupancy());
+            }
+        }
+    }
+    
+    @Test
+    void testSeekOutOfRange() throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            GameReplayer replayer = new GameReplayer(reader, 64);
+            
+            assertThrows(IndexOutOfBoundsException.class, () -> replayer.seek(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> replayer.seek(MOVES + 1));
+            assertThrows(IllegalArgumentException.class, () -> new GameReplayer(reader, 0));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package chessGame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+    
+    private GameServer server;
+    private HttpClient client;
+    private String games;
+    
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new GameServer(0);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        games = "http://localhost:" + server.getPort() + "/games";
+    }
+    
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+    
+    private HttpResponse<String> send(String method, String uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                .method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+    
+    @Test
+    void testSessionLifecycle() throws Exception {
+        HttpResponse<String> created = send("POST", games + "?seed=42");
+        assertEquals(201, created.statusCode());
+        assertTrue(created.body().startsWith("{\"id\":1,\"moves\":0,\"skippedTurns\":0,\"pieces\":["));
+        assertTrue(created.body().contains("{\"type\":\"QUEEN\",\"x\":5,\"y\":8}"));
+        assertEquals(1, server.getSessionCount());
+        
+        HttpResponse<String> stepped = send("POST", games + "/1/step?moves=5");
+        assertEquals(200, stepped.statusCode());
+        assertEquals("{\"id\":1,\"played\":5,\"skipped\":0,\"moves\":5,\"skippedTurns\":0}", stepped.body());
+        
+        HttpResponse<String> state = send("GET", games + "/1");
+        assertEquals(200, state.statusCode());
+        assertTrue(state.body().startsWith("{\"id\":1,\"moves\":5,"));
+        
+        assertEquals(204, send("DELETE", games + "/1").statusCode());
+        assertEquals(404, send("GET", games + "/1").statusCode());
+        assertEquals(0, server.getSessionCount());
+    }
+    
+    @Test
+    void testRejectsInvalidRequests() throws Exception {
+        send("POST", games);
+        
+        assertEquals(405, send("GET", games).statusCode());
+        assertEquals(404, send("GET", games + "/99").statusCode());
+        assertEquals(404, send("GET", games + "/1/other").statusCode());
+        assertEquals(404, send("GET", games + "extra").statusCode());
+        assertEquals(405, send("PUT", games + "/1").statusCode());
+        assertEquals(405, send("GET", games + "/1/step").statusCode());
+        assertEquals(400, send("GET", games + "/abc").statusCode());
+        assertEquals(400, send("POST", games + "/1/step?moves=-1").statusCode());
+        assertEquals(400, send("POST", games + "/1/step?moves=many").statusCode());
+    }
+    
+    @Test
+    void testConcurrentStepsOnOneSession() throws Exception {
+        send("POST", games + "?seed=7");
+        
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                results.add(threads.submit(() -> send("POST", games + "/1/step?moves=3").statusCode()));
+            }
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(200, result.get());
+        }
+        
+        // No step was lost: every move was either played or skipped
+        String state = send("GET", games + "/1").body();
+        assertTrue(state.startsWith("{\"id\":1,\"moves\":150,\"skippedTurns\":0,"), state);
+    }
+    
+    @Test
+    void testLoadGeneratorRecordsEveryStep() throws Exception {
+        try (GameLoadGenerator generator = new GameLoadGenerator(URI.create("http://localhost:" + server.getPort()), 32)) {
+            LatencyHistogram latencies = generator.run(200, 3, 10);
+            
+            assertEquals(600, latencies.getCount());
+            assertTrue(latencies.getP99Nanos() > 0);
+            // Every session was deleted at the end of the run
+            assertEquals(0, server.getSessionCount());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateTest {
+    
+    @Test
+    void testApplyMoveLeavesTheParentUnchanged() {
+        ComplexGame game = new ComplexGame(1);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        GameState root = game.snapshot();
+        int from = root.getSquare(0);
+        int to = Bitboard.squareOf(3, 3);
+        
+        GameState child = root.fork().applyMove(0, to);
+        assertEquals(from, root.getSquare(0));
+        assertTrue(root.isOccupied(from));
+        assertFalse(root.isOccupied(to));
+        assertEquals(to, child.getSquare(0));
+        assertFalse(child.isOccupied(from));
+        assertTrue(child.isOccupied(to));
+        for (int i = 1; i < root.getPieceCount(); i++) {
+            assertEquals(root.getSquare(i), child.getSquare(i));
+        }
+        
+        // The game itself is not affected by branching
+        assertEquals(from, Bitboard.squareOf(game.getPieces().get(0).getPosition()));
+    }
+    
+    @Test
+    void testInvalidMoves() {
+        GameState state = GameState.of(BoardSize.STANDARD, List.of(
+                new Knight(Square.of(1, 1).toPosition()), new Queen(Square.of(2, 2).toPosition())));
+        assertThrows(IllegalArgumentException.class, () -> state.applyMove(0, Bitboard.squareOf(2, 2)));
+        assertThrows(IllegalArgumentException.class, () -> state.applyMove(0, 64));
+        assertThrows(IndexOutOfBoundsException.class, () -> state.applyMove(2, 10));
+        assertThrows(IllegalArgumentException.class, () -> GameState.of(BoardSize.STANDARD, List.of(
+                new Knight(Square.of(1, 1).toPosition()), new Queen(Square.of(1, 1).toPosition()))));
+    }
+    
+    @Test
+    void testGeneratedMovesMatchThePieces() {
+        // Compare with the pieces of the same position on both board representations
+        for (BoardSize size : List.of(BoardSize.STANDARD, BoardSize.of(100))) {
+            Random random = new Random(3);
+            List<ChessPiece> pieces = randomPieces(random, size, 40);
+            GameState state = GameState.of(size, pieces);
+            Occupancy occupancy = Occupancy.create(size);
+            for (ChessPiece piece : pieces) {
+                occupancy.add(size.squareOf(piece.getPosition()));
+            }
+            
+            MoveBuffer expected = new MoveBuffer();
+            MoveBuffer actual = new MoveBuffer();
+            for (int i = 0; i < pieces.size(); i++) {
+                ChessPiece piece = pieces.get(i);
+                piece.getType().generateMoves(size, size.squareOf(piece.getPosition()), occupancy, expected);
+                assertEquals(toSet(expected), toSet(actual, state.generateMoves(i, actual)), size + " piece " + i);
+            }
+        }
+    }
+    
+    @Test
+    void testRolloutsBranchIndependently() {
+        for (BoardSize size : List.of(BoardSize.STANDARD, BoardSize.of(1000), BoardSize.of(BoardSize.MAX_SIZE))) {
+            GameState root = GameState.of(size, randomPieces(new Random(4), size, 20));
+            MoveBuffer moves = new MoveBuffer();
+            
+            // Every step moves one piece to an empty square reachable by its type
+            GameState state = root;
+            Random random = new Random(5);
+            for (int i = 0; i < 500; i++) {
+                GameState next = state.step(random, moves);
+                int moved = -1;
+                for (int p = 0; p < root.getPieceCount(); p++) {
+                    if (next.getSquare(p) != state.getSquare(p)) {
+                        assertEquals(-1, moved, "Only one piece moves per step");
+                        moved = p;
+                    }
+                }
+                assertNotEquals(-1, moved);
+                int from = state.getSquare(moved);
+                int to = next.getSquare(moved);
+                assertFalse(state.isOccupied(to));
+                assertTrue(root.getType(moved).reaches(size.xOf(to) - size.xOf(from), size.yOf(to) - size.yOf(from)));
+                state = next;
+            }
+            
+            // The same seed from the same branch point gives the same rollout, however often it forks
+            GameState first = rollout(root.fork(), 200, 6);
+            GameState second = rollout(root.fork(), 200, 6);
+            for (int p = 0; p < root.getPieceCount(); p++) {
+                assertEquals(first.getSquare(p), second.getSquare(p));
+            }
+            
+            // The branch point still holds the initial pieces
+            List<ChessPiece> initial = randomPieces(new Random(4), size, 20);
+            List<ChessPiece> pieces = root.toPieces();
+            for (int p = 0; p < root.getPieceCount(); p++) {
+                assertEquals(initial.get(p).getType(), pieces.get(p).getType());
+                assertEquals(initial.get(p).getPosition(), pieces.get(p).getPosition());
+            }
+        }
+    }
+    
+    @Test
+    void testRandomMovesAreUniform() {
+        // A queen with two of its targets taken by knights
+        BoardSize size = BoardSize.of(10);
+        List<ChessPiece> pieces = List.of(new Queen(size.positionOf(size.squareOf(3, 3))),
+                new Knight(size.positionOf(size.squareOf(3, 7))), new Knight(size.positionOf(size.squareOf(7, 7))));
+        GameState state = GameState.of(size, pieces);
+        MoveBuffer moves = new MoveBuffer();
+        int count = state.generateMoves(0, moves);
+        Set<Integer> targets = toSet(moves, count);
+        
+        int samples = 100_000;
+        int queenMoves = 0;
+        int[] counts = new int[size.squareCount()];
+        Random random = new Random(9);
+        for (int i = 0; i < samples; i++) {
+            GameState next = state.step(random, moves);
+            if (next.getSquare(0) != state.getSquare(0)) {
+                queenMoves++;
+                counts[next.getSquare(0)]++;
+            }
+        }
+        
+        // All three pieces can move, so the queen moves a third of the time, to any target alike
+        assertEquals(1.0 / 3, (double) queenMoves / samples, 0.01);
+        for (int square = 0; square < counts.length; square++) {
+            double p = targets.contains(square) ? 1.0 / count : 0;
+            double tolerance = 5 * Math.sqrt(p * (1 - p) / queenMoves) + 1e-9;
+            assertEquals(p, (double) counts[square] / queenMoves, tolerance, "Square " + square);
+        }
+    }
+    
+    @Test
+    void testBlockedPiecesSkipTheTurn() {
+        // On a full board no piece can move
+        List<ChessPiece> pieces = new ArrayList<>();
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            pieces.add(new Knight(Bitboard.positionOf(square)));
+        }
+        GameState full = GameState.of(BoardSize.STANDARD, pieces);
+        assertSame(full, full.step(new Random(7), new MoveBuffer()));
+        
+        // With one empty square, only the pieces a knight's jump away can move, onto it
+        pieces.remove(Bitboard.squareOf(4, 4));
+        GameState state = GameState.of(BoardSize.STANDARD, pieces);
+        GameState next = state.step(new Random(8), new MoveBuffer());
+        assertNotSame(state, next);
+        assertTrue(next.isOccupied(Bitboard.squareOf(4, 4)));
+    }
+    
+    @Test
+    void testPersistentArraySharesUntouchedValues() {
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 31L;
+        }
+        PersistentLongArray array = PersistentLongArray.of(values);
+        PersistentLongArray changed = array.with(54_321, -1);
+        assertEquals(54_321 * 31L, array.get(54_321));
+        assertEquals(-1, changed.get(54_321));
+        assertArrayEquals(values, array.toArray());
+        values[54_321] = -1;
+        assertArrayEquals(values, changed.toArray());
+        assertSame(changed, changed.with(54_321, -1));
+        
+        PersistentLongArray zeros = PersistentLongArray.zeros(Integer.MAX_VALUE);
+        assertEquals(0, zeros.get(Integer.MAX_VALUE - 1));
+        assertEquals(7, zeros.with(Integer.MAX_VALUE - 1, 7).get(Integer.MAX_VALUE - 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> zeros.get(-1));
+    }
+    
+    private static GameState rollout(GameState state, int moves, long seed) {
+        Random random = new Random(seed);
+        MoveBuffer buffer = new MoveBuffer();
+        for (int i = 0; i < moves; i++) {
+            state = state.step(random, buffer);
+        }
+        return state;
+    }
+    
+    private static List<ChessPiece> randomPieces(Random random, BoardSize size, int count) {
+        List<ChessPiece> pieces = new ArrayList<>();
+        Set<Integer> taken = new HashSet<>();
+        PieceType[] types = PieceType.values();
+        while (pieces.size() < count) {
+            int x = 1 + random.nextInt(size.size());
+            int y = 1 + random.nextInt(size.size());
+            if (taken.add(size.squareOf(x, y))) {
+                pieces.add(types[pieces.size() % types.length].newPiece(size.positionOf(size.squareOf(x, y))));
+            }
+        }
+        return pieces;
+    }
+    
+    private static Set<Integer> toSet(MoveBuffer moves) {
+        return toSet(moves, moves.size());
+    }
+    
+    private static Set<Integer> toSet(MoveBuffer moves, int count) {
+        Set<Integer> squares = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            squares.add(moves.get(i));
+        }
+        return squares;
+    }
+}
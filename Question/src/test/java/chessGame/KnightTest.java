@@ -180,5 +180,25 @@ class KnightTest {
         assertTrue(validMoves.contains(new Position(7, 6)));
         assertFalse(validMoves.contains(new Position(4, 5))); // Would be valid from (3,3) but not from (5,5)
     }
+    
+    @Test
+    void testKnightOutsideTheStandardBoard() {
+        // (9, 1) is valid on larger boards, but must not be mapped onto another 8x8 square
+        Knight knight = new Knight(new Position(9, 1));
+        Set<Position> occupiedPositions = new HashSet<>();
+        assertThrows(IllegalArgumentException.class, () -> knight.getValidMoves(occupiedPositions));
+        assertThrows(IllegalArgumentException.class, () -> knight.getValidMoveMask(Bitboard.EMPTY));
+        assertThrows(IllegalArgumentException.class, () -> new Knight(new Position(20, 20)).getValidMoves(occupiedPositions));
+        
+        // Given the board size, the moves are those of that board
+        BoardSize size = BoardSize.of(1000);
+        occupiedPositions.add(new Position(10, 3));
+        Collection<Position> validMoves = knight.getValidMoves(size, occupiedPositions);
+        assertEquals(3, validMoves.size());
+        assertTrue(validMoves.contains(new Position(7, 2)));
+        assertTrue(validMoves.contains(new Position(11, 2)));
+        assertTrue(validMoves.contains(new Position(8, 3)));
+        assertFalse(validMoves.contains(new Position(10, 3))); // Occupied
+        assertThrows(IllegalArgumentException.class, () -> knight.getValidMoves(BoardSize.of(8), occupiedPositions));
+    }
 }
-
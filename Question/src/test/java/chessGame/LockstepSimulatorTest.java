@@ -0,0 +1,71 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockstepSimulatorTest {
+    
+    private static List<ChessPiece> defaultPieces() {
+        ComplexGame game = new ComplexGame(0);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        return game.snapshot().toPieces();
+    }
+    
+    @Test
+    void testAllGamesArePlayed() {
+        // Not a multiple of the block size, so the last block is partial
+        BatchStatistics statistics = new LockstepSimulator(defaultPieces(), 50, 1L).run(1_000);
+        
+        assertEquals(1_000, statistics.getGames());
+        assertEquals(50_000, statistics.getMoves() + statistics.getSkippedTurns());
+        long finalPieces = 0;
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            finalPieces += statistics.getFinalSquareCount(square);
+        }
+        assertEquals(6_000, finalPieces);
+    }
+    
+    @Test
+    void testVectorAndScalarKernelsAgree() {
+        assertTrue(LockstepSimulator.isVectorAvailable(), "Tests run with the vector module");
+        for (int games : new int[] {1, 7, 256, 1_001}) {
+            BatchStatistics scalar = new LockstepSimulator(defaultPieces(), 40, 5L, false).run(games);
+            BatchStatistics vector = new LockstepSimulator(defaultPieces(), 40, 5L, true).run(games);
+            assertEquals(scalar, vector, games + " games");
+        }
+        assertNotEquals(new LockstepSimulator(defaultPieces(), 40, 5L).run(100),
+                new LockstepSimulator(defaultPieces(), 40, 6L).run(100));
+    }
+    
+    @Test
+    void testMatchesTheObjectSimulatorInDistribution() {
+        BatchStatistics objects = new BatchSimulator(30, 2L).run(20_000);
+        BatchStatistics lockstep = new LockstepSimulator(defaultPieces(), 30, 3L).run(20_000);
+        
+        assertEquals(objects.getMoves(), lockstep.getMoves());
+        assertEquals(objects.getAverageValidMoves(), lockstep.getAverageValidMoves(), 0.05);
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            double expected = objects.getFinalSquareCount(square);
+            double tolerance = 6 * Math.sqrt(expected + 1) + 10;
+            assertEquals(expected, lockstep.getFinalSquareCount(square), tolerance, "Square " + square);
+        }
+    }
+    
+    @Test
+    void testBlockedGamesSkipEveryTurn() {
+        List<ChessPiece> pieces = new ArrayList<>();
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            pieces.add(new Bishop(Bitboard.positionOf(square)));
+        }
+        BatchStatistics statistics = new LockstepSimulator(pieces, 10, 4L).run(300);
+        assertEquals(0, statistics.getMoves());
+        assertEquals(3_000, statistics.getSkippedTurns());
+        assertThrows(IllegalArgumentException.class, () -> new LockstepSimulator(
+                List.of(new Knight(Square.of(1, 1).toPosition()), new Queen(Square.of(1, 1).toPosition())), 1, 1L));
+    }
+}
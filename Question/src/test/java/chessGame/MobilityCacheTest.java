@@ -0,0 +1,54 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MobilityCacheTest {
+    
+    @Test
+    void testResetCountsValidMoves() {
+        List<ChessPiece> pieces = Arrays.asList(
+            new Knight(new Position(1, 1)),
+            new Queen(new Position(4, 4)),
+            new Bishop(new Position(2, 3)));
+        long occupied = new PositionBitSet(Arrays.asList(new Position(1, 1), new Position(4, 4), new Position(2, 3))).mask();
+        
+        MobilityCache mobility = new MobilityCache();
+        mobility.reset(pieces, occupied);
+        
+        // The knight on (1, 1) is blocked on (2, 3), the queen on its diagonal to (1, 1)
+        assertEquals(1, mobility.getMobility(0));
+        assertEquals(26, mobility.getMobility(1));
+        assertEquals(Long.bitCount(pieces.get(2).getValidMoveMask(occupied)), mobility.getMobility(2));
+        assertEquals(3, mobility.getPieceCount());
+        assertEquals(3, mobility.getMovableCount());
+        assertEquals(1 + 26 + mobility.getMobility(2), mobility.getTotalMobility());
+    }
+    
+    @Test
+    void testCacheStaysConsistentWithMoveGeneration() {
+        ComplexGame game = new ComplexGame(42L);
+        game.setup();
+        
+        for (int i = 0; i < 2_000; i++) {
+            game.step();
+            
+            // Every cached count matches a full regeneration
+            Board board = game.getBoard();
+            MobilityCache mobility = game.getMobility();
+            int total = 0;
+            for (int square = 0; square < AttackTables.SQUARES; square++) {
+                ChessPiece piece = board.getPieceAt(square);
+                if (piece != null) {
+                    total += Long.bitCount(piece.getValidMoveMask(board.getOccupancy()));
+                }
+            }
+            assertEquals(total, mobility.getTotalMobility());
+        }
+    }
+}
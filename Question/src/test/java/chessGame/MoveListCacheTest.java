@@ -0,0 +1,103 @@
+package chessGame;
+
+import chessLib.Position;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveListCacheTest {
+    
+    @Test
+    void testCachedMovesMatchThePieces() {
+        MoveListCache cache = new MoveListCache(64);
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            // Few distinct boards, so that lookups both hit and miss
+            long occupancy = new Random(random.nextInt(20)).nextLong() & new Random(random.nextInt(20)).nextLong();
+            PieceType type = PieceType.values()[random.nextInt(PieceType.values().length)];
+            int square = random.nextInt(AttackTables.SQUARES);
+            ChessPiece piece = type.newPiece(Bitboard.positionOf(square));
+            CachingChessPiece cached = new CachingChessPiece(piece, cache);
+            
+            PositionBitSet occupied = new PositionBitSet(occupancy);
+            assertEquals(new ArrayList<>(piece.getValidMoves(occupied)), new ArrayList<>(cached.getValidMoves(occupied)));
+        }
+        assertTrue(cache.getHits() > 0);
+        assertTrue(cache.getMisses() > 0);
+        assertTrue(cache.getEvictions() > 0);
+    }
+    
+    @Test
+    void testHitsShareTheList() {
+        MoveListCache cache = new MoveListCache(16);
+        int square = Bitboard.squareOf(4, 4);
+        long occupied = Bitboard.bitOf(new Position(5, 5)) | Bitboard.bitOf(new Position(1, 1));
+        
+        List<Position> first = cache.get(PieceType.QUEEN, square, occupied);
+        // A blocker out of reach of the queen shares the entry
+        List<Position> second = cache.get(PieceType.QUEEN, square, occupied | Bitboard.bitOf(new Position(6, 8)));
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new Position(1, 2)));
+        
+        // Pieces with nothing in reach get the shared table lists without using the cache
+        assertSame(PieceType.KNIGHT.targets(square), cache.get(PieceType.KNIGHT, square, occupied));
+        assertEquals(1, cache.getMisses());
+    }
+    
+    @Test
+    void testClockKeepsReferencedEntries() {
+        // A single set of four entries: the entry hit since the last sweep survives
+        MoveListCache cache = new MoveListCache(4);
+        int square = Bitboard.squareOf(1, 1);
+        long[] boards = new long[6];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = Bitboard.bitOf(new Position(i + 2, i + 2));
+        }
+        for (int i = 0; i < 4; i++) {
+            cache.get(PieceType.BISHOP, square, boards[i]);
+        }
+        cache.get(PieceType.BISHOP, square, boards[0]);
+        cache.get(PieceType.BISHOP, square, boards[4]);
+        cache.get(PieceType.BISHOP, square, boards[5]);
+        assertEquals(2, cache.getEvictions());
+        
+        long misses = cache.getMisses();
+        cache.get(PieceType.BISHOP, square, boards[0]);
+        assertEquals(misses, cache.getMisses());
+        
+        cache.clear();
+        assertEquals(0, cache.getHits());
+        cache.get(PieceType.BISHOP, square, boards[0]);
+        assertEquals(1, cache.getMisses());
+    }
+    
+    @Test
+    void testGameWithCachingPieces() {
+        MoveListCache cache = new MoveListCache(1024);
+        List<ChessPiece> pieces = new ArrayList<>();
+        for (ChessPiece piece : List.of(new Knight(Square.of(2, 1).toPosition()),
+                new Bishop(Square.of(3, 1).toPosition()), new Queen(Square.of(4, 1).toPosition()))) {
+            pieces.add(new CachingChessPiece(piece, cache));
+        }
+        ComplexGame game = new ComplexGame(5);
+        game.setListener(new QuietGameEventListener());
+        game.setup(pieces);
+        for (int i = 0; i < 500; i++) {
+            game.step();
+            for (ChessPiece piece : pieces) {
+                ChessPiece inner = ((CachingChessPiece) piece).getPiece();
+                assertEquals(inner.getPosition(), piece.getPosition());
+                Collection<Position> moves = piece.getValidMoves(game.getOccupiedPositions());
+                assertEquals(new ArrayList<>(inner.getValidMoves(game.getOccupiedPositions())), new ArrayList<>(moves));
+            }
+        }
+    }
+}
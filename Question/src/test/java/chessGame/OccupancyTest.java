@@ -0,0 +1,79 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyTest {
+    
+    @Test
+    void testRepresentationIsChosenBySize() {
+        assertTrue(Occupancy.create(BoardSize.of(5)) instanceof LongOccupancy);
+        assertTrue(Occupancy.create(BoardSize.STANDARD) instanceof LongOccupancy);
+        assertTrue(Occupancy.create(BoardSize.of(9)) instanceof BitSetOccupancy);
+        assertTrue(Occupancy.create(BoardSize.of(1000)) instanceof BitSetOccupancy);
+        assertTrue(Occupancy.create(BoardSize.of(BoardSize.MAX_SIZE)) instanceof SparseOccupancy);
+    }
+    
+    @Test
+    void testBoardSizeBounds() {
+        BoardSize size = BoardSize.of(1000);
+        
+        assertSame(BoardSize.STANDARD, BoardSize.of(8));
+        assertEquals(1_000_000, size.squareCount());
+        assertTrue(size.contains(1000, 1));
+        assertFalse(size.contains(1001, 1));
+        assertEquals(999, size.xOf(size.squareOf(999, 500)));
+        assertEquals(500, size.yOf(size.squareOf(999, 500)));
+        assertThrows(IllegalArgumentException.class, () -> BoardSize.of(0));
+        assertThrows(IllegalArgumentException.class, () -> BoardSize.of(BoardSize.MAX_SIZE + 1));
+    }
+    
+    @Test
+    void testLongOccupancy() {
+        checkAgainstSet(new LongOccupancy(), 64);
+    }
+    
+    @Test
+    void testBitSetOccupancy() {
+        checkAgainstSet(new BitSetOccupancy(1000), 1000);
+    }
+    
+    @Test
+    void testSparseOccupancy() {
+        // A small range forces collisions, removals and reinsertions of the same squares
+        checkAgainstSet(new SparseOccupancy(), 300);
+        checkAgainstSet(new SparseOccupancy(), Integer.MAX_VALUE);
+    }
+    
+    private static void checkAgainstSet(Occupancy occupancy, int squares) {
+        Random random = new Random(42);
+        Set<Integer> expected = new HashSet<>();
+        int[] used = new int[200];
+        for (int i = 0; i < used.length; i++) {
+            used[i] = random.nextInt(squares);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            int square = used[random.nextInt(used.length)];
+            if (random.nextBoolean()) {
+                occupancy.add(square);
+                expected.add(square);
+            } else {
+                occupancy.remove(square);
+                expected.remove(square);
+            }
+            assertEquals(expected.size(), occupancy.size());
+        }
+        for (int square : used) {
+            assertEquals(expected.contains(square), occupancy.contains(square));
+        }
+        
+        occupancy.clear();
+        assertEquals(0, occupancy.size());
+        assertFalse(occupancy.contains(used[0]));
+    }
+}
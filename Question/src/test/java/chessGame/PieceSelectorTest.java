@@ -0,0 +1,93 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PieceSelectorTest {
+    
+    /**
+     * Builds a cache where only the knight in the corner can move: every other square is filled
+     * with queens, except the two squares the knight can reach.
+     */
+    private MobilityCache buildMostlyBlockedCache() {
+        List<ChessPiece> pieces = new ArrayList<>();
+        PositionBitSet occupied = new PositionBitSet();
+        pieces.add(new Knight(new Position(1, 1)));
+        occupied.add(new Position(1, 1));
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            Position pos = Bitboard.positionOf(square);
+            if (!occupied.contains(pos) && !pos.equals(new Position(2, 3)) && !pos.equals(new Position(3, 2))) {
+                pieces.add(new Queen(pos));
+                occupied.add(pos);
+            }
+        }
+        
+        MobilityCache mobility = new MobilityCache();
+        mobility.reset(pieces, occupied.mask());
+        return mobility;
+    }
+    
+    @Test
+    void testUniformSelectorOnlyPicksMovablePieces() {
+        MobilityCache mobility = buildMostlyBlockedCache();
+        PieceSelector selector = new UniformPieceSelector();
+        Random random = new Random(1);
+        
+        // Most queens are blocked, but the knight is always found on the first try
+        for (int i = 0; i < 1_000; i++) {
+            int index = selector.select(mobility, random);
+            assertTrue(mobility.getMobility(index) > 0);
+        }
+    }
+    
+    @Test
+    void testSelectorsReportWhenNothingCanMove() {
+        MobilityCache mobility = new MobilityCache();
+        List<ChessPiece> pieces = new ArrayList<>();
+        pieces.add(new Knight(new Position(1, 1)));
+        mobility.reset(pieces, new PositionBitSet(List.of(new Position(2, 3), new Position(3, 2))).mask());
+        
+        assertEquals(-1, new UniformPieceSelector().select(mobility, new Random(1)));
+        assertEquals(-1, new MobilityWeightedSelector().select(mobility, new Random(1)));
+    }
+    
+    @Test
+    void testMobilityWeightedSelectorFollowsMobility() {
+        List<ChessPiece> pieces = new ArrayList<>();
+        pieces.add(new Knight(new Position(1, 1))); // 2 moves
+        pieces.add(new Queen(new Position(4, 4)));  // 27 moves
+        MobilityCache mobility = new MobilityCache();
+        mobility.reset(pieces, Bitboard.EMPTY);
+        
+        PieceSelector selector = new MobilityWeightedSelector();
+        Random random = new Random(7);
+        int[] counts = new int[2];
+        for (int i = 0; i < 29_000; i++) {
+            counts[selector.select(mobility, random)]++;
+        }
+        
+        // Expected 2000 and 27000
+        assertEquals(2_000, counts[0], 300);
+        assertEquals(27_000, counts[1], 300);
+    }
+    
+    @Test
+    void testGamesAreReproducibleFromSeed() {
+        ComplexGame first = new ComplexGame(new MobilityWeightedSelector(), new Random(123));
+        ComplexGame second = new ComplexGame(new MobilityWeightedSelector(), new Random(123));
+        first.setup();
+        second.setup();
+        
+        for (int i = 0; i < 500; i++) {
+            first.step();
+            second.step();
+            assertEquals(first.getBoard().getOccupancy(), second.getBoard().getOccupancy());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionBitSetTest {
+    
+    @Test
+    void testAddContainsRemove() {
+        PositionBitSet set = new PositionBitSet();
+        
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(new Position(2, 3)));
+        assertFalse(set.add(new Position(2, 3)), "Adding a duplicate should not change the set");
+        assertTrue(set.add(new Position(8, 8)));
+        
+        assertEquals(2, set.size());
+        assertTrue(set.contains(new Position(2, 3)));
+        assertTrue(set.contains(new Position(8, 8)));
+        assertFalse(set.contains(new Position(3, 2)));
+        
+        // Out of bounds positions and other types are never contained
+        assertFalse(set.contains(new Position(0, 0)));
+        assertFalse(set.contains("(2, 3)"));
+        
+        assertTrue(set.remove(new Position(2, 3)));
+        assertFalse(set.remove(new Position(2, 3)));
+        assertEquals(1, set.size());
+    }
+    
+    @Test
+    void testAddOutOfBoundsIsRejected() {
+        PositionBitSet set = new PositionBitSet();
+        
+        assertThrows(IllegalArgumentException.class, () -> set.add(new Position(9, 1)));
+    }
+    
+    @Test
+    void testIteratorYieldsCanonicalPositionsInSquareOrder() {
+        PositionBitSet set = new PositionBitSet(Arrays.asList(new Position(5, 5), new Position(1, 1)));
+        
+        Iterator<Position> it = set.iterator();
+        assertSame(Square.of(1, 1).toPosition(), it.next());
+        assertSame(Square.of(5, 5).toPosition(), it.next());
+        assertFalse(it.hasNext());
+    }
+    
+    @Test
+    void testIteratorRemove() {
+        PositionBitSet set = new PositionBitSet(Arrays.asList(new Position(1, 1), new Position(2, 2), new Position(3, 3)));
+        
+        set.removeIf(pos -> pos.x() == 2);
+        
+        assertEquals(new PositionBitSet(Arrays.asList(new Position(1, 1), new Position(3, 3))), set);
+    }
+    
+    @Test
+    void testEqualsAndHashCode() {
+        Set<Position> hashSet = new HashSet<>();
+        hashSet.add(new Position(4, 4));
+        hashSet.add(new Position(6, 1));
+        PositionBitSet bitSet = new PositionBitSet(hashSet);
+        
+        // Equality only relies on Position.equals (the reverse direction cannot work, since
+        // a HashSet<Position> looks its elements up by identity hash)
+        assertEquals(bitSet, hashSet);
+        assertEquals(bitSet, new PositionBitSet(bitSet.mask()));
+        assertEquals(bitSet.hashCode(), new PositionBitSet(bitSet.mask()).hashCode());
+        
+        // Sets of the canonical instances agree on the hash code as well
+        Set<Position> canonical = new HashSet<>();
+        canonical.add(Square.of(4, 4).toPosition());
+        canonical.add(Square.of(6, 1).toPosition());
+        assertEquals(canonical.hashCode(), bitSet.hashCode());
+    }
+    
+    @Test
+    void testPiecesTakeTheMaskFastPath() {
+        PositionBitSet occupied = new PositionBitSet(Arrays.asList(new Position(5, 6), new Position(6, 5)));
+        Set<Position> hashSet = new HashSet<>(occupied);
+        
+        Knight knight = new Knight(new Position(4, 4));
+        Collection<Position> fromBitSet = knight.getValidMoves(occupied);
+        
+        assertEquals(6, fromBitSet.size());
+        assertEquals(knight.getValidMoves(hashSet), fromBitSet);
+    }
+    
+    @Test
+    void testComplexGameOccupiedPositions() {
+        ComplexGame game = new ComplexGame();
+        game.setup();
+        
+        Set<Position> occupied = game.getOccupiedPositions();
+        
+        assertTrue(occupied instanceof PositionBitSet);
+        assertEquals(6, occupied.size());
+        assertTrue(occupied.contains(new Position(2, 1)));
+        assertTrue(occupied.contains(new Position(5, 8)));
+    }
+}
@@ -0,0 +1,117 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomWalkSolverTest {
+    
+    private static final double EPSILON = 1e-9;
+    
+    @Test
+    void testSingleStepFollowsTheMovePattern() {
+        RandomWalkSolver solver = new RandomWalkSolver(PieceType.KNIGHT);
+        double[] distribution = solver.distribution(Bitboard.squareOf(2, 1), 1);
+        
+        // A knight on (2, 1) has three moves: (1, 3), (3, 3) and (4, 2)
+        assertEquals(1.0 / 3, distribution[Bitboard.squareOf(1, 3)], EPSILON);
+        assertEquals(1.0 / 3, distribution[Bitboard.squareOf(3, 3)], EPSILON);
+        assertEquals(1.0 / 3, distribution[Bitboard.squareOf(4, 2)], EPSILON);
+        assertEquals(1.0 / 3, solver.getTransitionProbability(Bitboard.squareOf(2, 1), Bitboard.squareOf(4, 2)), EPSILON);
+        assertEquals(1.0, solver.distribution(Bitboard.squareOf(2, 1), 0)[Bitboard.squareOf(2, 1)]);
+    }
+    
+    @Test
+    void testKnightAlternatesColors() {
+        RandomWalkSolver solver = new RandomWalkSolver(PieceType.KNIGHT);
+        int start = Bitboard.squareOf(3, 3);
+        double[] distribution = solver.distribution(start, 1001);
+        
+        double sum = 0;
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            sum += distribution[square];
+            // After an odd number of steps the knight is never on the color it started on
+            if ((Bitboard.xOf(square) + Bitboard.yOf(square)) % 2 == 0) {
+                assertEquals(0, distribution[square], EPSILON);
+            }
+        }
+        assertEquals(1, sum, EPSILON);
+    }
+    
+    @Test
+    void testStationaryDistributionIsProportionalToDegree() {
+        // For a walk on an undirected graph the stationary probability of a square is its
+        // number of moves over the total number of moves
+        for (PieceType type : new PieceType[] {PieceType.KNIGHT, PieceType.QUEEN}) {
+            double[] stationary = new RandomWalkSolver(type).stationaryDistribution();
+            int total = 0;
+            for (int square = 0; square < AttackTables.SQUARES; square++) {
+                total += Long.bitCount(type.attacks(square));
+            }
+            for (int square = 0; square < AttackTables.SQUARES; square++) {
+                assertEquals((double) Long.bitCount(type.attacks(square)) / total, stationary[square], 1e-9,
+                        type + " at " + square);
+            }
+        }
+        assertEquals(2 / 336.0, new RandomWalkSolver(PieceType.KNIGHT).stationaryDistribution()[0], 1e-9);
+    }
+    
+    @Test
+    void testBishopStaysOnItsColor() {
+        int start = Bitboard.squareOf(3, 1);
+        double[] stationary = new RandomWalkSolver(PieceType.BISHOP).stationaryDistribution(start);
+        
+        int total = 0;
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            if ((Bitboard.xOf(square) + Bitboard.yOf(square)) % 2 == 0) {
+                total += Long.bitCount(PieceType.BISHOP.attacks(square));
+            }
+        }
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            boolean sameColor = (Bitboard.xOf(square) + Bitboard.yOf(square)) % 2 == 0;
+            double expected = sameColor ? (double) Long.bitCount(PieceType.BISHOP.attacks(square)) / total : 0;
+            assertEquals(expected, stationary[square], 1e-9);
+        }
+    }
+    
+    @Test
+    void testSimpleGameSamplesTheExactDistribution() {
+        int steps = 5;
+        int games = 20_000;
+        double[] exact = new RandomWalkSolver(PieceType.KNIGHT).distribution(Bitboard.squareOf(3, 3), steps);
+        
+        int[] counts = new int[AttackTables.SQUARES];
+        for (int seed = 0; seed < games; seed++) {
+            SimpleGame game = new SimpleGame(seed);
+            game.setListener(new GameEventListener() {
+                @Override
+                public void onGameFinished(List<ChessPiece> pieces) {
+                    Position pos = pieces.get(0).getPosition();
+                    counts[Bitboard.squareOf(pos)]++;
+                }
+            });
+            game.setup();
+            game.play(steps);
+        }
+        
+        // Each frequency lies within five standard errors of the exact probability
+        for (int square = 0; square < AttackTables.SQUARES; square++) {
+            double p = exact[square];
+            double tolerance = 5 * Math.sqrt(p * (1 - p) / games) + 1e-9;
+            assertEquals(p, (double) counts[square] / games, tolerance, "Square " + square);
+        }
+    }
+    
+    @Test
+    void testRejectsInvalidInput() {
+        RandomWalkSolver solver = new RandomWalkSolver(PieceType.QUEEN);
+        
+        assertThrows(IllegalArgumentException.class, () -> solver.distribution(64, 1));
+        assertThrows(IllegalArgumentException.class, () -> solver.distribution(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> solver.distribution(new double[64], 1));
+        assertThrows(IllegalArgumentException.class, () -> solver.stationaryDistribution(new double[8], 1e-9));
+    }
+}
@@ -0,0 +1,140 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityEnumeratorTest {
+    
+    private static List<ChessPiece> defaultPieces() {
+        ComplexGame game = new ComplexGame(0);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        return game.snapshot().toPieces();
+    }
+    
+    @Test
+    void testMatchesTheTreeWalk() {
+        // Walk every move sequence with immutable states and collect the distinct positions
+        List<ChessPiece> pieces = defaultPieces();
+        int depth = 3;
+        long[] nodes = new long[depth + 1];
+        List<Set<List<Set<Integer>>>> positions = new ArrayList<>();
+        for (int d = 0; d <= depth; d++) {
+            positions.add(new HashSet<>());
+        }
+        walk(GameState.of(BoardSize.STANDARD, pieces), 0, depth, nodes, positions);
+        
+        ReachabilityCounts counts = new ReachabilityEnumerator(pieces).count(depth);
+        assertEquals(depth, counts.getDepth());
+        for (int d = 0; d <= depth; d++) {
+            assertEquals(nodes[d], counts.getNodes(d), "Nodes at depth " + d);
+            assertEquals(positions.get(d).size(), counts.getDistinctStates(d), "Positions at depth " + d);
+        }
+        
+        // The first level is the total mobility of the setup
+        ComplexGame game = new ComplexGame(0);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        assertEquals(game.getMobility().getTotalMobility(), counts.getNodes(1));
+    }
+    
+    @Test
+    void testResultsDoNotDependOnThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(8);
+        try {
+            ReachabilityCounts first = new ReachabilityEnumerator(single, defaultPieces()).count(4);
+            ReachabilityCounts second = new ReachabilityEnumerator(parallel, defaultPieces()).count(4);
+            for (int d = 0; d <= 4; d++) {
+                assertEquals(first.getNodes(d), second.getNodes(d));
+                assertEquals(first.getDistinctStates(d), second.getDistinctStates(d));
+            }
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+    
+    @Test
+    void testTranspositionsAreCountedOnce() {
+        // A knight in the corner: b3 and c2, then 6 moves from each, of which a1 and d4 from both
+        ReachabilityCounts counts = new ReachabilityEnumerator(List.of(new Knight(Square.of(1, 1).toPosition()))).count(2);
+        assertEquals(2, counts.getNodes(1));
+        assertEquals(2, counts.getDistinctStates(1));
+        assertEquals(12, counts.getNodes(2));
+        assertEquals(10, counts.getDistinctStates(2));
+    }
+    
+    @Test
+    void testInvalidArguments() {
+        List<ChessPiece> tooMany = new ArrayList<>();
+        for (int square = 0; square <= ReachabilityEnumerator.MAX_PIECES; square++) {
+            tooMany.add(new Queen(Bitboard.positionOf(square)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ReachabilityEnumerator(tooMany));
+        assertThrows(IllegalArgumentException.class, () -> new ReachabilityEnumerator(defaultPieces()).count(-1));
+    }
+    
+    @Test
+    void testStateCountMapUnderContention() {
+        StateCountMap map = new StateCountMap(4);
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (long key = 0; key < 50_000; key++) {
+                map.add(key, 1);
+            }
+        });
+        assertEquals(50_000, map.size());
+        for (long key = 0; key < 50_000; key++) {
+            assertEquals(8, map.get(key));
+        }
+        assertEquals(0, map.get(50_000));
+        
+        long[] total = new long[1];
+        for (int stripe = 0; stripe < map.stripeCount(); stripe++) {
+            map.forEach(stripe, (key, count) -> total[0] += count);
+        }
+        assertEquals(400_000, total[0]);
+    }
+    
+    private static void walk(GameState state, int depth, int maxDepth, long[] nodes, List<Set<List<Set<Integer>>>> positions) {
+        nodes[depth]++;
+        positions.get(depth).add(canonical(state));
+        if (depth == maxDepth) {
+            return;
+        }
+        MoveBuffer moves = new MoveBuffer();
+        for (int piece = 0; piece < state.getPieceCount(); piece++) {
+            int count = state.generateMoves(piece, moves);
+            int[] targets = new int[count];
+            for (int i = 0; i < count; i++) {
+                targets[i] = moves.get(i);
+            }
+            for (int target : targets) {
+                walk(state.applyMove(piece, target), depth + 1, maxDepth, nodes, positions);
+            }
+        }
+    }
+    
+    private static List<Set<Integer>> canonical(GameState state) {
+        // The set of squares of each piece type
+        List<Set<Integer>> squares = new ArrayList<>();
+        for (PieceType type : PieceType.values()) {
+            Set<Integer> ofType = new HashSet<>();
+            for (int piece = 0; piece < state.getPieceCount(); piece++) {
+                if (state.getType(piece) == type) {
+                    ofType.add(state.getSquare(piece));
+                }
+            }
+            squares.add(ofType);
+        }
+        return squares;
+    }
+}
@@ -0,0 +1,100 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialIndexTest {
+    
+    @Test
+    void testLookupFollowsMoves() {
+        BoardSize size = BoardSize.of(100);
+        SpatialIndex index = new SpatialIndex(size);
+        Queen queen = new Queen(new Position(50, 50));
+        Knight knight = new Knight(new Position(3, 3));
+        
+        assertEquals(0, index.add(queen));
+        assertEquals(1, index.add(knight));
+        assertThrows(IllegalArgumentException.class, () -> index.add(new Bishop(new Position(3, 3))));
+        assertThrows(IllegalArgumentException.class, () -> index.add(new Bishop(new Position(101, 3))));
+        
+        int from = size.squareOf(50, 50);
+        int to = size.squareOf(90, 10);
+        assertEquals(0, index.move(from, to));
+        assertNull(index.getPieceAt(from));
+        assertSame(queen, index.getPieceAt(to));
+        assertEquals(1, index.getPieceIdAt(size.squareOf(3, 3)));
+        assertFalse(index.isOccupied(from));
+        assertTrue(index.isOccupied(to));
+        assertThrows(IllegalArgumentException.class, () -> index.move(from, to));
+        assertThrows(IllegalArgumentException.class, () -> index.move(to, size.squareOf(3, 3)));
+    }
+    
+    @Test
+    void testRayQueries() {
+        BoardSize size = BoardSize.of(100);
+        SpatialIndex index = new SpatialIndex(size);
+        index.add(new Knight(new Position(10, 10)));
+        index.add(new Knight(new Position(10, 80)));
+        index.add(new Knight(new Position(40, 40)));
+        int square = size.squareOf(10, 5);
+        
+        assertEquals(95, index.rayLength(square, 0, 1));
+        assertEquals(2, index.countOccupied(square, 0, 1));
+        assertEquals(size.squareOf(10, 10), index.nearestOccupied(square, 0, 1));
+        assertEquals(size.squareOf(10, 80), index.nearestOccupied(size.squareOf(10, 10), 0, 1));
+        assertEquals(-1, index.nearestOccupied(square, 0, -1));
+        assertEquals(size.squareOf(40, 40), index.nearestOccupied(size.squareOf(60, 60), -1, -1));
+        assertEquals(size.squareOf(10, 10), index.nearestOccupied(size.squareOf(40, 40), -1, -1));
+        assertThrows(IllegalArgumentException.class, () -> index.countOccupied(square, 2, 1));
+    }
+    
+    @Test
+    void testMovesMatchGeneratedMoves() {
+        checkAgainstGeneratedMoves(BoardSize.of(300), 3000);
+    }
+    
+    @Test
+    void testMovesMatchGeneratedMovesOnSparseBoard() {
+        // Rays cross many chunks that were never allocated
+        checkAgainstGeneratedMoves(BoardSize.of(20_000), 300);
+    }
+    
+    private static void checkAgainstGeneratedMoves(BoardSize size, int pieceCount) {
+        Random random = new Random(3);
+        Board board = new Board(size);
+        List<ChessPiece> pieces = new ArrayList<>();
+        while (pieces.size() < pieceCount) {
+            Position pos = new Position(1 + random.nextInt(size.size()), 1 + random.nextInt(size.size()));
+            if (board.getPieceAt(pos) == null) {
+                ChessPiece piece = PieceType.values()[pieces.size() % 3].newPiece(pos);
+                board.place(piece);
+                pieces.add(piece);
+            }
+        }
+        
+        SpatialIndex index = board.getIndex();
+        MoveBuffer moves = new MoveBuffer();
+        for (int i = 0; i < 200; i++) {
+            ChessPiece piece = pieces.get(random.nextInt(pieceCount));
+            int square = size.squareOf(piece.getPosition());
+            int count = piece.generateMoves(size, board.getOccupied(), moves);
+            
+            assertEquals(count, index.countMoves(piece.getType(), square));
+            for (int n = 0; n < count; n++) {
+                assertEquals(moves.get(n), index.nthMove(piece.getType(), square, n));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> index.nthMove(piece.getType(), square, count));
+            
+            // Move the piece so that later checks also cover cleared squares
+            if (count > 0) {
+                board.move(square, moves.get(random.nextInt(count)));
+            }
+        }
+    }
+}
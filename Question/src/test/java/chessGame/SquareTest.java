@@ -0,0 +1,53 @@
+package chessGame;
+
+import chessLib.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SquareTest {
+    
+    @Test
+    void testSquaresArePooled() {
+        assertSame(Square.of(3, 4), Square.of(new Position(3, 4)));
+        assertSame(Square.of(3, 4), Square.of(Bitboard.squareOf(3, 4)));
+        assertEquals(Bitboard.squareOf(3, 4), Square.of(3, 4).index());
+    }
+    
+    @Test
+    void testCanonicalPositions() {
+        // Equal positions always convert to the same pooled instance
+        Position first = Square.canonical(new Position(5, 6));
+        Position second = Square.canonical(new Position(5, 6));
+        
+        assertSame(first, second);
+        assertEquals(new Position(5, 6), first);
+        assertSame(first, Bitboard.positionOf(Bitboard.squareOf(5, 6)));
+    }
+    
+    @Test
+    void testSquaresWorkAsHashKeys() {
+        Set<Square> occupied = new HashSet<>();
+        occupied.add(Square.of(new Position(2, 1)));
+        occupied.add(Square.of(new Position(5, 8)));
+        
+        // Lookups from freshly created positions succeed, unlike a HashSet<Position>
+        assertTrue(occupied.contains(Square.of(new Position(2, 1))));
+        assertTrue(occupied.contains(Square.of(new Position(5, 8))));
+        assertFalse(occupied.contains(Square.of(new Position(1, 2))));
+        assertEquals(2, occupied.size());
+    }
+    
+    @Test
+    void testSquareCoordinates() {
+        Square square = Square.of(1, 8);
+        
+        assertEquals(1, square.x());
+        assertEquals(8, square.y());
+        assertEquals(1L << 56, square.bit());
+        assertEquals("(1, 8)", square.toString());
+    }
+}
@@ -0,0 +1,160 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateCorpusTest {
+    
+    /**
+     * Appends the positions of a random walk from a game setup, returning them in order.
+     */
+    private static List<GameState> sample(StateCorpus corpus, int count, long seed) {
+        ComplexGame game = new ComplexGame(seed);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        GameState state = game.snapshot();
+        Random random = new Random(seed);
+        MoveBuffer moves = new MoveBuffer();
+        List<GameState> states = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, corpus.append(state));
+            states.add(state);
+            state = state.step(random, moves);
+        }
+        return states;
+    }
+    
+    private static void assertSameState(GameState expected, GameState actual) {
+        assertEquals(expected.getPieceCount(), actual.getPieceCount());
+        for (int piece = 0; piece < expected.getPieceCount(); piece++) {
+            assertEquals(expected.getType(piece), actual.getType(piece));
+            assertEquals(expected.getSquare(piece), actual.getSquare(piece));
+        }
+        assertEquals(expected.getHash(), actual.getHash());
+    }
+    
+    @Test
+    void testRandomAccessAcrossSegments() {
+        StateCorpus corpus = new StateCorpus(8, 100);
+        List<GameState> states = sample(corpus, 1000, 1);
+        assertEquals(1000, corpus.size());
+        
+        for (int i = 0; i < states.size(); i++) {
+            GameState expected = states.get(i);
+            assertEquals(expected.getPieceCount(), corpus.getPieceCount(i));
+            long occupancy = Bitboard.EMPTY;
+            for (int piece = 0; piece < expected.getPieceCount(); piece++) {
+                assertEquals(expected.getType(piece), corpus.getType(i, piece));
+                assertEquals(expected.getSquare(piece), corpus.getSquare(i, piece));
+                occupancy |= 1L << expected.getSquare(piece);
+            }
+            assertEquals(occupancy, corpus.getOccupancy(i));
+            assertSameState(expected, corpus.get(i));
+        }
+    }
+    
+    @Test
+    void testPadding() {
+        StateCorpus corpus = new StateCorpus(4);
+        long index = corpus.append(Arrays.asList(new Knight(Bitboard.positionOf(9)),
+                new Queen(Bitboard.positionOf(40))));
+        
+        assertEquals(2, corpus.getPieceCount(index));
+        assertEquals(PieceType.KNIGHT, corpus.getType(index, 0));
+        assertEquals(PieceType.QUEEN, corpus.getType(index, 1));
+        assertEquals(40, corpus.getSquare(index, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> corpus.getSquare(index, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> corpus.getSquare(index, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> corpus.getPieceCount(1));
+    }
+    
+    @Test
+    void testParallelForEachVisitsEveryPositionOnce() {
+        StateCorpus corpus = new StateCorpus(8, 64);
+        List<GameState> states = sample(corpus, 5000, 2);
+        
+        AtomicLongArray visits = new AtomicLongArray(states.size());
+        AtomicLongArray squareCounts = new AtomicLongArray(AttackTables.SQUARES);
+        corpus.parallelForEach(index -> {
+            visits.incrementAndGet((int) index);
+            long occupancy = corpus.getOccupancy(index);
+            while (occupancy != Bitboard.EMPTY) {
+                squareCounts.incrementAndGet(Long.numberOfTrailingZeros(occupancy));
+                occupancy &= occupancy - 1;
+            }
+        });
+        
+        long[] expected = new long[AttackTables.SQUARES];
+        for (int i = 0; i < states.size(); i++) {
+            assertEquals(1, visits.get(i));
+            for (int piece = 0; piece < states.get(i).getPieceCount(); piece++) {
+                expected[states.get(i).getSquare(piece)]++;
+            }
+        }
+        for (int square = 0; square < expected.length; square++) {
+            assertEquals(expected[square], squareCounts.get(square));
+        }
+    }
+    
+    @Test
+    void testFlushAndOpen(@TempDir Path directory) throws IOException {
+        StateCorpus corpus = new StateCorpus(8, 100);
+        List<GameState> states = sample(corpus, 777, 3);
+        Path file = directory.resolve("states.corpus");
+        corpus.flush(file);
+        assertEquals(20 + 777 * 8, Files.size(file));
+        
+        StateCorpus opened = StateCorpus.open(file);
+        assertEquals(corpus.size(), opened.size());
+        assertEquals(8, opened.getPiecesPerState());
+        for (int i = 0; i < states.size(); i++) {
+            assertSameState(states.get(i), opened.get(i));
+        }
+        assertThrows(IllegalStateException.class, () -> opened.append(states.get(0)));
+        
+        // Flushing again replaces the file
+        corpus.append(states.get(0));
+        corpus.flush(file);
+        assertEquals(778, StateCorpus.open(file).size());
+    }
+    
+    @Test
+    void testOpenRejectsOtherFiles(@TempDir Path directory) throws IOException {
+        Path empty = Files.createFile(directory.resolve("empty"));
+        assertThrows(IOException.class, () -> StateCorpus.open(empty));
+        
+        StateCorpus corpus = new StateCorpus(8);
+        sample(corpus, 10, 4);
+        Path truncated = directory.resolve("truncated");
+        corpus.flush(truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> StateCorpus.open(truncated));
+    }
+    
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new StateCorpus(0));
+        assertThrows(IllegalArgumentException.class, () -> new StateCorpus(StateCorpus.MAX_PIECES + 1));
+        assertThrows(IllegalArgumentException.class, () -> new StateCorpus(8, 7));
+        
+        StateCorpus corpus = new StateCorpus(1);
+        List<ChessPiece> two = Arrays.asList(new Knight(Bitboard.positionOf(0)), new Knight(Bitboard.positionOf(1)));
+        assertThrows(IllegalArgumentException.class, () -> corpus.append(two));
+        BoardSize size = BoardSize.of(10);
+        GameState large = GameState.of(size, Arrays.asList(new Knight(size.positionOf(size.squareOf(9, 9)))));
+        assertThrows(IllegalArgumentException.class, () -> corpus.append(large));
+        assertEquals(0, corpus.size());
+    }
+}
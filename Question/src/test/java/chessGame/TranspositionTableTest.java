@@ -0,0 +1,87 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+    
+    @Test
+    void testPutAndGet() {
+        TranspositionTable table = new TranspositionTable(100);
+        assertEquals(128, table.capacity());
+        assertTrue(table.put(42, 7, 0));
+        assertFalse(table.put(42, 8, 0));
+        assertTrue(table.put(0, 9, 0));
+        assertEquals(8, table.getOrDefault(42, -1));
+        assertEquals(9, table.getOrDefault(0, -1));
+        assertEquals(-1, table.getOrDefault(43, -1));
+        assertEquals(2, table.size());
+        assertEquals(2, table.getHits());
+        assertEquals(1, table.getMisses());
+        
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.contains(42));
+        assertThrows(IllegalArgumentException.class, () -> table.put(1, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+    
+    @Test
+    void testReplacementKeepsDeeperAndNewerEntries() {
+        // With two slots, all hashes fall into the same bucket
+        TranspositionTable table = new TranspositionTable(2);
+        table.put(1, 10, 5);
+        table.put(2, 20, 1);
+        table.put(3, 30, 3);
+        assertTrue(table.contains(1));
+        assertFalse(table.contains(2));
+        assertTrue(table.contains(3));
+        assertEquals(1, table.getReplacements());
+        
+        // Entries of an older generation go first, however deep
+        table.newGeneration();
+        table.put(4, 40, 0);
+        table.put(5, 50, 0);
+        assertTrue(table.contains(4));
+        assertTrue(table.contains(5));
+        assertEquals(2, table.size());
+    }
+    
+    @Test
+    void testDeduplicatesRolloutPositions() {
+        // A lone knight on the standard board can reach 64 positions at most
+        GameState state = GameState.of(BoardSize.STANDARD, List.of(new Knight(Square.of(1, 1).toPosition())));
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        Set<Long> seen = new HashSet<>();
+        Random random = new Random(3);
+        MoveBuffer moves = new MoveBuffer();
+        for (int i = 0; i < 10_000; i++) {
+            state = state.step(random, moves);
+            assertEquals(seen.add(state.getHash()), table.put(state.getHash(), 0, 0));
+        }
+        assertEquals(64, table.size());
+    }
+    
+    @Test
+    void testCachesMobility() {
+        ComplexGame game = new ComplexGame(4);
+        game.setListener(new QuietGameEventListener());
+        game.setup();
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        MoveBuffer moves = new MoveBuffer();
+        GameState state = game.snapshot();
+        long first = table.computeIfAbsent(state.getHash(), 1, () -> state.getTotalMobility(moves));
+        long second = table.computeIfAbsent(state.getHash(), 1, () -> {
+            throw new AssertionError("Mobility should be cached");
+        });
+        assertEquals(first, second);
+        assertEquals(game.getMobility().getTotalMobility(), first);
+        assertEquals(1, table.getHits());
+    }
+}
@@ -0,0 +1,92 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalkSamplerTest {
+    
+    private static final int SAMPLES = 200_000;
+    
+    @Test
+    void testUniformSamplingMatchesTheSolver() {
+        // Sample one step from every square and compare with the exact transition probabilities
+        for (PieceType type : PieceType.values()) {
+            WalkSampler sampler = new WalkSampler(type);
+            RandomWalkSolver solver = new RandomWalkSolver(type);
+            Random random = new Random(1);
+            int square = Bitboard.squareOf(2, 1);
+            
+            long[] counts = new long[AttackTables.SQUARES];
+            for (int i = 0; i < SAMPLES; i++) {
+                counts[sampler.next(square, random)]++;
+            }
+            for (int to = 0; to < AttackTables.SQUARES; to++) {
+                double p = solver.getTransitionProbability(square, to);
+                double tolerance = 5 * Math.sqrt(p * (1 - p) / SAMPLES) + 1e-9;
+                assertEquals(p, (double) counts[to] / SAMPLES, tolerance, type + " to " + to);
+            }
+        }
+    }
+    
+    @Test
+    void testWeightedSamplingFollowsThePolicy() {
+        // Weigh moves by their target square index, and never move to the top-right corner
+        MovePolicy policy = (from, to) -> to == 63 ? 0 : to + 1;
+        WalkSampler sampler = new WalkSampler(PieceType.QUEEN, policy);
+        Random random = new Random(2);
+        int square = Bitboard.squareOf(1, 1);
+        
+        long[] counts = new long[AttackTables.SQUARES];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.next(square, random)]++;
+        }
+        
+        double total = 0;
+        for (int to = 0; to < AttackTables.SQUARES; to++) {
+            if ((PieceType.QUEEN.attacks(square) & (1L << to)) != 0) {
+                total += policy.weight(square, to);
+            }
+        }
+        for (int to = 0; to < AttackTables.SQUARES; to++) {
+            boolean reachable = (PieceType.QUEEN.attacks(square) & (1L << to)) != 0;
+            double p = reachable ? policy.weight(square, to) / total : 0;
+            double tolerance = 5 * Math.sqrt(p * (1 - p) / SAMPLES) + 1e-9;
+            assertEquals(p, (double) counts[to] / SAMPLES, tolerance, "Square " + to);
+        }
+        assertEquals(0, counts[63]);
+    }
+    
+    @Test
+    void testWalkWritesEveryStep() {
+        WalkSampler sampler = new WalkSampler(PieceType.KNIGHT);
+        int[] out = new int[1000];
+        int start = Bitboard.squareOf(3, 3);
+        int end = sampler.walk(start, out.length, out, new Random(5));
+        
+        // The same seed gives the same steps one at a time, and each step is a knight move
+        Random random = new Random(5);
+        int square = start;
+        for (int step : out) {
+            assertTrue((PieceType.KNIGHT.attacks(square) & (1L << step)) != 0);
+            square = sampler.next(square, random);
+            assertEquals(square, step);
+        }
+        assertEquals(square, end);
+        
+        long[] visits = new long[AttackTables.SQUARES];
+        assertEquals(end, sampler.walk(start, (long) out.length, visits, new Random(5)));
+        assertEquals(out.length, Arrays.stream(visits).sum());
+    }
+    
+    @Test
+    void testRejectsInvalidPoliciesAndBuffers() {
+        assertThrows(IllegalArgumentException.class, () -> new WalkSampler(PieceType.KNIGHT, (from, to) -> -1));
+        assertThrows(IllegalArgumentException.class, () -> new WalkSampler(PieceType.KNIGHT, (from, to) -> 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WalkSampler(PieceType.BISHOP).walk(0, 10, new int[5], new Random()));
+    }
+}
@@ -0,0 +1,79 @@
+package chessGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+    
+    @Test
+    void testGameHashFollowsTheMoves() {
+        for (BoardSize size : List.of(BoardSize.STANDARD, BoardSize.of(50))) {
+            ComplexGame game = new ComplexGame(size, new UniformPieceSelector(), new Random(1));
+            game.setListener(new QuietGameEventListener());
+            game.setup();
+            for (int i = 0; i < 1000; i++) {
+                game.step();
+                assertEquals(hashOf(size, game.getPieces()), game.getHash(), size + " move " + i);
+            }
+            assertEquals(game.getHash(), game.snapshot().getHash());
+        }
+    }
+    
+    @Test
+    void testStateHashFollowsTheMoves() {
+        for (BoardSize size : List.of(BoardSize.STANDARD, BoardSize.of(BoardSize.MAX_SIZE))) {
+            List<ChessPiece> pieces = List.of(new Knight(Square.of(2, 1).toPosition()),
+                    new Bishop(Square.of(3, 1).toPosition()), new Queen(Square.of(4, 1).toPosition()));
+            GameState state = GameState.of(size, pieces);
+            Random random = new Random(2);
+            MoveBuffer moves = new MoveBuffer();
+            for (int i = 0; i < 1000; i++) {
+                state = state.step(random, moves);
+                assertEquals(hashOf(size, state.toPieces()), state.getHash(), size + " move " + i);
+            }
+        }
+    }
+    
+    @Test
+    void testTranspositionsHashAlike() {
+        // Two move orders reaching the same position, and two knights trading places
+        GameState start = GameState.of(BoardSize.STANDARD, List.of(new Knight(Square.of(2, 1).toPosition()),
+                new Knight(Square.of(7, 1).toPosition()), new Queen(Square.of(4, 1).toPosition())));
+        int c3 = Bitboard.squareOf(3, 3);
+        int f3 = Bitboard.squareOf(6, 3);
+        int d4 = Bitboard.squareOf(4, 4);
+        GameState first = start.applyMove(0, c3).applyMove(2, d4);
+        GameState second = start.applyMove(2, d4).applyMove(0, c3);
+        assertEquals(first.getHash(), second.getHash());
+        assertNotEquals(start.getHash(), first.getHash());
+        
+        GameState swapped = start.applyMove(0, c3).applyMove(1, f3).applyMove(0, Bitboard.squareOf(7, 1))
+                .applyMove(1, Bitboard.squareOf(2, 1));
+        assertEquals(start.getHash(), swapped.getHash());
+    }
+    
+    @Test
+    void testKeysAreDistinct() {
+        List<Long> keys = new ArrayList<>();
+        for (PieceType type : PieceType.values()) {
+            for (int square = 0; square < 10_000; square++) {
+                keys.add(Zobrist.key(type, square));
+            }
+            keys.add(Zobrist.key(type, Integer.MAX_VALUE - 1));
+        }
+        assertEquals(keys.size(), keys.stream().distinct().count());
+    }
+    
+    private static long hashOf(BoardSize size, List<ChessPiece> pieces) {
+        long hash = 0;
+        for (ChessPiece piece : pieces) {
+            hash ^= Zobrist.key(piece.getType(), size.squareOf(piece.getPosition()));
+        }
+        return hash;
+    }
+}